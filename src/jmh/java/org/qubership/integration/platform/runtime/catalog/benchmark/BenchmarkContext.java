@@ -0,0 +1,151 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.qubership.integration.platform.catalog.configuration.element.descriptor.DescriptorPropertiesConfiguration;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.Dependency;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.element.ChainElement;
+import org.qubership.integration.platform.catalog.service.library.LibraryElementsService;
+import org.qubership.integration.platform.catalog.service.library.LibraryResourceLoader;
+import org.qubership.integration.platform.catalog.util.ElementUtils;
+import org.qubership.integration.platform.runtime.catalog.builder.ElementFragmentCache;
+import org.qubership.integration.platform.runtime.catalog.builder.XmlBuilder;
+import org.qubership.integration.platform.runtime.catalog.builder.templates.TemplateService;
+import org.qubership.integration.platform.runtime.catalog.mapper.MappingDescriptionValidator;
+import org.qubership.integration.platform.runtime.catalog.mapper.atlasmap.AtlasMapInterpreter;
+import org.qubership.integration.platform.runtime.catalog.testutils.TestUtils;
+import org.qubership.integration.platform.runtime.catalog.testutils.configuration.TestConfig;
+import org.qubership.integration.platform.runtime.catalog.testutils.dto.ChainImportDTO;
+import org.qubership.integration.platform.runtime.catalog.testutils.mapper.ChainElementsMapper;
+import org.qubership.integration.platform.runtime.catalog.testutils.mapper.ChainMapper;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Offline context for benchmarks: library descriptors and element templates are loaded from the classpath,
+ * chain elements are created from the template test data.
+ */
+public class BenchmarkContext implements AutoCloseable {
+    public static final String TEST_DATA_PATH = "/testData/input/builder/templates/";
+
+    private static final String TRIGGER = "http_trigger_custom";
+    private static final String[] SEGMENT = {"service_call_http", "script", "split_async_2"};
+
+    private final AnnotationConfigApplicationContext context;
+
+    public BenchmarkContext() {
+        context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("benchmark", Map.of(
+                "qip.gateway.egress.protocol", "http",
+                "qip.gateway.egress.url", "egress-gateway:8080"
+        )));
+        context.register(
+                TestConfig.class,
+                DescriptorPropertiesConfiguration.class,
+                AtlasMapInterpreter.class,
+                LibraryElementsService.class,
+                LibraryResourceLoader.class,
+                TemplateService.class,
+                ElementUtils.class,
+                ChainElementsMapper.class,
+                ChainMapper.class,
+                MappingDescriptionValidator.class
+        );
+        context.refresh();
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    /**
+     * Creates XML builder with own fragment cache, zero cache size disables fragment caching.
+     */
+    public XmlBuilder createXmlBuilder(long fragmentCacheSize) {
+        return new XmlBuilder(
+                new ElementFragmentCache(getBean(TemplateService.class), fragmentCacheSize),
+                getBean(LibraryElementsService.class),
+                getBean(ElementUtils.class));
+    }
+
+    /**
+     * Loads elements of the test data file, element and original ids get the suffix to stay unique.
+     */
+    public List<ChainElement> loadElements(String testData, String idSuffix) throws IOException {
+        JsonNode chain = TestUtils.YAML_MAPPER.readTree(TestUtils.getResourceFileContent(TEST_DATA_PATH + testData + ".yml"));
+        for (JsonNode element : chain.path("elements")) {
+            addIdSuffix(element, idSuffix);
+        }
+        for (JsonNode dependency : chain.path("dependencies")) {
+            ((ObjectNode) dependency).put("from", dependency.path("from").asText() + idSuffix);
+            ((ObjectNode) dependency).put("to", dependency.path("to").asText() + idSuffix);
+        }
+        ChainImportDTO chainDTO = TestUtils.YAML_MAPPER.treeToValue(chain, ChainImportDTO.class);
+        return getBean(ChainMapper.class).toEntity(chainDTO).getElements();
+    }
+
+    /**
+     * Generates a linear chain: a trigger followed by repeated service call, script and split async segments,
+     * with at least the given number of elements including container children.
+     */
+    public List<ChainElement> generateChain(int size) throws IOException {
+        List<ChainElement> elements = new ArrayList<>(loadElements(TRIGGER, "-0"));
+        ChainElement last = topLevel(elements);
+        for (int i = 1; elements.size() < size; i++) {
+            for (String testData : SEGMENT) {
+                List<ChainElement> segmentElements = loadElements(testData, "-" + i);
+                ChainElement next = topLevel(segmentElements);
+                Dependency dependency = Dependency.of(last, next);
+                last.addOutputDependency(dependency);
+                next.addInputDependency(dependency);
+                elements.addAll(segmentElements);
+                last = next;
+            }
+        }
+        return elements;
+    }
+
+    private static ChainElement topLevel(List<ChainElement> elements) {
+        return elements.stream()
+                .filter(element -> element.getParent() == null)
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Incorrect test data"));
+    }
+
+    private static void addIdSuffix(JsonNode element, String idSuffix) {
+        ObjectNode node = (ObjectNode) element;
+        node.put("id", node.path("id").asText() + idSuffix);
+        if (node.hasNonNull("original-id")) {
+            node.put("original-id", node.path("original-id").asText() + idSuffix);
+        }
+        for (JsonNode child : node.path("children")) {
+            addIdSuffix(child, idSuffix);
+        }
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.qubership.integration.platform.runtime.catalog.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.element.ChainElement;
+import org.qubership.integration.platform.runtime.catalog.builder.templates.helpers.EnvironmentPropertiesHelper;
+import org.qubership.integration.platform.runtime.catalog.builder.templates.helpers.GenerateURLHelper;
+import org.qubership.integration.platform.runtime.catalog.builder.templates.helpers.MapperInterpretatorHelper;
+import org.qubership.integration.platform.runtime.catalog.model.mapper.mapping.MappingDescription;
+import org.qubership.integration.platform.runtime.catalog.testutils.TestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Heavier Handlebars helpers, called directly on the HTTP service call test data element
+ * and on the mapper test mapping description.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class TemplateHelpersBenchmark {
+    private static final String SERVICE_CALL = "service_call_http";
+    private static final String MAPPING_DESCRIPTION = "/mapper/mapping/config/13_default_value.yml";
+
+    private BenchmarkContext context;
+    private EnvironmentPropertiesHelper environmentPropertiesHelper;
+    private GenerateURLHelper generateURLHelper;
+    private MapperInterpretatorHelper mapperInterpretatorHelper;
+    private ChainElement serviceCall;
+    private String mappingDescription;
+
+    @Setup
+    public void setUp() throws Exception {
+        context = new BenchmarkContext();
+        environmentPropertiesHelper = context.getBean(EnvironmentPropertiesHelper.class);
+        generateURLHelper = context.getBean(GenerateURLHelper.class);
+        mapperInterpretatorHelper = context.getBean(MapperInterpretatorHelper.class);
+        serviceCall = context.loadElements(SERVICE_CALL, "").stream()
+                .filter(element -> element.getParent() == null)
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Incorrect test data"));
+        mappingDescription = context.getBean(ObjectMapper.class).writeValueAsString(TestUtils.YAML_MAPPER.readValue(
+                TestUtils.getResourceFileContent(MAPPING_DESCRIPTION), MappingDescription.class));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public CharSequence environmentPropertiesJson() {
+        return environmentPropertiesHelper.environmentPropertiesJson(serviceCall);
+    }
+
+    @Benchmark
+    public CharSequence integratePathAndQueryParams() {
+        return generateURLHelper.integeratePathAndQueryParams(serviceCall);
+    }
+
+    @Benchmark
+    public String mapperInterpretation() {
+        return mapperInterpretatorHelper.apply(mappingDescription, null);
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.qubership.integration.platform.runtime.catalog.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.element.ChainElement;
+import org.qubership.integration.platform.runtime.catalog.builder.templates.TemplateService;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Template application per element type, test data files are used as elements.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class TemplateServiceBenchmark {
+
+    @Param({
+            "http_trigger_custom",
+            "kafka_trigger_2",
+            "script",
+            "condition",
+            "service_call_http",
+            "service_call_kafka",
+            "http_sender_external",
+            "split_2",
+            "split_async_2",
+            "try_catch_finally_2",
+            "loop_2"
+    })
+    private String element;
+
+    private BenchmarkContext context;
+    private TemplateService templateService;
+    private ChainElement chainElement;
+
+    @Setup
+    public void setUp() throws Exception {
+        context = new BenchmarkContext();
+        templateService = context.getBean(TemplateService.class);
+        chainElement = context.loadElements(element, "").stream()
+                .filter(item -> item.getParent() == null)
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Incorrect test data"));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String applyTemplate() {
+        return templateService.applyTemplate(chainElement);
+    }
+}
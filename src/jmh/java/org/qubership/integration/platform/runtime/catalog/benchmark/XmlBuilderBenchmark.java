@@ -0,0 +1,69 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.qubership.integration.platform.runtime.catalog.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.element.ChainElement;
+import org.qubership.integration.platform.runtime.catalog.builder.XmlBuilder;
+
+import java.io.Writer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Snapshot XML generation for synthetic chains of different size.
+ * Without fragment cache every element template is applied on each build.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class XmlBuilderBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    private int size;
+
+    @Param({"true", "false"})
+    private boolean fragmentCache;
+
+    private BenchmarkContext context;
+    private XmlBuilder xmlBuilder;
+    private List<ChainElement> elements;
+
+    @Setup
+    public void setUp() throws Exception {
+        context = new BenchmarkContext();
+        xmlBuilder = context.createXmlBuilder(fragmentCache ? 2L * size : 0);
+        elements = context.generateChain(size);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String build() throws Exception {
+        return xmlBuilder.build(elements);
+    }
+
+    @Benchmark
+    public void buildToWriter() throws Exception {
+        xmlBuilder.build(elements, Writer.nullWriter());
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.mapper.expressions;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Conversion of a set of mapper expressions: with a shared converter and parse tree cache enabled or disabled,
+ * and with a new converter per expression, the way expressions were converted before parsers were reused.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class ToAtlasMapExpressionConverterBenchmark {
+    private static final String[] EXPRESSIONS = {
+            "body.customer.name",
+            "uppercase(body.customer.firstName) + ' ' + uppercase(body.customer.lastName)",
+            "IF ( body.order.total > 100 && header.region == 'EU' , constant.discount , 0 )",
+            "concatenate(property.requestId, '-', body.items.id, '-', constant.suffix) || body.fallback",
+            "(body.a + body.b) * (body.c - body.d) / 2 % 7 >= -body.e && !(body.flag == true)"
+    };
+    private static final Function<FieldReference, String> FIELD_ID_RESOLVER =
+            reference -> reference.kind().name() + ":" + String.join("/", reference.path());
+
+    @Param({"0", "1000"})
+    private long cacheSize;
+
+    private ToAtlasMapExpressionConverter converter;
+
+    @Setup
+    public void setUp() {
+        converter = new ToAtlasMapExpressionConverter(cacheSize);
+    }
+
+    @Benchmark
+    public void sharedConverter(Blackhole blackhole) {
+        for (String expression : EXPRESSIONS) {
+            blackhole.consume(converter.convert(expression, FIELD_ID_RESOLVER));
+        }
+    }
+
+    @Benchmark
+    public void converterPerExpression(Blackhole blackhole) {
+        for (String expression : EXPRESSIONS) {
+            blackhole.consume(new ToAtlasMapExpressionConverter(cacheSize).convert(expression, FIELD_ID_RESOLVER));
+        }
+    }
+}
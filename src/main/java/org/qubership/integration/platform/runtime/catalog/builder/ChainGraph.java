@@ -0,0 +1,159 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.builder;
+
+import org.qubership.integration.platform.catalog.model.library.ElementDescriptor;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.Dependency;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.element.ChainElement;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.element.ContainerChainElement;
+import org.qubership.integration.platform.catalog.service.library.LibraryElementsService;
+
+import java.util.*;
+
+/**
+ * Immutable index of chain elements built once per snapshot.
+ * <p>
+ * Elements are numbered in the order they are given, followed by parents, children and dependency
+ * neighbours reachable from them. Dependencies, parent and children references and element descriptors
+ * are resolved once, so graph traversals don't touch lazy collections or the library service.
+ */
+public final class ChainGraph {
+    public static final int NO_ELEMENT = -1;
+
+    private static final int[] EMPTY = new int[0];
+
+    private final ChainElement[] elements;
+    private final ElementDescriptor[] descriptors;
+    private final int[][] inputs;
+    private final int[][] outputs;
+    private final int[][] children;
+    private final int[] parents;
+    private final boolean[] containers;
+    private final Map<ChainElement, Integer> indexes;
+
+    private ChainGraph(List<ChainElement> elements, Map<ChainElement, Integer> indexes,
+                       LibraryElementsService libraryService) {
+        int size = elements.size();
+        this.elements = elements.toArray(new ChainElement[0]);
+        this.indexes = indexes;
+        this.descriptors = new ElementDescriptor[size];
+        this.inputs = new int[size][];
+        this.outputs = new int[size][];
+        this.children = new int[size][];
+        this.parents = new int[size];
+        this.containers = new boolean[size];
+
+        for (int i = 0; i < size; i++) {
+            ChainElement element = this.elements[i];
+            descriptors[i] = libraryService.getElementDescriptor(element);
+            inputs[i] = toIndexes(element.getInputDependencies().stream().map(Dependency::getElementFrom).toList());
+            outputs[i] = toIndexes(element.getOutputDependencies().stream().map(Dependency::getElementTo).toList());
+            parents[i] = element.getParent() == null ? NO_ELEMENT : indexes.get(element.getParent());
+            if (element instanceof ContainerChainElement container) {
+                containers[i] = true;
+                children[i] = toIndexes(container.getElements());
+            } else {
+                children[i] = EMPTY;
+            }
+        }
+    }
+
+    public static ChainGraph of(Collection<? extends ChainElement> elements, LibraryElementsService libraryService) {
+        List<ChainElement> ordered = new ArrayList<>(elements.size());
+        Map<ChainElement, Integer> indexes = new IdentityHashMap<>(elements.size() * 2);
+        elements.forEach(element -> register(element, ordered, indexes));
+
+        for (int i = 0; i < ordered.size(); i++) {
+            ChainElement element = ordered.get(i);
+            register(element.getParent(), ordered, indexes);
+            element.getInputDependencies().forEach(dependency -> register(dependency.getElementFrom(), ordered, indexes));
+            element.getOutputDependencies().forEach(dependency -> register(dependency.getElementTo(), ordered, indexes));
+            if (element instanceof ContainerChainElement container) {
+                container.getElements().forEach(child -> register(child, ordered, indexes));
+            }
+        }
+        return new ChainGraph(ordered, indexes, libraryService);
+    }
+
+    private static void register(ChainElement element, List<ChainElement> ordered, Map<ChainElement, Integer> indexes) {
+        if (element != null && !indexes.containsKey(element)) {
+            indexes.put(element, ordered.size());
+            ordered.add(element);
+        }
+    }
+
+    private int[] toIndexes(List<? extends ChainElement> related) {
+        if (related.isEmpty()) {
+            return EMPTY;
+        }
+        int[] result = new int[related.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = indexes.get(related.get(i));
+        }
+        return result;
+    }
+
+    public int size() {
+        return elements.length;
+    }
+
+    public int indexOf(ChainElement element) {
+        Integer index = indexes.get(element);
+        return index == null ? NO_ELEMENT : index;
+    }
+
+    public ChainElement element(int index) {
+        return elements[index];
+    }
+
+    public ElementDescriptor descriptor(int index) {
+        return descriptors[index];
+    }
+
+    public ElementDescriptor descriptor(ChainElement element) {
+        return descriptors[indexes.get(element)];
+    }
+
+    /**
+     * Indexes of elements the element depends on. The returned array must not be modified.
+     */
+    public int[] inputs(int index) {
+        return inputs[index];
+    }
+
+    /**
+     * Indexes of dependent elements, in dependency order. The returned array must not be modified.
+     */
+    public int[] outputs(int index) {
+        return outputs[index];
+    }
+
+    /**
+     * Indexes of container children. The returned array must not be modified.
+     */
+    public int[] children(int index) {
+        return children[index];
+    }
+
+    public int parent(int index) {
+        return parents[index];
+    }
+
+    public boolean isContainer(int index) {
+        return containers[index];
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.builder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.Dependency;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.element.ChainElement;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.element.ContainerChainElement;
+import org.qubership.integration.platform.runtime.catalog.builder.templates.TemplateService;
+import org.qubership.integration.platform.runtime.catalog.util.MaasUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * Content-addressed cache of rendered element XML fragments.
+ * <p>
+ * The key is a digest of everything a template can see: element type, name, properties, environment,
+ * neighbour and parent references and the whole children subtree. Snapshot copies get new ids on each
+ * build, so ids of the subtree are stored in the fragment as tokens based on the stable original ids
+ * and substituted back on cache hit. Templates are bundled with the service, so a fragment stays valid
+ * until it is evicted by size.
+ */
+@Slf4j
+@Component
+public class ElementFragmentCache {
+
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+    private static final String ID_TOKEN_PREFIX = "%{fragment-element:";
+    private static final String ID_TOKEN_SUFFIX = "}";
+    private static final ObjectMapper OBJECT_MAPPER = initObjectMapper();
+
+    private final TemplateService templateService;
+    private final Cache<String, String> fragments;
+
+    @Autowired
+    public ElementFragmentCache(
+            TemplateService templateService,
+            @Value("${qip.builder.fragment-cache.max-entries:10000}") long maxEntries
+    ) {
+        this.templateService = templateService;
+        this.fragments = CacheBuilder.newBuilder()
+                .maximumSize(maxEntries)
+                .build();
+    }
+
+    /**
+     * Returns rendered element XML, rendering the template only if element content is changed.
+     */
+    public String render(ChainElement element) {
+        Map<String, String> idMapping = new LinkedHashMap<>();
+        if (!collectIdMapping(element, idMapping)) {
+            return templateService.applyTemplate(element);
+        }
+
+        String key = buildKey(element);
+        if (key == null) {
+            return templateService.applyTemplate(element);
+        }
+
+        String fragment = fragments.getIfPresent(key);
+        if (fragment != null) {
+            return replaceIds(fragment, idMapping, false);
+        }
+
+        String rendered = templateService.applyTemplate(element);
+        fragments.put(key, replaceIds(rendered, idMapping, true));
+        return rendered;
+    }
+
+    /**
+     * Writes rendered element XML to the writer. Cached fragments are written with ids substituted on the fly,
+     * elements that can't be cached are rendered straight into the writer.
+     */
+    public void render(ChainElement element, Writer writer) throws IOException {
+        Map<String, String> idMapping = new LinkedHashMap<>();
+        if (!collectIdMapping(element, idMapping)) {
+            templateService.applyTemplate(element, writer);
+            return;
+        }
+
+        String key = buildKey(element);
+        if (key == null) {
+            templateService.applyTemplate(element, writer);
+            return;
+        }
+
+        String fragment = fragments.getIfPresent(key);
+        if (fragment != null) {
+            writeWithIds(fragment, idMapping, writer);
+            return;
+        }
+
+        String rendered = templateService.applyTemplate(element);
+        fragments.put(key, replaceIds(rendered, idMapping, true));
+        writer.write(rendered);
+    }
+
+    /**
+     * Collects current to original id mapping for the element subtree and its direct references.
+     *
+     * @return false if the element can't be cached
+     */
+    private static boolean collectIdMapping(ChainElement element, Map<String, String> idMapping) {
+        if (!putIdMapping(element, idMapping) || !MaasUtils.getMaasParams(element).isEmpty()) {
+            return false;
+        }
+        if (element.getParent() != null && !putIdMapping(element.getParent(), idMapping)) {
+            return false;
+        }
+        for (Dependency dependency : element.getInputDependencies()) {
+            if (!putIdMapping(dependency.getElementFrom(), idMapping)) {
+                return false;
+            }
+        }
+        for (Dependency dependency : element.getOutputDependencies()) {
+            if (!putIdMapping(dependency.getElementTo(), idMapping)) {
+                return false;
+            }
+        }
+        if (element instanceof ContainerChainElement container) {
+            for (ChainElement child : container.getElements()) {
+                if (!collectIdMapping(child, idMapping)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean putIdMapping(ChainElement element, Map<String, String> idMapping) {
+        if (element == null || element.getId() == null || element.getOriginalId() == null) {
+            return false;
+        }
+        idMapping.put(element.getId(), element.getOriginalId());
+        return true;
+    }
+
+    private static String replaceIds(String text, Map<String, String> idMapping, boolean toTokens) {
+        String[] ids = new String[idMapping.size()];
+        String[] tokens = new String[idMapping.size()];
+        int i = 0;
+        for (Map.Entry<String, String> entry : idMapping.entrySet()) {
+            ids[i] = entry.getKey();
+            tokens[i] = ID_TOKEN_PREFIX + entry.getValue() + ID_TOKEN_SUFFIX;
+            i++;
+        }
+        return toTokens
+                ? StringUtils.replaceEach(text, ids, tokens)
+                : StringUtils.replaceEach(text, tokens, ids);
+    }
+
+    private static void writeWithIds(String fragment, Map<String, String> idMapping, Writer writer) throws IOException {
+        Map<String, String> originalToId = new HashMap<>();
+        idMapping.forEach((id, originalId) -> originalToId.putIfAbsent(originalId, id));
+
+        int position = 0;
+        int tokenStart;
+        while ((tokenStart = fragment.indexOf(ID_TOKEN_PREFIX, position)) >= 0) {
+            int originalIdStart = tokenStart + ID_TOKEN_PREFIX.length();
+            int tokenEnd = fragment.indexOf(ID_TOKEN_SUFFIX, originalIdStart);
+            String id = tokenEnd < 0 ? null : originalToId.get(fragment.substring(originalIdStart, tokenEnd));
+            if (id == null) {
+                writer.write(fragment, position, originalIdStart - position);
+                position = originalIdStart;
+                continue;
+            }
+            writer.write(fragment, position, tokenStart - position);
+            writer.write(id);
+            position = tokenEnd + ID_TOKEN_SUFFIX.length();
+        }
+        writer.write(fragment, position, fragment.length() - position);
+    }
+
+    private static String buildKey(ChainElement element) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+            digest.update(OBJECT_MAPPER.writeValueAsBytes(describe(element)));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            log.debug("Unable to build fragment cache key for element {}: {}", element.getId(), e.getMessage());
+            return null;
+        }
+    }
+
+    private static Map<String, Object> describe(ChainElement element) {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("type", element.getType());
+        description.put("originalId", element.getOriginalId());
+        description.put("name", element.getName());
+        description.put("description", element.getDescription());
+        description.put("parent", element.getParent() == null ? null : element.getParent().getOriginalId());
+        description.put("parentType", element.getParent() == null ? null : element.getParent().getType());
+        description.put("properties", element.getProperties());
+        description.put("environment", element.getEnvironment());
+        description.put("inputs", element.getInputDependencies().stream()
+                .map(dependency -> dependency.getElementFrom().getOriginalId())
+                .sorted()
+                .toList());
+        description.put("outputs", element.getOutputDependencies().stream()
+                .map(dependency -> dependency.getElementTo().getOriginalId())
+                .sorted()
+                .toList());
+        if (element instanceof ContainerChainElement container) {
+            description.put("children", container.getElements().stream()
+                    .map(ElementFragmentCache::describe)
+                    .toList());
+        }
+        return description;
+    }
+
+    private static ObjectMapper initObjectMapper() {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new JavaTimeModule());
+        mapper.configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+        mapper.configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
+        return mapper;
+    }
+}
@@ -17,19 +17,15 @@
 package org.qubership.integration.platform.runtime.catalog.builder;
 
 import com.ctc.wstx.stax.WstxOutputFactory;
-import org.qubership.integration.platform.runtime.catalog.builder.templates.TemplateService;
 import org.qubership.integration.platform.runtime.catalog.model.ChainRoute;
 import org.qubership.integration.platform.catalog.consul.ConfigurationPropertiesConstants;
 import org.qubership.integration.platform.catalog.model.constant.CamelNames;
 import org.qubership.integration.platform.catalog.model.library.ElementDescriptor;
 import org.qubership.integration.platform.catalog.model.library.ElementType;
-import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.Dependency;
 import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.element.ChainElement;
-import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.element.ContainerChainElement;
 import org.qubership.integration.platform.catalog.service.library.LibraryElementsService;
 import org.qubership.integration.platform.catalog.util.ElementUtils;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.lang3.tuple.Pair;
 import org.codehaus.stax2.XMLStreamWriter2;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
@@ -37,8 +33,8 @@ import org.springframework.stereotype.Component;
 import javax.xml.stream.XMLStreamException;
 import java.io.IOException;
 import java.io.StringWriter;
+import java.io.Writer;
 import java.util.*;
-import java.util.stream.Collectors;
 
 import static org.qubership.integration.platform.catalog.model.constant.CamelNames.CONTAINER;
 
@@ -46,40 +42,45 @@ import static org.qubership.integration.platform.catalog.model.constant.CamelNam
 @Component
 public class XmlBuilder {
 
-    private final TemplateService templateService;
+    private final ElementFragmentCache fragmentCache;
     private final LibraryElementsService libraryService;
     private final ElementUtils elementUtils;
 
     @Autowired
-    public XmlBuilder(TemplateService templateService, LibraryElementsService libraryService,
+    public XmlBuilder(ElementFragmentCache fragmentCache, LibraryElementsService libraryService,
                       ElementUtils elementUtils) {
-        this.templateService = templateService;
+        this.fragmentCache = fragmentCache;
         this.libraryService = libraryService;
         this.elementUtils = elementUtils;
     }
 
     public String build(List<ChainElement> elements) throws XMLStreamException, IOException {
+        StringWriter result = new StringWriter();
+        build(elements, result);
+        return result.toString();
+    }
 
+    /**
+     * Writes chain XML to the output. Element templates are rendered straight into the stream writer,
+     * so neither fragments nor the whole document are kept in memory as strings.
+     * The output is flushed but not closed.
+     */
+    public void build(List<ChainElement> elements, Writer output) throws XMLStreamException, IOException {
         elements = elementUtils.splitCompositeTriggers(elements);
-        List<ChainElement> startElements = elements.stream()
-                .filter(chainElement -> {
-                    ElementDescriptor descriptor = libraryService.getElementDescriptor(chainElement);
-                    boolean elementHasNoParent = chainElement.getParent() == null ||
-                            CONTAINER.equals(chainElement.getParent().getType());
-                    return descriptor != null &&
-                            (descriptor.getType() == ElementType.TRIGGER ||
-                                    descriptor.getType() == ElementType.REUSE ||
-                                    (descriptor.getType() == ElementType.COMPOSITE_TRIGGER &&
-                                            elementHasNoParent &&
-                                            chainElement.getInputDependencies().isEmpty()));
-                })
-                .collect(Collectors.toList());
+        ChainGraph graph = ChainGraph.of(elements, libraryService);
+        List<Integer> startElements = new ArrayList<>();
+        for (ChainElement element : elements) {
+            int index = graph.indexOf(element);
+            if (isStartElement(graph, index)) {
+                startElements.add(index);
+            }
+        }
 
         Map<String, String> routesWithCustomIdPlaceholder = new HashMap<>();
-        List<ChainRoute> routes = collectRoutes(startElements, routesWithCustomIdPlaceholder);
+        List<ChainRoute> routes = collectRoutes(graph, startElements, routesWithCustomIdPlaceholder);
 
-        StringWriter result = new StringWriter();
-        XMLStreamWriter2 streamWriter = (XMLStreamWriter2) new WstxOutputFactory().createXMLStreamWriter(result);
+        XMLStreamWriter2 streamWriter = (XMLStreamWriter2) new WstxOutputFactory().createXMLStreamWriter(output);
+        Writer rawWriter = new RawXmlWriter(streamWriter);
         streamWriter.writeStartDocument();
         streamWriter.writeStartElement(BuilderConstants.ROUTES);
         streamWriter.writeDefaultNamespace(BuilderConstants.SCHEMA);
@@ -91,19 +92,19 @@ public class XmlBuilder {
                         BuilderConstants.ID,
                         routesWithCustomIdPlaceholder.get(chainRoute.getId()));
             }
-            if (isRouteReferencedFromAnother(chainRoute)) {
+            if (isRouteReferencedFromAnother(graph, chainRoute)) {
                 streamWriter.writeEmptyElement(BuilderConstants.FROM);
                 streamWriter.writeAttribute(BuilderConstants.URI, BuilderConstants.DIRECT + chainRoute.getId());
             }
             for (ChainElement chainElement : chainRoute.getElements()) {
-                ElementDescriptor elementDescriptor = libraryService.getElementDescriptor(chainElement);
+                ElementDescriptor elementDescriptor = graph.descriptor(chainElement);
                 ElementType type = elementDescriptor.getType();
                 if (type == ElementType.TRIGGER && !BuilderConstants.ON_COMPLETION_EXCLUDE_TRIGGERS.contains(elementDescriptor.getName())) {
                     addOnCompletion(streamWriter);
                     addChainStart(streamWriter);
                 }
                 if (type != ElementType.CONTAINER) {
-                    streamWriter.writeRaw(templateService.applyTemplate(chainElement));
+                    fragmentCache.render(chainElement, rawWriter);
                 }
             }
             if (chainRoute.getNextRoutes().size() > 1) {
@@ -119,38 +120,52 @@ public class XmlBuilder {
             streamWriter.writeEndElement();
 
             // add extra route with onCompletion for split async element
-            addWiretapBridgeRoute(chainRoute, streamWriter);
+            addWiretapBridgeRoute(graph, chainRoute, streamWriter);
         }
         streamWriter.writeEndElement();
         streamWriter.writeEndDocument();
         streamWriter.flush();
         streamWriter.close();
+    }
 
-        return result.toString();
+    private static boolean isStartElement(ChainGraph graph, int element) {
+        ElementDescriptor descriptor = graph.descriptor(element);
+        if (descriptor == null) {
+            return false;
+        }
+        int parent = graph.parent(element);
+        boolean elementHasNoParent = parent == ChainGraph.NO_ELEMENT ||
+                CONTAINER.equals(graph.element(parent).getType());
+        return descriptor.getType() == ElementType.TRIGGER ||
+                descriptor.getType() == ElementType.REUSE ||
+                (descriptor.getType() == ElementType.COMPOSITE_TRIGGER &&
+                        elementHasNoParent &&
+                        graph.inputs(element).length == 0);
     }
 
-    private void addWiretapBridgeRoute(ChainRoute chainRoute, XMLStreamWriter2 streamWriter) throws XMLStreamException {
+    private static void addWiretapBridgeRoute(ChainGraph graph, ChainRoute chainRoute, XMLStreamWriter2 streamWriter)
+            throws XMLStreamException {
         for (ChainElement element : chainRoute.getElements()) {
-            ElementDescriptor elementDescriptor = libraryService.getElementDescriptor(element);
-            String elementName = elementDescriptor.getName();
+            int index = graph.indexOf(element);
+            String elementName = graph.descriptor(index).getName();
             if (CamelNames.SPLIT_ASYNC_2_COMPONENT.equals(elementName) || CamelNames.SPLIT_ASYNC_COMPONENT.equals(elementName)) {
-                ContainerChainElement splitContainer = (ContainerChainElement) element;
-                for (ChainElement splitElement : splitContainer.getElements()) {
-                    String splitElementName = libraryService.getElementDescriptor(splitElement).getName();
+                for (int splitElement : graph.children(index)) {
+                    String splitElementName = graph.descriptor(splitElement).getName();
                     if (ConfigurationPropertiesConstants.ASYNC_SPLIT_ELEMENT.equals(splitElementName) ||
                             ConfigurationPropertiesConstants.ASYNC_SPLIT_ELEMENT_2.equals(splitElementName)
                     ) {
+                        String splitElementId = graph.element(splitElement).getId();
                         streamWriter.writeStartElement(BuilderConstants.ROUTE);
 
                         addOnCompletion(streamWriter);
 
                         streamWriter.writeEmptyElement(BuilderConstants.FROM);
                         streamWriter.writeAttribute(BuilderConstants.URI,
-                                BuilderConstants.DIRECT + splitElement.getId() + BuilderConstants.ON_COMPLETION_ID_POSTFIX);
+                                BuilderConstants.DIRECT + splitElementId + BuilderConstants.ON_COMPLETION_ID_POSTFIX);
 
                         streamWriter.writeEmptyElement(BuilderConstants.TO);
                         streamWriter.writeAttribute(BuilderConstants.URI,
-                                BuilderConstants.DIRECT + splitElement.getId());
+                                BuilderConstants.DIRECT + splitElementId);
 
                         streamWriter.writeEndElement();
                     }
@@ -171,61 +186,66 @@ public class XmlBuilder {
         streamWriter.writeAttribute(BuilderConstants.REF, BuilderConstants.CHAIN_START_PROCESSOR);
     }
 
-    private List<ChainRoute> collectRoutes(List<ChainElement> startElements, Map<String, String> routesWithCustomId) {
-        List<ChainRoute> routes = new LinkedList<>();
-        Map<String, ChainRoute> elementToRoute = new HashMap<>(); // map of elements where key is "to" element id and value is its route
-        Deque<Pair<ChainElement, ChainRoute>> stack = new LinkedList<>();
-        for (ChainElement startElement : startElements) {
-            ChainRoute route = !BuilderConstants.REUSE_ELEMENT_TYPE.equals(startElement.getType())
+    private static List<ChainRoute> collectRoutes(
+            ChainGraph graph,
+            List<Integer> startElements,
+            Map<String, String> routesWithCustomId
+    ) {
+        List<ChainRoute> routes = new ArrayList<>();
+        // routes by element index, an element is mapped if it is the first one of the route
+        ChainRoute[] elementToRoute = new ChainRoute[graph.size()];
+        ElementRouteStack stack = new ElementRouteStack();
+        for (int startElement : startElements) {
+            ChainElement element = graph.element(startElement);
+            ChainRoute route = !BuilderConstants.REUSE_ELEMENT_TYPE.equals(element.getType())
                     ? new ChainRoute()
-                    : new ChainRoute(startElement.getOriginalId());
+                    : new ChainRoute(element.getOriginalId());
             routes.add(route);
-            stack.push(Pair.of(startElement, route));
+            stack.push(startElement, route);
 
-            if (startElement.getType().startsWith(BuilderConstants.SFTP_TRIGGER_PREFIX)) {
+            if (element.getType().startsWith(BuilderConstants.SFTP_TRIGGER_PREFIX)) {
                 routesWithCustomId.put(
                         route.getId(),
-                        BuilderConstants.DEPLOYMENT_ID_PLACEHOLDER + "-" + startElement.getId());
+                        BuilderConstants.DEPLOYMENT_ID_PLACEHOLDER + "-" + element.getId());
             }
         }
         while (!stack.isEmpty()) {
-            Pair<ChainElement, ChainRoute> currentElement = stack.pop();
-            ChainElement current = currentElement.getLeft();
-            ChainRoute currentRoute = currentElement.getRight();
-            ElementDescriptor elementDescriptor = libraryService.getElementDescriptor(current);
+            ChainRoute currentRoute = stack.peekRoute();
+            int current = stack.pop();
+            ElementDescriptor elementDescriptor = graph.descriptor(current);
             ElementType elementType = elementDescriptor.getType();
+            int[] outputs = graph.outputs(current);
 
             if (currentRoute.getElements().isEmpty()) {
-                elementToRoute.put(current.getId(), currentRoute);
+                elementToRoute[current] = currentRoute;
             }
-            currentRoute.getElements().add(current);
+            currentRoute.getElements().add(graph.element(current));
 
             //Condition that decide route need to be finished
             boolean completeRoute =
                     elementType == ElementType.TRIGGER ||
                             (elementType == ElementType.COMPOSITE_TRIGGER) ||
-                            current.getOutputDependencies().size() != 1;
+                            outputs.length != 1;
 
-            for (Dependency dependency : current.getOutputDependencies()) {
-                ChainElement nextElement = dependency.getElementTo();
-                if (elementToRoute.containsKey(nextElement.getId())) { // if a route with nextElement already exists
-                    ChainRoute nextRoute = elementToRoute.get(nextElement.getId());
-                    currentRoute.getNextRoutes().add(nextRoute);
+            for (int nextElement : outputs) {
+                if (elementToRoute[nextElement] != null) { // if a route with nextElement already exists
+                    currentRoute.getNextRoutes().add(elementToRoute[nextElement]);
                 } else {
                     ChainRoute route = currentRoute;
-                    if (completeRoute || nextElement.getInputDependencies().size() > 1) {
+                    if (completeRoute || graph.inputs(nextElement).length > 1) {
                         route = new ChainRoute(); // start new route
                         routes.add(route);
                         currentRoute.getNextRoutes().add(route);
                     }
-                    stack.push(Pair.of(dependency.getElementTo(), route));
+                    stack.push(nextElement, route);
                 }
             }
 
-            if (current instanceof ContainerChainElement && elementType != ElementType.CONTAINER) {
+            if (graph.isContainer(current) && elementType != ElementType.CONTAINER) {
                 if (!elementDescriptor.isOldStyleContainer()) {
                     List<ChainRoute> containerRoutes = collectContainerSubRoutes(
-                            (ContainerChainElement) current,
+                            graph,
+                            current,
                             elementToRoute,
                             stack
                     );
@@ -236,11 +256,10 @@ public class XmlBuilder {
                 // this block is used for deprecated containers that cannot contain logically nested
                 // dependent elements within themselves. It can be removed when such containers are
                 // completely removed from the project
-                for (ChainElement element : ((ContainerChainElement) current).getElements()) {
-                    ChainRoute branchRoute = new ChainRoute(element.getId());
+                for (int element : graph.children(current)) {
+                    ChainRoute branchRoute = new ChainRoute(graph.element(element).getId());
                     routes.add(branchRoute);
-                    for (Dependency outputDependency : element.getOutputDependencies()) {
-                        ChainElement nextElement = outputDependency.getElementTo();
+                    for (int nextElement : graph.outputs(element)) {
                         branchRoute.getNextRoutes().add(extractNextRoute(nextElement, routes, elementToRoute, stack));
                     }
                 }
@@ -249,80 +268,162 @@ public class XmlBuilder {
         return routes;
     }
 
-    private List<ChainRoute> collectContainerSubRoutes(
-            ContainerChainElement containerElement,
-            Map<String, ChainRoute> elementToRoute,
-            Deque<Pair<ChainElement, ChainRoute>> elementRouteStack
+    private static List<ChainRoute> collectContainerSubRoutes(
+            ChainGraph graph,
+            int containerElement,
+            ChainRoute[] elementToRoute,
+            ElementRouteStack elementRouteStack
     ) {
-        List<ChainRoute> routes = new LinkedList<>();
-        ElementDescriptor elementDescriptor = libraryService.getElementDescriptor(containerElement);
+        List<ChainRoute> routes = new ArrayList<>();
+        ElementDescriptor elementDescriptor = graph.descriptor(containerElement);
         if (!elementDescriptor.getAllowedChildren().isEmpty()) {
-            for (ChainElement child : containerElement.getElements()) {
-                if (!(child instanceof ContainerChainElement childContainer)) {
-                    ChainRoute branchRoute = new ChainRoute(child.getId());
+            for (int child : graph.children(containerElement)) {
+                if (!graph.isContainer(child)) {
+                    ChainRoute branchRoute = new ChainRoute(graph.element(child).getId());
                     routes.add(branchRoute);
                     branchRoute.getNextRoutes().add(extractNextRoute(child, routes, elementToRoute, elementRouteStack));
                     continue;
                 }
 
-                addContainerRoutes(routes, childContainer, elementToRoute, elementRouteStack);
+                addContainerRoutes(graph, routes, child, elementToRoute, elementRouteStack);
             }
             return routes;
         }
 
-        addContainerRoutes(routes, containerElement, elementToRoute, elementRouteStack);
+        addContainerRoutes(graph, routes, containerElement, elementToRoute, elementRouteStack);
         return routes;
     }
 
-    private void addContainerRoutes(
+    private static void addContainerRoutes(
+            ChainGraph graph,
             List<ChainRoute> routes,
-            ContainerChainElement containerElement,
-            Map<String, ChainRoute> elementToRoute,
-            Deque<Pair<ChainElement, ChainRoute>> elementRouteStack
+            int containerElement,
+            ChainRoute[] elementToRoute,
+            ElementRouteStack elementRouteStack
     ) {
-        ChainRoute containerRoute = new ChainRoute(containerElement.getId());
+        ChainRoute containerRoute = new ChainRoute(graph.element(containerElement).getId());
         routes.add(containerRoute);
 
-        List<ChainElement> startElements = containerElement.getElements().stream()
-                .filter(element -> element.getInputDependencies().isEmpty())
-                .toList();
-        if (startElements.size() == 1) {
-            elementRouteStack.push(Pair.of(startElements.get(0), containerRoute));
+        int[] children = graph.children(containerElement);
+        int startElementsCount = 0;
+        int firstStartElement = ChainGraph.NO_ELEMENT;
+        for (int child : children) {
+            if (graph.inputs(child).length == 0) {
+                if (startElementsCount++ == 0) {
+                    firstStartElement = child;
+                }
+            }
+        }
+        if (startElementsCount == 1) {
+            elementRouteStack.push(firstStartElement, containerRoute);
             return;
         }
 
-        for (ChainElement startElement : startElements) {
-            ChainRoute nextRoute = extractNextRoute(startElement, routes, elementToRoute, elementRouteStack);
-            containerRoute.getNextRoutes().add(nextRoute);
+        for (int child : children) {
+            if (graph.inputs(child).length == 0) {
+                ChainRoute nextRoute = extractNextRoute(child, routes, elementToRoute, elementRouteStack);
+                containerRoute.getNextRoutes().add(nextRoute);
+            }
         }
     }
 
-    private ChainRoute extractNextRoute(
-            ChainElement element,
+    private static ChainRoute extractNextRoute(
+            int element,
             List<ChainRoute> routes,
-            Map<String, ChainRoute> elementToRoute,
-            Deque<Pair<ChainElement, ChainRoute>> elementRouteStack
+            ChainRoute[] elementToRoute,
+            ElementRouteStack elementRouteStack
     ) {
-        if (elementToRoute.containsKey(element.getId())) {
-            return elementToRoute.get(element.getId());
+        if (elementToRoute[element] != null) {
+            return elementToRoute[element];
         }
 
         ChainRoute newRoute = new ChainRoute();
         routes.add(newRoute);
-        elementRouteStack.push(Pair.of(element, newRoute));
+        elementRouteStack.push(element, newRoute);
         /*  the nextElement can be 'nextElement' of
           another element in case of merging branches into one element,
           and we need to find existing route in elementToRoute map */
-        elementToRoute.put(element.getId(), newRoute);
+        elementToRoute[element] = newRoute;
         return newRoute;
     }
 
-    private boolean isRouteReferencedFromAnother(ChainRoute route) {
+    private static boolean isRouteReferencedFromAnother(ChainGraph graph, ChainRoute route) {
         if (route.getElements().isEmpty()) {
             return true;
         }
-        ChainElement routeStart = route.getElements().get(0);
-        return !routeStart.getInputDependencies().isEmpty() ||
-                (routeStart.getParent() != null && !CONTAINER.equals(routeStart.getParent().getType()));
+        int routeStart = graph.indexOf(route.getElements().get(0));
+        int parent = graph.parent(routeStart);
+        return graph.inputs(routeStart).length != 0 ||
+                (parent != ChainGraph.NO_ELEMENT && !CONTAINER.equals(graph.element(parent).getType()));
+    }
+
+    /**
+     * Stack of element indexes paired with routes they are added to.
+     */
+    private static class ElementRouteStack {
+        private int[] elements = new int[16];
+        private ChainRoute[] routes = new ChainRoute[16];
+        private int size;
+
+        void push(int element, ChainRoute route) {
+            if (size == elements.length) {
+                elements = Arrays.copyOf(elements, size * 2);
+                routes = Arrays.copyOf(routes, size * 2);
+            }
+            elements[size] = element;
+            routes[size] = route;
+            size++;
+        }
+
+        ChainRoute peekRoute() {
+            return routes[size - 1];
+        }
+
+        int pop() {
+            size--;
+            routes[size] = null;
+            return elements[size];
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+    }
+
+    /**
+     * Passes characters to the stream writer as raw XML, keeping its element state consistent.
+     */
+    private static class RawXmlWriter extends Writer {
+        private final XMLStreamWriter2 streamWriter;
+
+        RawXmlWriter(XMLStreamWriter2 streamWriter) {
+            this.streamWriter = streamWriter;
+        }
+
+        @Override
+        public void write(char[] buffer, int offset, int length) throws IOException {
+            try {
+                streamWriter.writeRaw(buffer, offset, length);
+            } catch (XMLStreamException e) {
+                throw new IOException(e);
+            }
+        }
+
+        @Override
+        public void write(String text, int offset, int length) throws IOException {
+            try {
+                streamWriter.writeRaw(text, offset, length);
+            } catch (XMLStreamException e) {
+                throw new IOException(e);
+            }
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
     }
 }
@@ -20,10 +20,14 @@ import com.github.jknack.handlebars.EscapingStrategy;
 import com.github.jknack.handlebars.Handlebars;
 import com.github.jknack.handlebars.Helper;
 import com.github.jknack.handlebars.Template;
+import com.github.jknack.handlebars.cache.ConcurrentMapTemplateCache;
 import com.github.jknack.handlebars.helper.ConditionalHelpers;
 import com.github.jknack.handlebars.helper.StringHelpers;
 import com.github.jknack.handlebars.io.ClassPathTemplateLoader;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.qubership.integration.platform.catalog.exception.SnapshotCreationException;
+import org.qubership.integration.platform.catalog.model.library.ElementDescriptor;
 import org.qubership.integration.platform.catalog.model.library.ElementType;
 import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.element.ChainElement;
 import org.qubership.integration.platform.catalog.service.library.LibraryElementsService;
@@ -31,11 +35,22 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.ListableBeanFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
 import org.springframework.stereotype.Component;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Slf4j
 @Component
@@ -45,16 +60,39 @@ public final class TemplateService {
     private static final String DEFAULT_TEMPLATE_SUFFIX = "/template.hbs";
     private static final String COMPOSITE_TRIGGER_DIR_SUFFIX = "/trigger";
     private static final String COMPOSITE_TRIGGER_MODULE_DIR_SUFFIX = "/module";
+    private static final String ELEMENT_FOLDERS_PATTERN = "classpath*:" + TEMPLATE_FOLDER + "/*/";
+
+    private static final String RENDER_TIMER = "qip.snapshot.template.render";
+    private static final String OUTCOME_SUCCESS = "success";
+    private static final String OUTCOME_FAILURE = "failure";
 
     private final Handlebars handlebars;
     private final LibraryElementsService libraryService;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Compiled templates by template name (element type with optional composite trigger variant suffix).
+     * Missing templates are cached as empty values to avoid repeated classpath lookups.
+     * Templates are classpath resources, so entries never become stale.
+     */
+    private final Map<String, Optional<Template>> compiledTemplates = new ConcurrentHashMap<>();
+
+    /**
+     * Render timers by outcome and element type, registered on first use.
+     */
+    private final Map<String, Map<String, Timer>> renderTimers = Map.of(
+            OUTCOME_SUCCESS, new ConcurrentHashMap<>(),
+            OUTCOME_FAILURE, new ConcurrentHashMap<>());
 
     @Autowired
-    public TemplateService(ListableBeanFactory beanFactory, LibraryElementsService libraryService) {
+    public TemplateService(ListableBeanFactory beanFactory, LibraryElementsService libraryService,
+                           MeterRegistry meterRegistry) {
         this.libraryService = libraryService;
+        this.meterRegistry = meterRegistry;
         this.handlebars = new Handlebars()
                 .with(new ClassPathTemplateLoader(TEMPLATE_FOLDER, DEFAULT_TEMPLATE_SUFFIX))
-                .with(EscapingStrategy.NOOP);
+                .with(EscapingStrategy.NOOP)
+                .with(new ConcurrentMapTemplateCache());
 
         handlebars.setInfiniteLoops(true);
         handlebars.setPrettyPrint(true);
@@ -85,26 +123,103 @@ public final class TemplateService {
         }
     }
 
+    @EventListener
+    public void onApplicationReady(ApplicationReadyEvent event) {
+        warmUpTemplates();
+    }
+
+    /**
+     * Precompiles templates of all elements described in the element library.
+     * Composite triggers are precompiled in both trigger and module variants.
+     */
+    public void warmUpTemplates() {
+        int count = 0;
+        for (String type : getElementFolderNames()) {
+            ElementDescriptor descriptor = libraryService.getElementDescriptor(type);
+            if (descriptor == null) {
+                continue;
+            }
+            List<String> names = descriptor.getType() == ElementType.COMPOSITE_TRIGGER
+                    ? List.of(type + COMPOSITE_TRIGGER_DIR_SUFFIX, type + COMPOSITE_TRIGGER_MODULE_DIR_SUFFIX)
+                    : List.of(type);
+            for (String name : names) {
+                if (getTemplate(name) != null) {
+                    count++;
+                }
+            }
+        }
+        log.info("Precompiled {} element templates", count);
+    }
+
+    private Set<String> getElementFolderNames() {
+        ResourcePatternResolver resolver = new PathMatchingResourcePatternResolver(getClass().getClassLoader());
+        Set<String> names = new TreeSet<>();
+        try {
+            for (Resource resource : resolver.getResources(ELEMENT_FOLDERS_PATTERN)) {
+                String name = getElementFolderName(resource);
+                if (StringUtils.isNotBlank(name)) {
+                    names.add(name);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Failed to list element library folders: {}", e.getMessage());
+        }
+        return names;
+    }
+
     public String applyTemplate(ChainElement element) {
-        Template template = getTemplate(element);
-        if (template == null)
-            throw new SnapshotCreationException("Element is not supposed to be outside a parent container.", element);
+        Template template = getRequiredTemplate(element);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            String renderedElement = template.apply(element);
+            stopRenderTimer(sample, element, OUTCOME_SUCCESS);
+            return renderedElement;
+        } catch (IOException | RuntimeException e) {
+            stopRenderTimer(sample, element, OUTCOME_FAILURE);
+            throw toSnapshotCreationException(element, e);
+        }
+    }
 
-        String renderedElement;
+    /**
+     * Renders element template directly into the writer, without building an intermediate string.
+     */
+    public void applyTemplate(ChainElement element, Writer writer) {
+        Template template = getRequiredTemplate(element);
+        Timer.Sample sample = Timer.start(meterRegistry);
         try {
-            renderedElement = template.apply(element);
+            template.apply(element, writer);
+            stopRenderTimer(sample, element, OUTCOME_SUCCESS);
         } catch (IOException | RuntimeException e) {
-            log.warn("Error while applying template to the element {}: {}", element.getType(), e.getMessage());
-            if (e.getCause() instanceof SnapshotCreationException) {
-                if (StringUtils.isBlank(((SnapshotCreationException) e.getCause()).getElementId()))
-                    throw new SnapshotCreationException(e.getCause().getMessage(), element, e);
-                else
-                    throw (SnapshotCreationException) e.getCause();
-            }
-            throw new SnapshotCreationException("Fields are not properly defined or require mandatory connection", element, e);
+            stopRenderTimer(sample, element, OUTCOME_FAILURE);
+            throw toSnapshotCreationException(element, e);
         }
+    }
 
-        return renderedElement;
+    private void stopRenderTimer(Timer.Sample sample, ChainElement element, String outcome) {
+        sample.stop(renderTimers.get(outcome).computeIfAbsent(String.valueOf(element.getType()),
+                type -> Timer.builder(RENDER_TIMER)
+                        .description("Element template rendering duration")
+                        .tag("type", type)
+                        .tag("outcome", outcome)
+                        .register(meterRegistry)));
+    }
+
+    private Template getRequiredTemplate(ChainElement element) {
+        Template template = getTemplate(element);
+        if (template == null)
+            throw new SnapshotCreationException("Element is not supposed to be outside a parent container.", element);
+        return template;
+    }
+
+    private static SnapshotCreationException toSnapshotCreationException(ChainElement element, Exception e) {
+        log.warn("Error while applying template to the element {}: {}", element.getType(), e.getMessage());
+        if (e.getCause() instanceof SnapshotCreationException) {
+            if (StringUtils.isBlank(((SnapshotCreationException) e.getCause()).getElementId()))
+                return new SnapshotCreationException(e.getCause().getMessage(), element, e);
+            else
+                return (SnapshotCreationException) e.getCause();
+        }
+        return new SnapshotCreationException("Fields are not properly defined or require mandatory connection", element, e);
     }
 
     public Template getTemplate(ChainElement element) {
@@ -116,12 +231,25 @@ public final class TemplateService {
     }
 
     public Template getTemplate(String name) {
+        Optional<Template> cached = compiledTemplates.get(name);
+        if (cached != null) {
+            return cached.orElse(null);
+        }
         try {
-            return handlebars.compile(name);
+            Template template = handlebars.compile(name);
+            compiledTemplates.putIfAbsent(name, Optional.of(template));
+            return template;
         } catch (FileNotFoundException ignored) {
+            compiledTemplates.putIfAbsent(name, Optional.empty());
         } catch (IOException e) {
             log.error("Can't initialize template for {}", name, e);
         }
         return null;
     }
+
+    private static String getElementFolderName(Resource resource) throws IOException {
+        String path = StringUtils.removeEnd(resource.getURL().getPath(), "/");
+        int start = path.lastIndexOf(TEMPLATE_FOLDER + "/");
+        return start < 0 ? null : path.substring(start + TEMPLATE_FOLDER.length() + 1);
+    }
 }
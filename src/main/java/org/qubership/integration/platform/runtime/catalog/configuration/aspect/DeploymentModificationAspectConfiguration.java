@@ -16,7 +16,6 @@
 
 package org.qubership.integration.platform.runtime.catalog.configuration.aspect;
 
-import org.qubership.integration.platform.catalog.consul.ConsulService;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.annotation.After;
 import org.aspectj.lang.annotation.Aspect;
@@ -27,15 +26,15 @@ import org.springframework.context.annotation.Configuration;
 @Aspect
 @Configuration
 public class DeploymentModificationAspectConfiguration {
-    private final ConsulService consulService;
+    private final DeploymentsTimestampUpdater deploymentsTimestampUpdater;
 
     @Autowired
-    public DeploymentModificationAspectConfiguration(ConsulService consulService) {
-        this.consulService = consulService;
+    public DeploymentModificationAspectConfiguration(DeploymentsTimestampUpdater deploymentsTimestampUpdater) {
+        this.deploymentsTimestampUpdater = deploymentsTimestampUpdater;
     }
 
     @After("@annotation(org.qubership.integration.platform.runtime.catalog.configuration.aspect.DeploymentModification)")
     public void updateDeploymentsTimestamp() {
-        consulService.updateDeploymentsTimestamp();
+        deploymentsTimestampUpdater.requestUpdate();
     }
 }
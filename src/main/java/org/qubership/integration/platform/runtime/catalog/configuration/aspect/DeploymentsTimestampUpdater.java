@@ -0,0 +1,124 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.configuration.aspect;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.qubership.integration.platform.catalog.consul.ConsulService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Coalesces deployments timestamp updates in Consul.
+ * <p>
+ * Requests made within a transaction are postponed until the transaction commits and dropped on rollback.
+ * The first request schedules an update after a short delay, requests made before the update runs
+ * are served by it. An operation running longer than the delay may cause several updates.
+ * A scheduled update is made right away on shutdown.
+ */
+@Slf4j
+@Component
+public class DeploymentsTimestampUpdater {
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(5);
+
+    private final ConsulService consulService;
+    private final TaskScheduler taskScheduler;
+    private final Duration delay;
+    private final Object transactionKey = new Object();
+    private boolean pending;
+    private ScheduledFuture<?> scheduledUpdate;
+
+    @Autowired
+    public DeploymentsTimestampUpdater(ConsulService consulService,
+                                       TaskScheduler taskScheduler,
+                                       @Value("${qip.deployments.timestamp-update.delay-ms:200}") long delayMs) {
+        this.consulService = consulService;
+        this.taskScheduler = taskScheduler;
+        this.delay = Duration.ofMillis(delayMs);
+    }
+
+    public void requestUpdate() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            schedule(delay);
+            return;
+        }
+        if (!TransactionSynchronizationManager.hasResource(transactionKey)) {
+            TransactionSynchronizationManager.bindResource(transactionKey, Boolean.TRUE);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    schedule(delay);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(transactionKey);
+                }
+            });
+        }
+    }
+
+    @PreDestroy
+    public void flush() {
+        synchronized (this) {
+            if (!pending) {
+                return;
+            }
+            pending = false;
+            if (scheduledUpdate != null) {
+                scheduledUpdate.cancel(false);
+                scheduledUpdate = null;
+            }
+        }
+        try {
+            consulService.updateDeploymentsTimestamp();
+        } catch (Exception e) {
+            log.error("Failed to update deployments timestamp in consul on shutdown", e);
+        }
+    }
+
+    private synchronized void schedule(Duration delay) {
+        if (!pending) {
+            pending = true;
+            scheduledUpdate = taskScheduler.schedule(this::update, Instant.now().plus(delay));
+        }
+    }
+
+    private void update() {
+        synchronized (this) {
+            if (!pending) {
+                return;
+            }
+            pending = false;
+            scheduledUpdate = null;
+        }
+        try {
+            consulService.updateDeploymentsTimestamp();
+        } catch (Exception e) {
+            log.error("Failed to update deployments timestamp in consul, retry in {}", RETRY_DELAY, e);
+            schedule(RETRY_DELAY);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.db.migration.postgresql.configs;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.migration.Context;
+import org.qubership.integration.platform.runtime.catalog.util.SnapshotXmlCodec;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Compresses snapshot XML configurations stored before compression was introduced.
+ * Runs once, rows are read through a cursor and updated in JDBC batches.
+ * <p>
+ * Compressed values can't be read by previous versions, so rollback to a version
+ * without {@link SnapshotXmlCodec} is not possible once this migration is applied.
+ * <p>
+ * Encoded values are already deflated, so TOAST compression of the column is disabled,
+ * it can't shrink base64 and only costs a compression attempt on every write.
+ */
+@Slf4j
+@Component
+public class V100_004__CompressSnapshotXmlConfigurations extends ConfigsJavaMigration {
+    private static final int CHUNK = 100;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ALTER TABLE snapshots ALTER COLUMN xml_configuration SET STORAGE EXTERNAL");
+        }
+
+        int compressed = 0;
+        try (Statement select = connection.createStatement();
+             PreparedStatement update = connection.prepareStatement(
+                     "UPDATE snapshots SET xml_configuration = ? WHERE id = ?")) {
+            // cursor based fetch, XML configurations are not loaded all at once
+            select.setFetchSize(CHUNK);
+            try (ResultSet rows = select.executeQuery(
+                    "SELECT id, xml_configuration FROM snapshots WHERE xml_configuration IS NOT NULL")) {
+                while (rows.next()) {
+                    String xml = rows.getString(2);
+                    if (SnapshotXmlCodec.isEncoded(xml)) {
+                        continue;
+                    }
+                    update.setString(1, SnapshotXmlCodec.encode(xml));
+                    update.setString(2, rows.getString(1));
+                    update.addBatch();
+                    if (++compressed % CHUNK == 0) {
+                        update.executeBatch();
+                    }
+                }
+            }
+            update.executeBatch();
+        }
+        log.info("Snapshot XML configurations compressed: {}", compressed);
+    }
+}
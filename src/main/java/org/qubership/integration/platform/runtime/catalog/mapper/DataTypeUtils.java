@@ -24,23 +24,11 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Stream;
 
-import static java.util.Objects.isNull;
-
 public class DataTypeUtils {
     public record ResolveResult(DataType type, Map<String, TypeDefinition> definitionMap) {}
 
     public static ResolveResult resolveType(DataType type, Map<String, TypeDefinition> definitionMap) {
-        while (type instanceof ReferenceType referenceType) {
-            definitionMap = updateDefinitionMapFromType(definitionMap, referenceType);
-            String id = referenceType.getDefinitionId();
-            TypeDefinition definition = definitionMap.get(id);
-            if (isNull(definition)) {
-                String message = String.format("Failed to resolve type definition with id: %s.", id);
-                throw new MapperException(message);
-            }
-            type = definition.getType();
-        }
-        return new ResolveResult(type, definitionMap);
+        return new TypeResolutionContext().resolveType(type, definitionMap);
     }
 
     public static Map<String, TypeDefinition> updateDefinitionMapFromType(
@@ -61,29 +49,51 @@ public class DataTypeUtils {
             String attributeId,
             Map<String, TypeDefinition> definitionMap
     ) {
-        return getBranches(type, definitionMap)
+        return findBranchByAttributeId(type, attributeId, definitionMap, new TypeResolutionContext());
+    }
+
+    public static Optional<DataType> findBranchByAttributeId(
+            CompoundType type,
+            String attributeId,
+            Map<String, TypeDefinition> definitionMap,
+            TypeResolutionContext resolution
+    ) {
+        return getBranches(type, definitionMap, resolution)
                 .filter(resolveResult -> resolveResult.type() instanceof ComplexType)
-                .filter(resolveResult -> hasAttribute(resolveResult.type(), attributeId, resolveResult.definitionMap()))
+                .filter(resolveResult -> hasAttribute(
+                        resolveResult.type(), attributeId, resolveResult.definitionMap(), resolution))
                 .map(ResolveResult::type)
                 .findFirst();
     }
 
-    private static Stream<ResolveResult> getBranches(CompoundType type, Map<String, TypeDefinition> definitionMap) {
-        Map<String, TypeDefinition> definitions = updateDefinitionMapFromType(definitionMap, type);
-        return type.getTypes().stream().map(t -> resolveType(t, definitions)).flatMap(
+    private static Stream<ResolveResult> getBranches(
+            CompoundType type,
+            Map<String, TypeDefinition> definitionMap,
+            TypeResolutionContext resolution
+    ) {
+        Map<String, TypeDefinition> definitions = resolution.updateDefinitionMapFromType(definitionMap, type);
+        return type.getTypes().stream().map(t -> resolution.resolveType(t, definitions)).flatMap(
                 resolveResult -> resolveResult.type() instanceof CompoundType compoundType
-                        ? getBranches(compoundType, resolveResult.definitionMap())
+                        ? getBranches(compoundType, resolveResult.definitionMap(), resolution)
                         : Stream.of(resolveResult)
         );
     }
 
-    private static boolean hasAttribute(DataType type, String attributeId, Map<String, TypeDefinition> definitionMap) {
-        ResolveResult resolveResult = resolveType(type, definitionMap);
+    private static boolean hasAttribute(
+            DataType type,
+            String attributeId,
+            Map<String, TypeDefinition> definitionMap,
+            TypeResolutionContext resolution
+    ) {
+        ResolveResult resolveResult = resolution.resolveType(type, definitionMap);
         return ((resolveResult.type() instanceof ObjectType objectType)
                         && objectType.getSchema().getAttributes().stream().map(Attribute::getId).anyMatch(attributeId::equals))
                 || ((resolveResult.type() instanceof ArrayType arrayType)
-                        && hasAttribute(arrayType.getItemType(), attributeId, updateDefinitionMapFromType(resolveResult.definitionMap(), arrayType)))
+                        && hasAttribute(arrayType.getItemType(), attributeId,
+                                resolution.updateDefinitionMapFromType(resolveResult.definitionMap(), arrayType), resolution))
                 || ((resolveResult.type() instanceof CompoundType compoundType)
-                        && findBranchByAttributeId(compoundType, attributeId, updateDefinitionMapFromType(resolveResult.definitionMap(), compoundType)).isPresent());
+                        && findBranchByAttributeId(compoundType, attributeId,
+                                resolution.updateDefinitionMapFromType(resolveResult.definitionMap(), compoundType), resolution)
+                                .isPresent());
     }
 }
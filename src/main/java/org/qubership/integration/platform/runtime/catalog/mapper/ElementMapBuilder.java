@@ -21,7 +21,9 @@ import org.qubership.integration.platform.runtime.catalog.model.mapper.mapping.d
 
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
@@ -33,6 +35,16 @@ public class ElementMapBuilder {
             ElementContext context
     ) {}
 
+    private final TypeResolutionContext resolution;
+
+    public ElementMapBuilder() {
+        this(new TypeResolutionContext());
+    }
+
+    public ElementMapBuilder(TypeResolutionContext resolution) {
+        this.resolution = resolution;
+    }
+
     public Map<String, ElementWithContext> buildElementMap(DataType type) {
         return buildElementMap(type, Collections.emptyMap());
     }
@@ -42,12 +54,14 @@ public class ElementMapBuilder {
             Map<String, TypeDefinition> definitionMap
     ) {
         Map<String, ElementWithContext> elementMap = new HashMap<>();
+        // recursive types reach the same element instances again, each one is processed once
+        Set<Element> processed = Collections.newSetFromMap(new IdentityHashMap<>());
         recursivelyProcessElements(
                 type,
                 definitionMap,
-                elementWithContext -> elementMap.put(
+                elementWithContext -> elementMap.putIfAbsent(
                         elementWithContext.element().getId(), elementWithContext),
-                element -> elementMap.containsKey(element.getId())
+                processed::add
         );
         return elementMap;
     }
@@ -56,17 +70,17 @@ public class ElementMapBuilder {
             DataType type,
             Map<String, TypeDefinition> definitionMap,
             Consumer<ElementWithContext> consumer,
-            Predicate<Element> checkIfElementProcessed
+            Predicate<Element> markElementProcessed
     ) {
         getAttributes(type, definitionMap)
-                .filter(i -> !checkIfElementProcessed.test(i.element()))
+                .filter(i -> markElementProcessed.test(i.element()))
                 .forEach(i -> {
                     consumer.accept(i);
                     recursivelyProcessElements(
                             i.element().getType(),
                             i.context().definitionMap(),
                             consumer,
-                            checkIfElementProcessed
+                            markElementProcessed
                     );
                 });
     }
@@ -75,9 +89,9 @@ public class ElementMapBuilder {
             DataType dataType,
             Map<String, TypeDefinition> definitionMap
     ) {
-        DataTypeUtils.ResolveResult result = DataTypeUtils.resolveType(dataType, definitionMap);
+        DataTypeUtils.ResolveResult result = resolution.resolveType(dataType, definitionMap);
         dataType = result.type();
-        Map<String, TypeDefinition> definitions = DataTypeUtils.updateDefinitionMapFromType(
+        Map<String, TypeDefinition> definitions = resolution.updateDefinitionMapFromType(
                 definitionMap, dataType);
         if (dataType instanceof ArrayType type) {
             return getAttributes(type.getItemType(), definitions);
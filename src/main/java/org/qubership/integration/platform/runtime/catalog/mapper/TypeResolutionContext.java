@@ -0,0 +1,91 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.mapper;
+
+import org.qubership.integration.platform.runtime.catalog.model.mapper.datatypes.DataType;
+import org.qubership.integration.platform.runtime.catalog.model.mapper.datatypes.ReferenceType;
+import org.qubership.integration.platform.runtime.catalog.model.mapper.datatypes.TypeDefinition;
+import org.qubership.integration.platform.runtime.catalog.model.mapper.datatypes.TypeWithDefinitions;
+
+import java.util.*;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Type resolution state shared by a single mapping interpretation.
+ * <p>
+ * Definition maps extended by a type are built once per parent map and type, so the same scope is
+ * represented by the same map instance. References are resolved once per scope and definition id.
+ * Maps and types are compared by identity, the context must not outlive the schemas it was used for.
+ */
+public class TypeResolutionContext {
+    private final Map<Map<String, TypeDefinition>, Map<DataType, Map<String, TypeDefinition>>> scopes =
+            new IdentityHashMap<>();
+    private final Map<Map<String, TypeDefinition>, Map<String, DataTypeUtils.ResolveResult>> resolvedTypes =
+            new IdentityHashMap<>();
+
+    public DataTypeUtils.ResolveResult resolveType(DataType type, Map<String, TypeDefinition> definitionMap) {
+        if (!(type instanceof ReferenceType)) {
+            return new DataTypeUtils.ResolveResult(type, definitionMap);
+        }
+
+        List<Map<String, DataTypeUtils.ResolveResult>> pendingScopes = new ArrayList<>();
+        List<String> pendingIds = new ArrayList<>();
+        Set<TypeDefinition> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        DataTypeUtils.ResolveResult result = null;
+        while (type instanceof ReferenceType referenceType) {
+            definitionMap = updateDefinitionMapFromType(definitionMap, referenceType);
+            String id = referenceType.getDefinitionId();
+            Map<String, DataTypeUtils.ResolveResult> scopeResults =
+                    resolvedTypes.computeIfAbsent(definitionMap, map -> new HashMap<>());
+            result = scopeResults.get(id);
+            if (result != null) {
+                break;
+            }
+            TypeDefinition definition = definitionMap.get(id);
+            if (isNull(definition)) {
+                String message = String.format("Failed to resolve type definition with id: %s.", id);
+                throw new MapperException(message);
+            }
+            if (!visited.add(definition)) {
+                String message = String.format("Circular reference to type definition with id: %s.", id);
+                throw new MapperException(message);
+            }
+            pendingScopes.add(scopeResults);
+            pendingIds.add(id);
+            type = definition.getType();
+        }
+        if (result == null) {
+            result = new DataTypeUtils.ResolveResult(type, definitionMap);
+        }
+        for (int i = 0; i < pendingIds.size(); i++) {
+            pendingScopes.get(i).put(pendingIds.get(i), result);
+        }
+        return result;
+    }
+
+    public Map<String, TypeDefinition> updateDefinitionMapFromType(
+            Map<String, TypeDefinition> definitionMap,
+            DataType dataType
+    ) {
+        if (!(dataType instanceof TypeWithDefinitions type) || type.getDefinitions().isEmpty()) {
+            return definitionMap;
+        }
+        return scopes.computeIfAbsent(definitionMap, map -> new IdentityHashMap<>())
+                .computeIfAbsent(dataType, t -> DataTypeUtils.updateDefinitionMapFromType(definitionMap, t));
+    }
+}
@@ -19,6 +19,9 @@ package org.qubership.integration.platform.runtime.catalog.mapper.atlasmap;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import io.atlasmap.json.v2.JsonDataSource;
 import io.atlasmap.json.v2.JsonField;
 import io.atlasmap.v2.Constant;
@@ -36,7 +39,6 @@ import org.qubership.integration.platform.mapper.ComplexField;
 import org.qubership.integration.platform.mapper.GeneratedField;
 import org.qubership.integration.platform.runtime.catalog.mapper.*;
 import org.qubership.integration.platform.runtime.catalog.mapper.atlasmap.xml.XmlTemplateBuilder;
-import org.qubership.integration.platform.runtime.catalog.mapper.expressions.FieldKind;
 import org.qubership.integration.platform.runtime.catalog.mapper.expressions.ToAtlasMapExpressionConverter;
 import org.qubership.integration.platform.runtime.catalog.mapper.metadata.DataFormat;
 import org.qubership.integration.platform.runtime.catalog.mapper.metadata.MetadataUtils;
@@ -53,9 +55,12 @@ import org.qubership.integration.platform.runtime.catalog.model.mapper.mapping.d
 import org.qubership.integration.platform.runtime.catalog.model.mapper.mapping.definition.ObjectSchema;
 import org.qubership.integration.platform.runtime.catalog.model.mapper.mapping.definition.constant.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Collection;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -100,22 +105,72 @@ public class AtlasMapInterpreter implements MappingInterpreter {
     private static final String SOURCE_DOC_ID = "source";
     private static final String CONSTANT_DOC_ID = "DOC.Properties.1";
     private static final String PROPERTIES_DOC_ID = "DOC.Properties.2";
+    private static final String MAPPING_ID_PREFIX = "mapping.";
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+    private static final long DEFAULT_CACHE_MAX_ENTRIES = 1000;
 
     private static final Pattern xmlTextPathPattern = Pattern.compile("\\/#text$");
 
     private final ObjectMapper objectMapper;
 
+    private final ObjectMapper keyObjectMapper;
+
     private final DataTypeToFieldTypeConverter dataTypeToFieldTypeConverter;
 
-    @Autowired
+    private final ToAtlasMapExpressionConverter expressionConverter;
+
+    /**
+     * Interpretations by digest of the mapping description.
+     * Interpretation is a pure function of the description, so identical mappers of different chains
+     * and snapshots are interpreted once.
+     */
+    private final Cache<String, String> interpretations;
+
     public AtlasMapInterpreter(ObjectMapper objectMapper) {
+        this(objectMapper, DEFAULT_CACHE_MAX_ENTRIES);
+    }
+
+    @Autowired
+    public AtlasMapInterpreter(
+            ObjectMapper objectMapper,
+            @Value("${qip.mapper.interpretation-cache.max-entries:1000}") long cacheMaxEntries
+    ) {
         this.objectMapper = objectMapper;
         this.objectMapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        this.keyObjectMapper = objectMapper.copy().configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
         this.dataTypeToFieldTypeConverter = new DataTypeToFieldTypeConverter();
+        this.expressionConverter = new ToAtlasMapExpressionConverter();
+        this.interpretations = CacheBuilder.newBuilder()
+                .maximumSize(cacheMaxEntries)
+                .build();
     }
 
     @Override
     public String getInterpretation(MappingDescription mappingDescription) {
+        String key = buildKey(mappingDescription);
+        if (key == null) {
+            return interpret(mappingDescription);
+        }
+        String interpretation = interpretations.getIfPresent(key);
+        if (interpretation == null) {
+            interpretation = interpret(mappingDescription);
+            interpretations.put(key, interpretation);
+        }
+        return interpretation;
+    }
+
+    private String buildKey(MappingDescription mappingDescription) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+            digest.update(keyObjectMapper.writeValueAsBytes(mappingDescription));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            log.debug("Unable to build interpretation cache key: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private String interpret(MappingDescription mappingDescription) {
         AtlasMapping atlasMapping = new AtlasMapping();
         atlasMapping.setName(MAPPING_NAME);
 
@@ -353,8 +408,9 @@ public class AtlasMapInterpreter implements MappingInterpreter {
     }
 
     private void fillActions(MappingDescription mappingDescription, AtlasMapping atlasMapping) {
-        var sourceElementMap = buildElementMap(mappingDescription.getSource(), mappingDescription.getConstants());
-        var targetElementMap = buildElementMap(mappingDescription.getTarget(), Collections.emptyList());
+        TypeResolutionContext resolution = new TypeResolutionContext();
+        var sourceElementMap = buildElementMap(mappingDescription.getSource(), mappingDescription.getConstants(), resolution);
+        var targetElementMap = buildElementMap(mappingDescription.getTarget(), Collections.emptyList(), resolution);
 
         List<? extends BaseMapping> mappings = mappingDescription
                 .getActions()
@@ -362,7 +418,7 @@ public class AtlasMapInterpreter implements MappingInterpreter {
                 // Complex objects mappings first
                 .sorted(Comparator.comparing(action -> action.getTarget().getPath().size()))
                 .flatMap(action ->
-                        getMappings(mappingDescription, action, sourceElementMap, targetElementMap)
+                        getMappings(mappingDescription, action, sourceElementMap, targetElementMap, resolution)
                                 .stream()
                                 .map(mapping -> processTransformation(
                                         mappingDescription, mapping, action, sourceElementMap, targetElementMap))
@@ -375,9 +431,10 @@ public class AtlasMapInterpreter implements MappingInterpreter {
 
     private Map<String, ElementMapBuilder.ElementWithContext> buildElementMap(
             MessageSchema messageSchema,
-            Collection<org.qubership.integration.platform.runtime.catalog.model.mapper.mapping.definition.constant.Constant> constants
+            Collection<org.qubership.integration.platform.runtime.catalog.model.mapper.mapping.definition.constant.Constant> constants,
+            TypeResolutionContext resolution
     ) {
-        ElementMapBuilder elementMapBuilder = new ElementMapBuilder();
+        ElementMapBuilder elementMapBuilder = new ElementMapBuilder(resolution);
         Map<String, ElementMapBuilder.ElementWithContext> result = new HashMap<>();
         Stream.of(messageSchema.getHeaders(), messageSchema.getProperties())
                 .map(attributes -> new ObjectType(new ObjectSchema("", List.copyOf(attributes), null), null, null))
@@ -393,7 +450,8 @@ public class AtlasMapInterpreter implements MappingInterpreter {
             MappingDescription mappingDescription,
             MappingAction action,
             Map<String, ElementMapBuilder.ElementWithContext> sourceElementMap,
-            Map<String, ElementMapBuilder.ElementWithContext> targetElementMap
+            Map<String, ElementMapBuilder.ElementWithContext> targetElementMap,
+            TypeResolutionContext resolution
     ) {
         List<BaseMapping> result = new ArrayList<>();
 
@@ -404,7 +462,8 @@ public class AtlasMapInterpreter implements MappingInterpreter {
                         source,
                         mappingDescription.getSource(),
                         sourceElementMap,
-                        true
+                        true,
+                        resolution
                 ))
                 .toList();
 
@@ -412,13 +471,14 @@ public class AtlasMapInterpreter implements MappingInterpreter {
                 action.getTarget(),
                 mappingDescription.getTarget(),
                 targetElementMap,
-                false
+                false,
+                resolution
         );
 
         validateForSupportedMappings(inputFields, outputField, action);
 
         Mapping mapping = new Mapping();
-        mapping.setId("mapping.".concat(UUID.randomUUID().toString()));
+        mapping.setId(buildMappingId(action));
         mapping.getOutputField().add(outputField);
 
         boolean hasExpressionTransformation = Optional.ofNullable(action.getTransformation())
@@ -453,7 +513,8 @@ public class AtlasMapInterpreter implements MappingInterpreter {
                                 action.getTarget(),
                                 mappingDescription.getTarget(),
                                 targetElementMap,
-                                false
+                                false,
+                                resolution
                         );
                         String indexedPath = getIndexedPath(outputFieldCopy.getPath(), index);
                         replacePathPrefix(outputFieldCopy, outputFieldCopy.getPath(), indexedPath, false);
@@ -475,11 +536,20 @@ public class AtlasMapInterpreter implements MappingInterpreter {
         return result;
     }
 
+    /**
+     * Builds mapping id from the action content, so the same mapping description always gives the same configuration.
+     */
+    private static String buildMappingId(MappingAction action) {
+        String name = action.getId() + ":" + String.join("/", action.getTarget().getPath());
+        return MAPPING_ID_PREFIX.concat(UUID.nameUUIDFromBytes(name.getBytes(StandardCharsets.UTF_8)).toString());
+    }
+
     private Field buildAtlasField(
             ElementReference elementReference,
             MessageSchema messageSchema,
             Map<String, ElementMapBuilder.ElementWithContext> elementMap,
-            boolean isSource
+            boolean isSource,
+            TypeResolutionContext resolution
     ) {
         return switch (elementReference.getType()) {
             case CONSTANT -> buildConstantField(elementReference, elementMap);
@@ -487,8 +557,8 @@ public class AtlasMapInterpreter implements MappingInterpreter {
                 AttributeReference attributeReference = (AttributeReference) elementReference;
                 yield switch (attributeReference.getKind()) {
                     case HEADER -> buildHeaderField(attributeReference, elementMap);
-                    case PROPERTY -> buildPropertyField(attributeReference, elementMap);
-                    case BODY -> buildBodyField(attributeReference, messageSchema, isSource, elementMap);
+                    case PROPERTY -> buildPropertyField(attributeReference, elementMap, resolution);
+                    case BODY -> buildBodyField(attributeReference, messageSchema, isSource, elementMap, resolution);
                 };
             }
         };
@@ -511,7 +581,8 @@ public class AtlasMapInterpreter implements MappingInterpreter {
 
     private Field buildPropertyField(
             AttributeReference attributeReference,
-            Map<String, ElementMapBuilder.ElementWithContext> elementMap
+            Map<String, ElementMapBuilder.ElementWithContext> elementMap,
+            TypeResolutionContext resolution
     ) {
         List<String> path = attributeReference.getPath();
         String id = path.stream().findFirst().orElseThrow(
@@ -522,10 +593,11 @@ public class AtlasMapInterpreter implements MappingInterpreter {
                     .concat(UNABLE_TO_FIND_PROPERTY_ERROR_MESSAGE).concat(id));
         }
         Attribute root = (Attribute) attributeWithContext.element();
-        DataType rootType = DataTypeUtils.resolveType(root.getType(), Collections.emptyMap()).type();
+        DataType rootType = resolution.resolveType(root.getType(), Collections.emptyMap()).type();
         if (rootType instanceof ComplexType) {
             if (path.size() == 1) {
-                Field field = buildAttributeField(attributeReference, DataFormat.JSON, root.getName(), elementMap, false);
+                Field field = buildAttributeField(
+                        attributeReference, DataFormat.JSON, root.getName(), elementMap, false, resolution);
                 String newPrefix = rootType.getKind().equals(TypeKind.ARRAY) ? "<>/" : "/";
                 replacePathPrefix(field, field.getPath(), newPrefix, true);
                 return field;
@@ -536,7 +608,7 @@ public class AtlasMapInterpreter implements MappingInterpreter {
                                 attributeReference.getKind(),
                                 attributeReference.getPath().subList(1, attributeReference.getPath().size()),
                                 attributeReference.getMetadata()
-                        ), DataFormat.JSON, root.getName(), elementMap, rootIsArray);
+                        ), DataFormat.JSON, root.getName(), elementMap, rootIsArray, resolution);
             }
         } else if (path.size() == 1) {
             return buildCommonPropertyField(root, new PropertyCharacteristics(EXCHANGE_SCOPE, EXCHANGE_PATH, PROPERTIES_DOC_ID));
@@ -561,21 +633,22 @@ public class AtlasMapInterpreter implements MappingInterpreter {
             AttributeReference attributeReference,
             MessageSchema messageSchema,
             boolean isSource,
-            Map<String, ElementMapBuilder.ElementWithContext> elementMap
+            Map<String, ElementMapBuilder.ElementWithContext> elementMap,
+            TypeResolutionContext resolution
     ) {
         DataFormat dataFormat = MetadataUtils.getDataFormat(messageSchema.getBody().getMetadata());
         String documentId = isSource ? SOURCE_DOC_ID : TARGET_DOC_ID;
         DataTypeUtils.ResolveResult bodyTypeResolveResult =
-                DataTypeUtils.resolveType(messageSchema.getBody(), Collections.emptyMap());
+                resolution.resolveType(messageSchema.getBody(), Collections.emptyMap());
         DataType rootType = (
                 (bodyTypeResolveResult.type() instanceof CompoundType compoundType)
                         && !attributeReference.getPath().isEmpty()
         )
                 ? DataTypeUtils.findBranchByAttributeId(compoundType, attributeReference.getPath().get(0),
-                bodyTypeResolveResult.definitionMap()).orElse(bodyTypeResolveResult.type())
+                bodyTypeResolveResult.definitionMap(), resolution).orElse(bodyTypeResolveResult.type())
                 : bodyTypeResolveResult.type();
         boolean rootIsArray = rootType.getKind().equals(TypeKind.ARRAY);
-        Field field = buildAttributeField(attributeReference, dataFormat, documentId, elementMap, rootIsArray);
+        Field field = buildAttributeField(attributeReference, dataFormat, documentId, elementMap, rootIsArray, resolution);
         return field;
     }
 
@@ -584,7 +657,8 @@ public class AtlasMapInterpreter implements MappingInterpreter {
             DataFormat dataFormat,
             String documentId,
             Map<String, ElementMapBuilder.ElementWithContext> elementMap,
-            boolean rootIsArray
+            boolean rootIsArray,
+            TypeResolutionContext resolution
     ) {
         List<Element> path = resolveElementsForPath(attributeReference.getPath(), elementMap);
 
@@ -595,18 +669,18 @@ public class AtlasMapInterpreter implements MappingInterpreter {
         Attribute lastAttribute = (Attribute) path.get(path.size() - 1);
 
         String fieldName = lastAttribute.getName();
-        String fieldPath = buildAtlasMapFieldPath(path, elementMap);
+        String fieldPath = buildAtlasMapFieldPath(path, elementMap, resolution);
         if (rootIsArray) {
             fieldPath = "<>" + fieldPath;
         }
 
         Map<String, TypeDefinition> definitionMap = elementMap.get(lastAttribute.getId()).context().definitionMap();
-        DataTypeUtils.ResolveResult typeResolveResult = DataTypeUtils.resolveType(lastAttribute.getType(), definitionMap);
+        DataTypeUtils.ResolveResult typeResolveResult = resolution.resolveType(lastAttribute.getType(), definitionMap);
 
         DataType dataType = typeResolveResult.type();
         boolean isArray = dataType.getKind().equals(TypeKind.ARRAY);
         if (isArray) {
-            DataTypeUtils.ResolveResult itemTypeResolveResult = DataTypeUtils.resolveType(
+            DataTypeUtils.ResolveResult itemTypeResolveResult = resolution.resolveType(
                     ((ArrayType) dataType).getItemType(), typeResolveResult.definitionMap());
             dataType = itemTypeResolveResult.type();
         }
@@ -630,7 +704,8 @@ public class AtlasMapInterpreter implements MappingInterpreter {
                             attributeReference.getKind(),
                             ListUtils.union(attributeReference.getPath(), Collections.singletonList(attribute.getId())),
                             null))
-                    .map(reference -> buildAttributeField(reference, dataFormat, documentId, elementMap, rootIsArray))
+                    .map(reference -> buildAttributeField(
+                            reference, dataFormat, documentId, elementMap, rootIsArray, resolution))
                     .toList();
             field = new ComplexField(childFields);
             field.setName(fieldName);
@@ -649,7 +724,7 @@ public class AtlasMapInterpreter implements MappingInterpreter {
                     Matcher pathMatcher = xmlTextPathPattern.matcher(fieldPath);
                     if (pathMatcher.find()) {
                         fieldName = path.get(path.size() - 2).getName();
-                        fieldPath = fieldPath.replaceAll(xmlTextPathPattern.pattern(), "");
+                        fieldPath = pathMatcher.replaceAll("");
                     }
 
                     field = new XmlField();
@@ -660,7 +735,7 @@ public class AtlasMapInterpreter implements MappingInterpreter {
                 default -> throw new SnapshotCreationException(MAPPING_CREATION_ERROR_MESSAGE
                         .concat(UNABLE_TO_DEFINE_DATA_FORMAT_ERROR_MESSAGE));
             }
-            field.setFieldType(dataTypeToFieldTypeConverter.convert(dataType, definitionMap));
+            field.setFieldType(dataTypeToFieldTypeConverter.convert(dataType, definitionMap, resolution));
         }
 
         field.setValue(ValueExtractor.getValue(dataType.getKind(), lastAttribute.getDefaultValue()));
@@ -686,13 +761,14 @@ public class AtlasMapInterpreter implements MappingInterpreter {
 
     private String buildAtlasMapFieldPath(
             List<Element> path,
-            Map<String, ElementMapBuilder.ElementWithContext> attributeMap
+            Map<String, ElementMapBuilder.ElementWithContext> attributeMap,
+            TypeResolutionContext resolution
     ) {
         return path.stream()
                 .map(attribute -> {
                     var defaultAttributeContextInfo = new ElementMapBuilder.ElementWithContext(
                             attribute, new ElementMapBuilder.ElementContext(Collections.emptyMap()));
-                    var result = DataTypeUtils.resolveType(
+                    var result = resolution.resolveType(
                             attribute.getType(),
                             attributeMap.getOrDefault(attribute.getId(), defaultAttributeContextInfo)
                                     .context().definitionMap()
@@ -857,48 +933,12 @@ public class AtlasMapInterpreter implements MappingInterpreter {
     }
 
     private void setCommonExpression(String expression, Mapping mapping) {
-        ToAtlasMapExpressionConverter expressionConverter = new ToAtlasMapExpressionConverter();
         List<Field> inputFields = isNull(mapping.getInputFieldGroup())
                 ? mapping.getInputField()
                 : mapping.getInputFieldGroup().getField();
-        String convertedExpression = expressionConverter.convert(expression, fieldReference -> inputFields.stream()
-                .filter(field -> {  // match field kind
-                    FieldKind kind = fieldReference.kind();
-                    return (FieldKind.CONSTANT.equals(kind)
-                                && ((field instanceof ConstantField) || field instanceof GeneratedField))
-                            || (FieldKind.PROPERTY.equals(kind)
-                                && (field instanceof PropertyField)
-                                && !((PropertyField) field).getScope().equals(CURRENT_SCOPE))
-                            || (FieldKind.PROPERTY.equals(kind)
-                                && !(field instanceof ConstantField)
-                                && !(field instanceof PropertyField)
-                                && (fieldReference.path().size() > 1)
-                                && (field.getDocId().equals(fieldReference.path().get(0))))
-                            || (FieldKind.HEADER.equals(kind)
-                                && (field instanceof PropertyField)
-                                && ((PropertyField) field).getScope().equals(CURRENT_SCOPE))
-                            || (FieldKind.BODY.equals(kind)
-                                && !(field instanceof ConstantField)
-                                && !(field instanceof PropertyField));
-                })
-                .filter(field -> { // match field path
-                    String path = field.getPath();
-                    if (path.startsWith("/")) {
-                        path = path.substring(1);
-                    }
-                    if (field instanceof PropertyField) {
-                        path = path.replaceAll("^(current|camelExchangeProperty)/", "");
-                    }
-                    List<String> referencePath = (FieldKind.PROPERTY.equals(fieldReference.kind()) && fieldReference.path().size() > 1)
-                            ? fieldReference.path().subList(1, fieldReference.path().size())
-                            : fieldReference.path();
-                    return Arrays.stream(path.split("/"))
-                            .map(name -> name.replaceAll("<>", ""))
-                            .toList()
-                            .equals(referencePath);
-                })
+        FieldReferenceIndex fieldIndex = new FieldReferenceIndex(inputFields, CURRENT_SCOPE);
+        String convertedExpression = expressionConverter.convert(expression, fieldReference -> fieldIndex.find(fieldReference)
                 .map(field -> String.format("%s:%s", field.getDocId(), field.getPath()))
-                .findFirst()
                 .orElseThrow(() -> new SnapshotCreationException(
                         MAPPING_CREATION_ERROR_MESSAGE.concat(UNABLE_TO_INTERPRETER_EXPRESSION).concat(expression)
                                 .concat(" ").concat(FAILED_TO_RESOLVE_FIELD_REFERENCE).concat(fieldReference.toString()))));
@@ -16,7 +16,7 @@
 
 package org.qubership.integration.platform.runtime.catalog.mapper.atlasmap;
 
-import org.qubership.integration.platform.runtime.catalog.mapper.DataTypeUtils;
+import org.qubership.integration.platform.runtime.catalog.mapper.TypeResolutionContext;
 import org.qubership.integration.platform.runtime.catalog.model.mapper.datatypes.ArrayType;
 import org.qubership.integration.platform.runtime.catalog.model.mapper.datatypes.DataType;
 import org.qubership.integration.platform.runtime.catalog.model.mapper.datatypes.TypeDefinition;
@@ -31,13 +31,17 @@ public class DataTypeToFieldTypeConverter {
     }
 
     public FieldType convert(DataType type, Map<String, TypeDefinition> definitionMap) {
-        var result = DataTypeUtils.resolveType(type, definitionMap);
+        return convert(type, definitionMap, new TypeResolutionContext());
+    }
+
+    public FieldType convert(DataType type, Map<String, TypeDefinition> definitionMap, TypeResolutionContext resolution) {
+        var result = resolution.resolveType(type, definitionMap);
         return switch (result.type().getKind()) {
             case INTEGER -> FieldType.NUMBER;
             case BOOLEAN -> FieldType.BOOLEAN;
             case STRING -> FieldType.STRING;
             case OBJECT -> FieldType.COMPLEX;
-            case ARRAY -> convert(((ArrayType) result.type()).getItemType(), result.definitionMap());
+            case ARRAY -> convert(((ArrayType) result.type()).getItemType(), result.definitionMap(), resolution);
             case NULL, REFERENCE, ALL_OF, ANY_OF, ONE_OF -> FieldType.ANY;
         };
     }
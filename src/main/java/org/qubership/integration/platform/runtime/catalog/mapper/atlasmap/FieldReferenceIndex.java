@@ -0,0 +1,91 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.mapper.atlasmap;
+
+import io.atlasmap.v2.ConstantField;
+import io.atlasmap.v2.Field;
+import io.atlasmap.v2.PropertyField;
+import org.qubership.integration.platform.mapper.GeneratedField;
+import org.qubership.integration.platform.runtime.catalog.mapper.expressions.FieldKind;
+import org.qubership.integration.platform.runtime.catalog.mapper.expressions.FieldReference;
+
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * Index of mapping input fields by normalized path, used to resolve field references of expressions.
+ * Field paths are normalized once, a reference is resolved by a lookup and a field kind check
+ * of the fields with the same path, in the order they are given.
+ */
+final class FieldReferenceIndex {
+    private static final Pattern PATH_SEPARATOR = Pattern.compile("/");
+    private static final Pattern PROPERTY_SCOPE_PREFIX = Pattern.compile("^(current|camelExchangeProperty)/");
+    private static final String COLLECTION_MARKER = "<>";
+
+    private final String currentScope;
+    private final Map<List<String>, List<Field>> fieldsByPath;
+
+    FieldReferenceIndex(Collection<Field> fields, String currentScope) {
+        this.currentScope = currentScope;
+        this.fieldsByPath = new HashMap<>();
+        for (Field field : fields) {
+            fieldsByPath.computeIfAbsent(normalizePath(field), path -> new ArrayList<>(1)).add(field);
+        }
+    }
+
+    Optional<Field> find(FieldReference reference) {
+        List<String> referencePath = (FieldKind.PROPERTY.equals(reference.kind()) && reference.path().size() > 1)
+                ? reference.path().subList(1, reference.path().size())
+                : reference.path();
+        return fieldsByPath.getOrDefault(referencePath, Collections.emptyList()).stream()
+                .filter(field -> matchesKind(field, reference))
+                .findFirst();
+    }
+
+    private static List<String> normalizePath(Field field) {
+        String path = field.getPath();
+        if (path.startsWith("/")) {
+            path = path.substring(1);
+        }
+        if (field instanceof PropertyField) {
+            path = PROPERTY_SCOPE_PREFIX.matcher(path).replaceFirst("");
+        }
+        return Arrays.stream(PATH_SEPARATOR.split(path))
+                .map(name -> name.replace(COLLECTION_MARKER, ""))
+                .toList();
+    }
+
+    private boolean matchesKind(Field field, FieldReference reference) {
+        FieldKind kind = reference.kind();
+        return (FieldKind.CONSTANT.equals(kind)
+                    && ((field instanceof ConstantField) || field instanceof GeneratedField))
+                || (FieldKind.PROPERTY.equals(kind)
+                    && (field instanceof PropertyField)
+                    && !((PropertyField) field).getScope().equals(currentScope))
+                || (FieldKind.PROPERTY.equals(kind)
+                    && !(field instanceof ConstantField)
+                    && !(field instanceof PropertyField)
+                    && (reference.path().size() > 1)
+                    && (field.getDocId().equals(reference.path().get(0))))
+                || (FieldKind.HEADER.equals(kind)
+                    && (field instanceof PropertyField)
+                    && ((PropertyField) field).getScope().equals(currentScope))
+                || (FieldKind.BODY.equals(kind)
+                    && !(field instanceof ConstantField)
+                    && !(field instanceof PropertyField));
+    }
+}
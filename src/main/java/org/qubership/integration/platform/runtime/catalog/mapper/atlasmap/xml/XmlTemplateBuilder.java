@@ -16,21 +16,20 @@
 
 package org.qubership.integration.platform.runtime.catalog.mapper.atlasmap.xml;
 
+import com.ctc.wstx.api.WstxOutputProperties;
+import com.ctc.wstx.stax.WstxOutputFactory;
 import org.qubership.integration.platform.runtime.catalog.model.mapper.datatypes.DataType;
-import org.w3c.dom.Document;
-
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.transform.OutputKeys;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.dom.DOMSource;
-import javax.xml.transform.stream.StreamResult;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
 import java.io.StringWriter;
-import java.io.Writer;
 import java.util.Collections;
 
 public class XmlTemplateBuilder {
+    private static final String XML_DECLARATION = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>";
+    private static final XMLOutputFactory OUTPUT_FACTORY = createOutputFactory();
+
     private DataType type;
 
     public XmlTemplateBuilder setType(DataType type) {
@@ -39,25 +38,31 @@ public class XmlTemplateBuilder {
     }
 
     public String build() throws Exception {
-        DocumentBuilderFactory documentBuilderFactory = DocumentBuilderFactory.newInstance();
-        DocumentBuilder documentBuilder = documentBuilderFactory.newDocumentBuilder();
-        Document document = documentBuilder.newDocument();
-        XmlTemplateCollectorContext ctx = XmlTemplateCollectorContext.builder()
-                .document(document)
-                .definitions(Collections.emptyList())
-                .namespaces(Collections.emptyMap())
-                .build();
-        XmlTemplateCollector xmlTemplateCollector = new XmlTemplateCollector();
-        type.accept(xmlTemplateCollector, ctx).forEach(document::appendChild);
-        return getStringRepresentation(document);
+        StringWriter out = new StringWriter();
+        out.write(XML_DECLARATION);
+        XMLStreamWriter writer = OUTPUT_FACTORY.createXMLStreamWriter(out);
+        try {
+            XmlTemplateCollectorContext ctx = XmlTemplateCollectorContext.builder()
+                    .writer(writer)
+                    .definitions(Collections.emptyMap())
+                    .namespaces(Collections.emptyMap())
+                    .build();
+            XmlTemplateCollector xmlTemplateCollector = new XmlTemplateCollector();
+            if (type.accept(xmlTemplateCollector, ctx)) {
+                throw new XMLStreamException("XML document can't have text content outside of root element");
+            }
+            writer.writeEndDocument();
+            writer.flush();
+        } finally {
+            writer.close();
+        }
+        return out.toString();
     }
 
-    private String getStringRepresentation(Document document) throws Exception {
-        Transformer transformer = TransformerFactory.newInstance().newTransformer();
-        transformer.setOutputProperty(OutputKeys.ENCODING, "UTF-8");
-        transformer.setOutputProperty(OutputKeys.INDENT, "no");
-        Writer out = new StringWriter();
-        transformer.transform(new DOMSource(document), new StreamResult(out));
-        return out.toString();
+    private static XMLOutputFactory createOutputFactory() {
+        XMLOutputFactory factory = new WstxOutputFactory();
+        // Elements without content are written as <element/>, as the DOM serializer did
+        factory.setProperty(WstxOutputProperties.P_AUTOMATIC_EMPTY_ELEMENTS, true);
+        return factory;
     }
 }
@@ -18,120 +18,122 @@ package org.qubership.integration.platform.runtime.catalog.mapper.atlasmap.xml;
 
 import org.codehaus.plexus.util.StringUtils;
 import org.qubership.integration.platform.runtime.catalog.mapper.DataTypeUtils;
+import org.qubership.integration.platform.runtime.catalog.mapper.TypeResolutionContext;
 import org.qubership.integration.platform.runtime.catalog.mapper.metadata.MetadataUtils;
 import org.qubership.integration.platform.runtime.catalog.mapper.metadata.XMLNamespace;
 import org.qubership.integration.platform.runtime.catalog.model.mapper.datatypes.*;
 import org.qubership.integration.platform.runtime.catalog.model.mapper.mapping.definition.Attribute;
-import org.w3c.dom.Attr;
-import org.w3c.dom.Element;
-import org.w3c.dom.Node;
 
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
 import java.util.*;
-import java.util.function.Function;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
-public class XmlTemplateCollector implements DataTypeVisitor<Collection<Node>, XmlTemplateCollectorContext, Exception> {
+/**
+ * Writes XML template of a type to the context stream writer.
+ * Visit result tells whether the type content includes a text value.
+ */
+public class XmlTemplateCollector implements DataTypeVisitor<Boolean, XmlTemplateCollectorContext, Exception> {
+    private static final String XMLNS = "xmlns";
+
+    private final TypeResolutionContext resolution = new TypeResolutionContext();
+
     @Override
-    public Collection<Node> visitAllOfType(AllOfType type, XmlTemplateCollectorContext ctx) throws Exception {
+    public Boolean visitAllOfType(AllOfType type, XmlTemplateCollectorContext ctx) throws Exception {
         return visitCompoundType(type, ctx);
     }
 
     @Override
-    public Collection<Node> visitAnyOfType(AnyOfType type, XmlTemplateCollectorContext ctx) throws Exception {
+    public Boolean visitAnyOfType(AnyOfType type, XmlTemplateCollectorContext ctx) throws Exception {
         return visitCompoundType(type, ctx);
     }
 
     @Override
-    public Collection<Node> visitOneOfType(OneOfType type, XmlTemplateCollectorContext ctx) throws Exception {
+    public Boolean visitOneOfType(OneOfType type, XmlTemplateCollectorContext ctx) throws Exception {
         return visitCompoundType(type, ctx);
     }
 
     @Override
-    public Collection<Node> visitNullType(NullType type, XmlTemplateCollectorContext ctx) throws Exception {
-        return Collections.singletonList(ctx.getDocument().createTextNode(""));
+    public Boolean visitNullType(NullType type, XmlTemplateCollectorContext ctx) throws Exception {
+        return true;
     }
 
     @Override
-    public Collection<Node> visitBooleanType(BooleanType type, XmlTemplateCollectorContext ctx) throws Exception {
-        return Collections.singletonList(ctx.getDocument().createTextNode(""));
+    public Boolean visitBooleanType(BooleanType type, XmlTemplateCollectorContext ctx) throws Exception {
+        return true;
     }
 
     @Override
-    public Collection<Node> visitIntegerType(IntegerType type, XmlTemplateCollectorContext ctx) throws Exception {
-        return Collections.singletonList(ctx.getDocument().createTextNode(""));
+    public Boolean visitIntegerType(IntegerType type, XmlTemplateCollectorContext ctx) throws Exception {
+        return true;
     }
 
     @Override
-    public Collection<Node> visitStringType(StringType type, XmlTemplateCollectorContext ctx) throws Exception {
-        return Collections.singletonList(ctx.getDocument().createTextNode(""));
+    public Boolean visitStringType(StringType type, XmlTemplateCollectorContext ctx) throws Exception {
+        return true;
     }
 
     @Override
-    public Collection<Node> visitArrayType(ArrayType type, XmlTemplateCollectorContext ctx) throws Exception {
-        return type.getItemType().accept(this, addDefinitionsToContext(ctx, type.getDefinitions()));
+    public Boolean visitArrayType(ArrayType type, XmlTemplateCollectorContext ctx) throws Exception {
+        return type.getItemType().accept(this, addDefinitionsToContext(ctx, type));
     }
 
     @Override
-    public Collection<Node> visitObjectType(ObjectType type, XmlTemplateCollectorContext ctx) throws Exception {
-        List<Node> result = new ArrayList<>();
+    public Boolean visitObjectType(ObjectType type, XmlTemplateCollectorContext ctx) throws Exception {
+        XmlTemplateCollectorContext attributeCtx = addDefinitionsToContext(ctx, type);
         for (Attribute attribute : type.getSchema().getAttributes()) {
             if (isXmlTextNode(attribute) || isXmlAttribute(attribute)) {
                 continue;
             }
-            Node node = buildElementNode(attribute, addDefinitionsToContext(ctx, type.getDefinitions()));
-            result.add(node);
+            writeElement(attribute, attributeCtx);
         }
-        return result;
+        return false;
     }
 
     @Override
-    public Collection<Node> visitReferenceType(ReferenceType type, XmlTemplateCollectorContext ctx) throws Exception {
-        Map<String, TypeDefinition> definitionMap = Stream.of(ctx.getDefinitions(), type.getDefinitions())
-                .flatMap(Collection::stream)
-                .collect(Collectors.toMap(TypeDefinition::getId, Function.identity()));
-        DataTypeUtils.ResolveResult resolveResult = DataTypeUtils.resolveType(type, definitionMap);
-        return resolveResult.type().accept(this, ctx.toBuilder().definitions(resolveResult.definitionMap().values()).build());
+    public Boolean visitReferenceType(ReferenceType type, XmlTemplateCollectorContext ctx) throws Exception {
+        DataTypeUtils.ResolveResult resolveResult = resolution.resolveType(type, ctx.getDefinitions());
+        return resolveResult.type().accept(this, ctx.toBuilder().definitions(resolveResult.definitionMap()).build());
     }
 
-    private Collection<Node> visitCompoundType(CompoundType type, XmlTemplateCollectorContext ctx) throws Exception {
-        List<Node> result = new ArrayList<>();
+    private Boolean visitCompoundType(CompoundType type, XmlTemplateCollectorContext ctx) throws Exception {
+        boolean hasText = false;
+        XmlTemplateCollectorContext subTypeCtx = addDefinitionsToContext(ctx, type);
         for (DataType subType : type.getTypes()) {
-            result.addAll(subType.accept(this, addDefinitionsToContext(ctx, type.getDefinitions())));
+            hasText |= subType.accept(this, subTypeCtx);
         }
-        return result;
+        return hasText;
     }
 
-    private Node buildElementNode(Attribute attribute, XmlTemplateCollectorContext ctx) throws Exception {
-        String namespace = getNamespace(attribute);
+    private void writeElement(Attribute attribute, XmlTemplateCollectorContext ctx) throws Exception {
+        String prefix = getNamespace(attribute);
         Collection<XMLNamespace> namespaces = getXmlNamespaces(attribute, ctx);
         XmlTemplateCollectorContext subCtx = addNamespacesToContext(ctx, namespaces);
-        String namespaceUri = subCtx.getNamespaces().getOrDefault(namespace, "");
-        Element element = subCtx.getDocument().createElementNS(namespaceUri, attribute.getName());
-        addNamespacesToElement(element, namespaces);
-        for (Node node : attribute.getType().accept(this, subCtx)) {
-            if (node instanceof Attr) {
-                element.setAttributeNodeNS((Attr) node);
-            } else {
-                element.appendChild(node);
-            }
+        String namespaceUri = subCtx.getNamespaces().getOrDefault(prefix, "");
+        XMLStreamWriter writer = subCtx.getWriter();
+        if (prefix == null) {
+            writer.writeStartElement("", attribute.getName(), namespaceUri);
+        } else if (namespaceUri.isEmpty()) {
+            throw new XMLStreamException("Namespace prefix is not bound: " + attribute.getName());
+        } else {
+            writer.writeStartElement(prefix, attribute.getName().substring(prefix.length() + 1), namespaceUri);
         }
-        return element;
+        writeNamespaces(writer, namespaces);
+        attribute.getType().accept(this, subCtx);
+        writer.writeEndElement();
     }
 
-    private static XmlTemplateCollectorContext addDefinitionsToContext(
-            XmlTemplateCollectorContext ctx,
-            Collection<TypeDefinition> definitions
-    ) {
-        List<TypeDefinition> newDefinitions = new ArrayList<>(ctx.getDefinitions());
-        newDefinitions.addAll(definitions);
-        return ctx.toBuilder().definitions(newDefinitions).build();
+    private XmlTemplateCollectorContext addDefinitionsToContext(XmlTemplateCollectorContext ctx, DataType type) {
+        Map<String, TypeDefinition> definitions = resolution.updateDefinitionMapFromType(ctx.getDefinitions(), type);
+        return definitions == ctx.getDefinitions() ? ctx : ctx.toBuilder().definitions(definitions).build();
     }
 
     private static XmlTemplateCollectorContext addNamespacesToContext(
             XmlTemplateCollectorContext ctx,
             Collection<XMLNamespace> namespaces
     ) {
+        if (namespaces.isEmpty()) {
+            return ctx;
+        }
         Map<String, String> namespacesMap = new HashMap<>(ctx.getNamespaces());
         namespaces.forEach(namespace -> namespacesMap.put(namespace.alias(), namespace.uri()));
         return ctx.toBuilder().namespaces(namespacesMap).build();
@@ -154,22 +156,32 @@ public class XmlTemplateCollector implements DataTypeVisitor<Collection<Node>, X
         return index < 0 ? null : s.substring(0, index);
     }
 
-    private static Collection<XMLNamespace> getXmlNamespaces(Attribute attribute, XmlTemplateCollectorContext ctx) {
+    private Collection<XMLNamespace> getXmlNamespaces(Attribute attribute, XmlTemplateCollectorContext ctx) {
         DataType type = attribute.getType();
-        Map<String, TypeDefinition> definitionMap = ctx.getDefinitions().stream()
-                .collect(Collectors.toMap(TypeDefinition::getId, Function.identity()));
-        definitionMap = DataTypeUtils.updateDefinitionMapFromType(definitionMap, type);
-        DataTypeUtils.ResolveResult resolveResult = DataTypeUtils.resolveType(type, definitionMap);
+        Map<String, TypeDefinition> definitionMap = resolution.updateDefinitionMapFromType(ctx.getDefinitions(), type);
+        DataTypeUtils.ResolveResult resolveResult = resolution.resolveType(type, definitionMap);
         return MetadataUtils.getXmlNamespaces(resolveResult.type().getMetadata());
     }
 
-    private static void addNamespacesToElement(Element node, Collection<XMLNamespace> namespaces) {
+    /**
+     * Writes namespace declarations ordered by attribute name, a later declaration of the same alias wins.
+     */
+    private static void writeNamespaces(XMLStreamWriter writer, Collection<XMLNamespace> namespaces)
+            throws XMLStreamException {
+        if (namespaces.isEmpty()) {
+            return;
+        }
+        SortedMap<String, String> declarations = new TreeMap<>();
         for (XMLNamespace namespace : namespaces) {
-            String attributeName = "xmlns";
-            if (!StringUtils.isBlank(namespace.alias())) {
-                attributeName += ":" + namespace.alias();
+            String uri = StringUtils.defaultString(namespace.uri());
+            declarations.put(StringUtils.isBlank(namespace.alias()) ? XMLNS : XMLNS + ":" + namespace.alias(), uri);
+        }
+        for (Map.Entry<String, String> declaration : declarations.entrySet()) {
+            if (declaration.getKey().equals(XMLNS)) {
+                writer.writeDefaultNamespace(declaration.getValue());
+            } else {
+                writer.writeNamespace(declaration.getKey().substring(XMLNS.length() + 1), declaration.getValue());
             }
-            node.setAttributeNS("http://www.w3.org/2000/xmlns/", attributeName, namespace.uri());
         }
     }
 }
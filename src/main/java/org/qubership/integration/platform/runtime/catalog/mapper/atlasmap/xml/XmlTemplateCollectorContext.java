@@ -19,15 +19,14 @@ package org.qubership.integration.platform.runtime.catalog.mapper.atlasmap.xml;
 import org.qubership.integration.platform.runtime.catalog.model.mapper.datatypes.TypeDefinition;
 import lombok.Builder;
 import lombok.Data;
-import org.w3c.dom.Document;
 
-import java.util.Collection;
+import javax.xml.stream.XMLStreamWriter;
 import java.util.Map;
 
 @Data
 @Builder(toBuilder = true)
 public class XmlTemplateCollectorContext {
-    private Document document;
-    private Collection<TypeDefinition> definitions;
+    private XMLStreamWriter writer;
+    private Map<String, TypeDefinition> definitions;
     private Map<String, String> namespaces;
 }
@@ -16,29 +16,55 @@
 
 package org.qubership.integration.platform.runtime.catalog.mapper.expressions;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import org.antlr.v4.runtime.*;
+import org.antlr.v4.runtime.atn.PredictionMode;
+import org.antlr.v4.runtime.misc.ParseCancellationException;
 import org.antlr.v4.runtime.tree.ParseTree;
 import org.qubership.integration.platform.runtime.catalog.mapper.expressions.parser.ExpressionLexer;
 import org.qubership.integration.platform.runtime.catalog.mapper.expressions.parser.ExpressionParser;
 
 import java.util.function.Function;
 
+/**
+ * Converts mapper expressions to AtlasMap expressions.
+ * <p>
+ * Lexer and parser are reused per thread. Parsing is done with fast SLL prediction first and falls back
+ * to full LL prediction only if SLL fails, so syntax errors are reported exactly as by LL parsing.
+ * Parse trees are cached by expression text, field references are resolved on each conversion.
+ */
 public class ToAtlasMapExpressionConverter {
+    private static final long DEFAULT_CACHE_MAX_ENTRIES = 1000;
+    private static final ANTLRErrorListener ERROR_LISTENER = buildErrorListener();
+
+    private final ThreadLocal<ExpressionParsing> parsing = ThreadLocal.withInitial(ExpressionParsing::new);
+    private final Cache<String, ParseTree> parseTrees;
+
+    public ToAtlasMapExpressionConverter() {
+        this(DEFAULT_CACHE_MAX_ENTRIES);
+    }
+
+    public ToAtlasMapExpressionConverter(long cacheMaxEntries) {
+        this.parseTrees = CacheBuilder.newBuilder()
+                .maximumSize(cacheMaxEntries)
+                .build();
+    }
+
     public String convert(
             String expressionText,
             Function<FieldReference, String> fieldIdResolver
     ) {
-        ANTLRErrorListener errorListener = buildErrorListener();
-        ExpressionLexer lexer = new ExpressionLexer(CharStreams.fromString(expressionText));
-        lexer.addErrorListener(errorListener);
-        ExpressionParser parser = new ExpressionParser(new CommonTokenStream(lexer));
-        parser.addErrorListener(errorListener);
+        ParseTree tree = parseTrees.getIfPresent(expressionText);
+        if (tree == null) {
+            tree = parsing.get().parse(expressionText);
+            parseTrees.put(expressionText, tree);
+        }
         ExpressionVisitor visitor = new ExpressionVisitor(fieldIdResolver);
-        ParseTree tree = parser.expression();
         return visitor.visit(tree);
     }
 
-    private ANTLRErrorListener buildErrorListener() {
+    private static ANTLRErrorListener buildErrorListener() {
         return new BaseErrorListener() {
             @Override
             public void syntaxError(
@@ -55,4 +81,37 @@ public class ToAtlasMapExpressionConverter {
             }
         };
     }
+
+    private static class ExpressionParsing {
+        private final ExpressionLexer lexer;
+        private final ExpressionParser parser;
+
+        ExpressionParsing() {
+            lexer = new ExpressionLexer(null);
+            lexer.removeErrorListeners();
+            lexer.addErrorListener(ERROR_LISTENER);
+            parser = new ExpressionParser(null);
+        }
+
+        ParseTree parse(String expressionText) {
+            lexer.setInputStream(CharStreams.fromString(expressionText));
+            CommonTokenStream tokens = new CommonTokenStream(lexer);
+            try {
+                parser.setTokenStream(tokens);
+                parser.getInterpreter().setPredictionMode(PredictionMode.SLL);
+                parser.setErrorHandler(new BailErrorStrategy());
+                parser.removeErrorListeners();
+                return parser.expression();
+            } catch (ParseCancellationException e) {
+                tokens.seek(0);
+                parser.setTokenStream(tokens);
+                parser.getInterpreter().setPredictionMode(PredictionMode.LL);
+                parser.setErrorHandler(new DefaultErrorStrategy());
+                parser.addErrorListener(ERROR_LISTENER);
+                return parser.expression();
+            } finally {
+                parser.setTokenStream(null);
+            }
+        }
+    }
 }
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.qubership.integration.platform.runtime.catalog.model.deployment.update;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+
+import java.io.*;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Deployments update serialized to gzip-compressed JSON, with an entity tag derived from the JSON content.
+ */
+@Getter
+public class SerializedDeploymentsUpdate {
+    private static final String ANY_ETAG = "*";
+    private static final String WEAK_ETAG_PREFIX = "W/";
+
+    private final String etag;
+    private final byte[] content;
+
+    public SerializedDeploymentsUpdate(String etag, byte[] content) {
+        this.etag = etag;
+        this.content = content;
+    }
+
+    public static SerializedDeploymentsUpdate of(DeploymentsUpdate update, ObjectMapper objectMapper) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        MessageDigest digest = createDigest();
+        try (OutputStream output = new DigestOutputStream(new GZIPOutputStream(buffer), digest)) {
+            objectMapper.writeValue(output, update);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to serialize deployments update", e);
+        }
+        return new SerializedDeploymentsUpdate(
+                "\"" + HexFormat.of().formatHex(digest.digest()) + "\"",
+                buffer.toByteArray());
+    }
+
+    /**
+     * Opens a stream of uncompressed JSON.
+     */
+    public InputStream openStream() {
+        try {
+            return new GZIPInputStream(new ByteArrayInputStream(content));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decompress deployments update", e);
+        }
+    }
+
+    /**
+     * Checks the value of If-None-Match header, weak entity tags are compared by value.
+     */
+    public boolean matches(String ifNoneMatch) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        return Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .map(tag -> tag.startsWith(WEAK_ETAG_PREFIX) ? tag.substring(WEAK_ETAG_PREFIX.length()) : tag)
+                .anyMatch(tag -> ANY_ETAG.equals(tag) || etag.equals(tag));
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
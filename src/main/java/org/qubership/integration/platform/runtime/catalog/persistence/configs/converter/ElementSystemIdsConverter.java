@@ -0,0 +1,53 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.persistence.configs.converter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.Map;
+
+@Converter
+public class ElementSystemIdsConverter implements AttributeConverter<Map<String, String>, String> {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Override
+    public String convertToDatabaseColumn(Map<String, String> systemIds) {
+        try {
+            return objectMapper.writeValueAsString(systemIds == null ? Map.of() : systemIds);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Element system ids cannot be converted to DB column value", e);
+        }
+    }
+
+    @Override
+    public Map<String, String> convertToEntityAttribute(String systemIdsColumnValue) {
+        if (systemIdsColumnValue == null) {
+            return Map.of();
+        }
+        try {
+            return objectMapper.readValue(systemIdsColumnValue, new TypeReference<Map<String, String>>() {});
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Element system ids value cannot be converted into object", e);
+        }
+    }
+}
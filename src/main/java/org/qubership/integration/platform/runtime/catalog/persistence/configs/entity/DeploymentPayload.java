@@ -0,0 +1,55 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.qubership.integration.platform.runtime.catalog.persistence.configs.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.qubership.integration.platform.runtime.catalog.model.deployment.update.DeploymentConfiguration;
+import org.qubership.integration.platform.runtime.catalog.persistence.configs.converter.DeploymentConfigurationConverter;
+import org.qubership.integration.platform.runtime.catalog.persistence.configs.converter.ElementSystemIdsConverter;
+
+import java.util.Map;
+
+/**
+ * Engine payload of a deployment computed when the deployment is created.
+ * Names of external systems and environments are not stored, they are resolved on each engine update.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity(name = "deployment_payloads")
+public class DeploymentPayload {
+
+    @Id
+    @Column(name = "deployment_id")
+    private String deploymentId;
+    @Convert(converter = DeploymentConfigurationConverter.class)
+    private DeploymentConfiguration configuration;
+    @Column(name = "contains_checkpoint_elements")
+    private boolean containsCheckpointElements;
+    @Column(name = "contains_scheduler_elements")
+    private boolean containsSchedulerElements;
+    /**
+     * Element id to external system id for service calls of the deployment
+     */
+    @Column(name = "element_system_ids")
+    @Convert(converter = ElementSystemIdsConverter.class)
+    private Map<String, String> elementSystemIds;
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.qubership.integration.platform.runtime.catalog.persistence.configs.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Chain trigger called by a chain call element of a snapshot, stored when the snapshot is built.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity(name = "snapshot_chain_calls")
+public class SnapshotChainCall {
+
+    @Id
+    @Column(name = "element_id")
+    private String elementId;
+    @Column(name = "snapshot_id")
+    private String snapshotId;
+    @Column(name = "chain_trigger_id")
+    private String chainTriggerId;
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.qubership.integration.platform.runtime.catalog.persistence.configs.repository;
+
+import org.qubership.integration.platform.runtime.catalog.persistence.configs.entity.DeploymentPayload;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface DeploymentPayloadRepository extends JpaRepository<DeploymentPayload, String> {
+
+    /**
+     * Stores payload of the deployment unless it is already stored, e.g. by another instance,
+     * or the deployment is removed
+     *
+     * @param configuration deployment configuration JSON
+     * @param elementSystemIds element id to external system id JSON
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO catalog.deployment_payloads
+                (deployment_id, configuration, contains_checkpoint_elements, contains_scheduler_elements,
+                 element_system_ids)
+            SELECT d.id, :configuration, :containsCheckpointElements, :containsSchedulerElements, :elementSystemIds
+            FROM catalog.deployments d
+            WHERE d.id = :deploymentId
+            ON CONFLICT (deployment_id) DO NOTHING""",
+            nativeQuery = true)
+    void insertIfAbsent(String deploymentId, String configuration,
+                        boolean containsCheckpointElements, boolean containsSchedulerElements,
+                        String elementSystemIds);
+
+    /**
+     * Ids of deployments without a stored payload, ordered by id
+     *
+     * @param afterId only ids greater than that are returned
+     */
+    @Query(value = """
+            SELECT d.id
+            FROM catalog.deployments d
+            WHERE d.id > :afterId
+              AND NOT EXISTS (SELECT 1 FROM catalog.deployment_payloads p WHERE p.deployment_id = d.id)
+            ORDER BY d.id
+            LIMIT :chunk""",
+            nativeQuery = true)
+    List<String> findDeploymentIdsWithoutPayload(String afterId, int chunk);
+}
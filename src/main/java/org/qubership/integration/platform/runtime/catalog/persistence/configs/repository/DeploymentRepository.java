@@ -25,6 +25,7 @@ import org.springframework.stereotype.Repository;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 @Repository
@@ -40,6 +41,36 @@ public interface DeploymentRepository extends JpaRepository<Deployment, String>
 
     long countByDomain(String domain);
 
+    /**
+     * Digest of deployment ids by domain, changes whenever a deployment of the domain is created or deleted
+     */
+    @Query(value = """
+            SELECT d.domain AS domain, md5(string_agg(d.id, ',' ORDER BY d.id)) AS state
+            FROM catalog.deployments d
+            GROUP BY d.domain""",
+            nativeQuery = true)
+    List<Map<String, String>> findDomainStates();
+
+    /**
+     * Count and the latest creation time of deployments, changes whenever a deployment is created or deleted
+     */
+    @Query(value = """
+            SELECT count(d.id) || ':' || coalesce(cast(max(d.created_when) AS TEXT), '') AS state
+            FROM catalog.deployments d""",
+            nativeQuery = true)
+    String findDeploymentsState();
+
+    /**
+     * Snapshots, chains and domains of all deployments
+     *
+     * @return rows with id, snapshot_id, chain_id and domain
+     */
+    @Query(value = """
+            SELECT d.id AS id, d.snapshot_id AS snapshot_id, d.chain_id AS chain_id, d.domain AS domain
+            FROM catalog.deployments d""",
+            nativeQuery = true)
+    List<Map<String, String>> findDeploymentReferences();
+
     /**
      * Find deployments that need to be deployed. Deployments from the 'excludeIds' list
      * and earlier (by created_when, within the chain) are excluded
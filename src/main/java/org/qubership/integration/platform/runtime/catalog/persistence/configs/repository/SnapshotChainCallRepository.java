@@ -0,0 +1,89 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.qubership.integration.platform.runtime.catalog.persistence.configs.repository;
+
+import org.qubership.integration.platform.runtime.catalog.persistence.configs.entity.SnapshotChainCall;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+public interface SnapshotChainCallRepository extends JpaRepository<SnapshotChainCall, String> {
+
+    List<SnapshotChainCall> findAllBySnapshotIdIn(Collection<String> snapshotIds);
+
+    /**
+     * Stores chain calls of the snapshot, called once the snapshot elements are flushed
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO catalog.snapshot_chain_calls (element_id, snapshot_id, chain_trigger_id)
+            SELECT e.id, e.snapshot_id, JSONB_EXTRACT_PATH_TEXT(e.properties, 'elementId')
+            FROM catalog.elements e
+            WHERE e.snapshot_id = :snapshotId
+              AND e.type = 'chain-call-2'""",
+            nativeQuery = true)
+    void insertSnapshotChainCalls(String snapshotId);
+
+    /**
+     * Chain triggers called by chain call elements of chains working copies
+     *
+     * @return rows with chain_id and chain_trigger_id
+     */
+    @Query(value = """
+            SELECT e.chain_id AS chain_id, JSONB_EXTRACT_PATH_TEXT(e.properties, 'elementId') AS chain_trigger_id
+            FROM catalog.elements e
+            WHERE e.chain_id IN :chainIds
+              AND e.type = 'chain-call-2'""",
+            nativeQuery = true)
+    List<Map<String, String>> findChainCallsByChainIds(Collection<String> chainIds);
+
+    /**
+     * Deployed versions of chain triggers, one per trigger, the most recently deployed one
+     *
+     * @return rows with original_id, snapshot_id and chain_id
+     */
+    @Query(value = """
+            SELECT DISTINCT ON (e.original_id) e.original_id AS original_id,
+                                               e.snapshot_id AS snapshot_id,
+                                               s.chain_id    AS chain_id
+            FROM catalog.element_nodes e
+                     JOIN catalog.snapshots s ON s.id = e.snapshot_id
+                     JOIN catalog.deployments d ON d.snapshot_id = e.snapshot_id
+            WHERE e.original_id IN :originalIds
+            ORDER BY e.original_id, d.created_when DESC, s.created_when DESC""",
+            nativeQuery = true)
+    List<Map<String, String>> findDeployedChainTriggers(Collection<String> originalIds);
+
+    /**
+     * Chains of chain triggers
+     *
+     * @return rows with id and chain_id
+     */
+    @Query(value = """
+            SELECT e.id AS id, e.chain_id AS chain_id
+            FROM catalog.element_nodes e
+            WHERE e.id IN :ids""",
+            nativeQuery = true)
+    List<Map<String, String>> findChainTriggerChains(Collection<String> ids);
+}
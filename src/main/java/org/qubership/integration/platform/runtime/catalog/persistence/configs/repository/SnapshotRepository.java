@@ -19,7 +19,11 @@ package org.qubership.integration.platform.runtime.catalog.persistence.configs.r
 import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.Chain;
 import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.Snapshot;
 import org.qubership.integration.platform.catalog.persistence.configs.repository.chain.SnapshotBaseRepository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Repository;
 
@@ -42,8 +46,30 @@ public interface SnapshotRepository extends SnapshotBaseRepository {
                         "LIMIT :chunk) RETURNING id, name, chain_id as chain")
     List<Map<String, String>> pruneByCreatedWhen(@NonNull Timestamp createdWhen, int chunk);
 
+    @Modifying
+    @Query(nativeQuery = true,
+            value = "DELETE FROM {h-schema}element_contents WHERE hash IN " +
+                        "(SELECT c.hash " +
+                        "FROM {h-schema}element_contents c " +
+                        "WHERE NOT EXISTS (SELECT 1 FROM {h-schema}element_nodes n WHERE n.content_hash = c.hash) " +
+                        "FOR UPDATE SKIP LOCKED)")
+    int deleteUnusedElementContents();
+
     List<Snapshot> findAllByChainId(String chainId);
 
+    /**
+     * Same as {@link #findAllByChainId(String)}, but XML configuration is not loaded.
+     * Returned snapshots are read-only, XML configuration of them is always null.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(nativeQuery = true,
+            value = "SELECT s.id, s.created_when, s.name, NULL AS xml_configuration, s.chain_id, s.description, " +
+                        "s.modified_when, s.default_swimlane_id, s.reuse_swimlane_id, " +
+                        "s.created_by_id, s.created_by_name, s.modified_by_id, s.modified_by_name " +
+                        "FROM {h-schema}snapshots s " +
+                        "WHERE s.chain_id = :chainId")
+    List<Snapshot> findAllByChainIdWithoutXml(String chainId);
+
     Optional<Snapshot> findFirstByChainOrderByIdDesc(Chain chain);
 
     void deleteAllByChainId(String chainId);
@@ -17,6 +17,7 @@
 package org.qubership.integration.platform.runtime.catalog.rest.v1.controller;
 
 import org.qubership.integration.platform.runtime.catalog.model.deployment.update.DeploymentsUpdate;
+import org.qubership.integration.platform.runtime.catalog.model.deployment.update.SerializedDeploymentsUpdate;
 import org.qubership.integration.platform.runtime.catalog.model.kubernetes.operator.KubeDeployment;
 import org.qubership.integration.platform.runtime.catalog.rest.v1.dto.deployment.EngineDeploymentResponse;
 import org.qubership.integration.platform.runtime.catalog.rest.v1.dto.engine.DomainResponse;
@@ -31,11 +32,16 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections4.CollectionUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
@@ -45,6 +51,8 @@ import java.util.Map;
 @CrossOrigin(origins = "*")
 @Tag(name = "engine-controller", description = "Engine Controller")
 public class EngineController {
+    private static final String GZIP_ENCODING = "gzip";
+
     private final EngineMapper engineMapper;
     private final EngineService engineService;
     private final DeploymentMapper deploymentMapper;
@@ -108,16 +116,23 @@ public class EngineController {
 
 
     /**
-     * Internal endpoint, used for communication with qip-engine
+     * Internal endpoint, used for communication with qip-engine.
+     * Full update (no deployments to exclude) is returned from the stored serialized form:
+     * with an ETag, as 304 Not Modified for a matching If-None-Match, and gzip-encoded when the engine accepts it.
      */
     @PostMapping(path = "/{domainName}/deployments/update", produces = MediaType.APPLICATION_JSON_VALUE)
     @Operation(description = "Get deployments update for particular engine, for internal use")
-    ResponseEntity<DeploymentsUpdate> getDeploymentsUpdate(@PathVariable @Parameter(description = "Engine domain name") String domainName,
-                                                           @RequestBody @Parameter(description = "Engine deployments update request object") EngineDeploymentsDTO engineDeployments) {
+    ResponseEntity<Object> getDeploymentsUpdate(@PathVariable @Parameter(description = "Engine domain name") String domainName,
+                                                @RequestBody @Parameter(description = "Engine deployments update request object") EngineDeploymentsDTO engineDeployments,
+                                                @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                                @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         if (log.isDebugEnabled()) {
             log.debug("Request to get deployments for engine with domain {}", domainName);
         }
         try {
+            if (CollectionUtils.isEmpty(engineDeployments.getExcludeDeployments())) {
+                return getFullDeploymentsUpdate(domainName, ifNoneMatch, acceptEncoding);
+            }
             DeploymentsUpdate deploymentsUpdate =
                     deploymentService.getDeploymentsForDomain(domainName, engineDeployments);
             return ResponseEntity.ok(deploymentsUpdate);
@@ -126,4 +141,28 @@ public class EngineController {
             throw e;
         }
     }
+
+    private ResponseEntity<Object> getFullDeploymentsUpdate(String domainName, String ifNoneMatch, String acceptEncoding) {
+        SerializedDeploymentsUpdate deploymentsUpdate = deploymentService.getSerializedDeploymentsForDomain(domainName);
+        if (deploymentsUpdate.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(deploymentsUpdate.getEtag()).build();
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(deploymentsUpdate.getEtag())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON);
+        if (acceptsGzip(acceptEncoding)) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, GZIP_ENCODING).body(deploymentsUpdate.getContent());
+        }
+        return response.body(new InputStreamResource(deploymentsUpdate.openStream()));
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        return acceptEncoding != null && Arrays.stream(acceptEncoding.split(","))
+                .map(coding -> coding.split(";"))
+                .anyMatch(coding -> GZIP_ENCODING.equalsIgnoreCase(coding[0].trim())
+                        && Arrays.stream(coding).skip(1)
+                                .map(parameter -> parameter.replace(" ", ""))
+                                .noneMatch(parameter -> parameter.matches("q=0(\\.0*)?")));
+    }
 }
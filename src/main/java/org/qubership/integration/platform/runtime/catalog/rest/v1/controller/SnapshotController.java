@@ -57,9 +57,7 @@ public class SnapshotController {
             log.debug("Request to find all snapshots for chain: {}", chainId);
         }
         var entities = snapshotService.findByChainIdLight(chainId);
-        var responseList = snapshotMapper.asResponse(entities);
-        responseList.forEach(snapshotDto -> snapshotDto.setXmlDefinition(null));
-        return ResponseEntity.ok(responseList);
+        return ResponseEntity.ok(snapshotMapper.asLightResponse(entities));
     }
 
     @GetMapping("/{snapshotId}")
@@ -73,10 +71,7 @@ public class SnapshotController {
             log.debug("Request to find snapshot {} in chain {}: ", snapshotId, chainId);
         }
         var entity = snapshotService.findById(snapshotId);
-        var response = snapshotMapper.asResponse(entity);
-        if (light) {
-            response.setXmlDefinition(null);
-        }
+        var response = light ? snapshotMapper.asLightResponse(entity) : snapshotMapper.asResponse(entity);
         return ResponseEntity.ok(response);
     }
 
@@ -85,8 +80,7 @@ public class SnapshotController {
     public ResponseEntity<SnapshotResponse> build(@PathVariable @Parameter(description = "Chain id") String chainId) {
         log.info("Request to build snapshot for chain with id: {}", chainId);
         var entity = snapshotService.build(chainId);
-        var response = snapshotMapper.asResponse(entity);
-        response.setXmlDefinition(null);
+        var response = snapshotMapper.asLightResponse(entity);
         return ResponseEntity.ok(response);
     }
 
@@ -108,8 +102,7 @@ public class SnapshotController {
             @PathVariable @Parameter(description = "Snapshot id") String snapshotId) {
         log.info("Request to revert chain with id: {}, to snapshot id: {}", chainId, snapshotId);
         var entity = snapshotService.revert(chainId, snapshotId);
-        var response = snapshotMapper.asResponse(entity);
-        response.setXmlDefinition(null);
+        var response = snapshotMapper.asLightResponse(entity);
         return ResponseEntity.ok(response);
     }
 
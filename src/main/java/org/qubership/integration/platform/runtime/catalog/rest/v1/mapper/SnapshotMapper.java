@@ -23,7 +23,11 @@ import org.qubership.integration.platform.catalog.mapping.UserMapper;
 import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.Snapshot;
 import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.SnapshotLabel;
 import org.qubership.integration.platform.catalog.util.MapperUtils;
+import org.qubership.integration.platform.runtime.catalog.util.SnapshotXmlCodec;
+import org.mapstruct.IterableMapping;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.Named;
 
 import java.util.List;
 
@@ -31,14 +35,23 @@ import java.util.List;
         uses = {
             MapperUtils.class,
             UserMapper.class,
-        }
+        },
+        imports = SnapshotXmlCodec.class
 )
 public interface SnapshotMapper {
 
+    @Mapping(target = "xmlDefinition", expression = "java(SnapshotXmlCodec.decode(snapshot.getXmlDefinition()))")
     SnapshotResponse asResponse(Snapshot snapshot);
 
     List<SnapshotResponse> asResponse(List<Snapshot> snapshots);
 
+    @Named("asLightResponse")
+    @Mapping(target = "xmlDefinition", ignore = true)
+    SnapshotResponse asLightResponse(Snapshot snapshot);
+
+    @IterableMapping(qualifiedByName = "asLightResponse")
+    List<SnapshotResponse> asLightResponse(List<Snapshot> snapshots);
+
     Snapshot asRequest(SnapshotRequest snapshot);
 
     SnapshotLabel asLabelRequest(SnapshotLabelDTO snapshotLabel);
@@ -40,6 +40,7 @@ public class TasksScheduler {
     public static final String CHECK_FAILED_MSG = "Failed to check engines state in consul";
     private final ConsulService consulService;
     private final RuntimeDeploymentService runtimeDeploymentService;
+    private final DeploymentService deploymentService;
     private final ActionsLogService actionsLogService;
 
     @Value("${qip.actions-log.cleanup.interval}")
@@ -48,9 +49,11 @@ public class TasksScheduler {
     @Autowired
     public TasksScheduler(ConsulService consulService,
                           RuntimeDeploymentService runtimeDeploymentService,
+                          DeploymentService deploymentService,
                           ActionsLogService actionsLogService) {
         this.consulService = consulService;
         this.runtimeDeploymentService = runtimeDeploymentService;
+        this.deploymentService = deploymentService;
         this.actionsLogService = actionsLogService;
     }
 
@@ -94,7 +97,8 @@ public class TasksScheduler {
             // block thread and wait for update (until the timeout is exceeded)
             Pair<Boolean, Long> response = consulService.waitForDeploymentsUpdate();
             if (response.getLeft()) { // changes detected
-                DeploymentService.clearDeploymentsUpdateCache(response.getRight());
+                deploymentService.refreshDeploymentsUpdateCache();
+                deploymentService.invalidateDeployedTriggerIndex();
             }
         } catch (KVNotFoundException kvnfe) {
             log.debug("Deployments update KV is empty. {}", kvnfe.getMessage());
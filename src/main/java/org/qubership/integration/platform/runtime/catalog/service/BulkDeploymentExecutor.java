@@ -0,0 +1,98 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.qubership.integration.platform.runtime.catalog.util.ContextPropagatingExecutor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * Runs bulk deployment tasks for several chains in parallel.
+ * <p>
+ * Every task is expected to use its own short transactions and to report its failures in the result,
+ * so chains don't wait for each other and no locks are held across chains.
+ * Results are returned on the calling thread in the order of the requested chain ids.
+ */
+@Slf4j
+@Component
+public class BulkDeploymentExecutor {
+
+    private static final String THREAD_NAME_PREFIX = "bulk-deploy-";
+
+    private final ContextPropagatingExecutor executor;
+
+    @Autowired
+    public BulkDeploymentExecutor(@Value("${qip.deployments.bulk.concurrency:4}") int concurrency) {
+        this.executor = concurrency > 1 ? new ContextPropagatingExecutor(THREAD_NAME_PREFIX, concurrency) : null;
+    }
+
+    /**
+     * Runs the task for every chain and waits for all of them.
+     *
+     * @param chainIds chain ids
+     * @param task     task for a chain id
+     * @return map of chain id to task result, in the order of chain ids
+     */
+    public <T> Map<String, T> runAll(Collection<String> chainIds, Function<String, T> task) {
+        Map<String, T> result = new LinkedHashMap<>();
+        if (executor == null || chainIds.size() < 2) {
+            for (String chainId : chainIds) {
+                result.put(chainId, task.apply(chainId));
+            }
+            return result;
+        }
+
+        Map<String, Future<T>> futures = new LinkedHashMap<>();
+        for (String chainId : chainIds) {
+            futures.put(chainId, executor.submit(() -> task.apply(chainId)));
+        }
+
+        try {
+            for (Map.Entry<String, Future<T>> entry : futures.entrySet()) {
+                result.put(entry.getKey(), entry.getValue().get());
+            }
+        } catch (ExecutionException e) {
+            futures.values().forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof RuntimeException exception) {
+                throw exception;
+            }
+            throw new IllegalStateException("Bulk deployment task failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futures.values().forEach(future -> future.cancel(true));
+            throw new IllegalStateException("Interrupted while waiting for bulk deployment", e);
+        }
+        return result;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+}
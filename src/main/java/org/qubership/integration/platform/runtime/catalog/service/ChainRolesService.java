@@ -139,42 +139,69 @@ public class ChainRolesService {
     }
 
     public ChainRolesResponse redeploy(List<UpdateRolesRequest> request) {
-        request.stream()
+        Set<String> chainIds = request.stream()
                 .filter(UpdateRolesRequest::getUnsavedChanges)
                 .map(UpdateRolesRequest::getChainId)
-                .collect(Collectors.toSet()).forEach(chainId -> {
-                    Chain chain = chainService.findById(chainId);
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Map<String, Exception> buildErrors = new HashMap<>();
+        Map<String, Snapshot> snapshots = snapshotService.buildAll(chainIds, null, buildErrors::put);
+        for (String chainId : chainIds) {
+            Chain chain = chainService.findById(chainId);
+            try {
+                Exception buildError = buildErrors.get(chainId);
+                if (buildError != null) {
+                    throw buildError;
+                }
+                List<Deployment> deployments = chain.getDeployments();
+                List<DeploymentRequest> deploymentRequestLst = new ArrayList<>();
+                Snapshot snapshot = snapshotService.findById(snapshots.get(chainId).getId());
+                if (deployments.isEmpty()) {
+                    DeploymentRequest deploymentRequest = chainRolesMapper.prepareDeploymentRequest(snapshot);
+                    deploymentRequestLst.add(deploymentRequest);
+                } else {
+                    chain.getDeployments().get(0).setSnapshot(snapshot);
+                    deploymentRequestLst = chainRolesMapper.prepareDeploymentRequest(chain.getDeployments());
+                }
+                deploymentService.createAll(deploymentMapper.asEntities(deploymentRequestLst), chain.getId(), snapshot);
+                chain.setUnsavedChanges(false);
+                chain.setCurrentSnapshot(snapshot);
+                chainService.update(chain);
+            } catch (SnapshotCreationException exception) {
+                discardFollowingSnapshots(chainIds, chainId, snapshots);
+                ChainElement exceptionChainElement = chain.getElements()
+                        .stream()
+                        .filter(chainElement -> chainElement.getId().equals(exception.getElementId()))
+                        .findFirst()
+                        .orElse(null);
+                throw new SnapshotCreationException("Unable to create snapshot for chain " + chainId + " :" + exception.getMessage(),
+                        chainId,
+                        exceptionChainElement,
+                        exception
+                );
+            } catch (Exception exception) {
+                discardFollowingSnapshots(chainIds, chainId, snapshots);
+                throw new DeploymentProcessingException("Unable to redeploy chain " + chainId + ":" + exception.getMessage(), exception);
+            }
+        }
+        return chainRolesAndFilters;
+    }
+
+    /**
+     * Removes snapshots built in advance for the chains following the failed one, they are not deployed
+     */
+    private void discardFollowingSnapshots(Collection<String> chainIds, String failedChainId, Map<String, Snapshot> snapshots) {
+        chainIds.stream()
+                .dropWhile(chainId -> !chainId.equals(failedChainId))
+                .skip(1)
+                .map(snapshots::get)
+                .filter(Objects::nonNull)
+                .forEach(snapshot -> {
                     try {
-                        List<Deployment> deployments = chain.getDeployments();
-                        List<DeploymentRequest> deploymentRequestLst = new ArrayList<>();
-                        Snapshot snapshot = snapshotService.build(chain.getId());
-                        if (deployments.isEmpty()) {
-                            DeploymentRequest deploymentRequest = chainRolesMapper.prepareDeploymentRequest(snapshot);
-                            deploymentRequestLst.add(deploymentRequest);
-                        } else {
-                            chain.getDeployments().get(0).setSnapshot(snapshot);
-                            deploymentRequestLst = chainRolesMapper.prepareDeploymentRequest(chain.getDeployments());
-                        }
-                        deploymentService.createAll(deploymentMapper.asEntities(deploymentRequestLst), chain.getId(), snapshot);
-                        chain.setUnsavedChanges(false);
-                        chain.setCurrentSnapshot(snapshot);
-                        chainService.update(chain);
-                    } catch (SnapshotCreationException exception) {
-                        ChainElement exceptionChainElement = chain.getElements()
-                                .stream()
-                                .filter(chainElement -> chainElement.getId().equals(exception.getElementId()))
-                                .findFirst()
-                                .orElse(null);
-                        throw new SnapshotCreationException("Unable to create snapshot for chain " + chainId + " :" + exception.getMessage(),
-                                chainId,
-                                exceptionChainElement,
-                                exception
-                        );
-                    } catch (Exception exception) {
-                        throw new DeploymentProcessingException("Unable to redeploy chain " + chainId + ":" + exception.getMessage(), exception);
+                        snapshotService.deleteById(snapshot.getId());
+                    } catch (Exception e) {
+                        log.warn("Failed to remove not deployed snapshot {}: {}", snapshot.getId(), e.getMessage());
                     }
                 });
-            return chainRolesAndFilters;
     }
 
 
@@ -16,19 +16,25 @@
 
 package org.qubership.integration.platform.runtime.catalog.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.qubership.integration.platform.runtime.catalog.configuration.aspect.DeploymentModification;
 import org.qubership.integration.platform.runtime.catalog.model.MultiConsumer;
 import org.qubership.integration.platform.runtime.catalog.model.deployment.update.DeploymentUpdate;
 import org.qubership.integration.platform.runtime.catalog.model.deployment.update.DeploymentsUpdate;
+import org.qubership.integration.platform.runtime.catalog.model.deployment.update.SerializedDeploymentsUpdate;
 import org.qubership.integration.platform.runtime.catalog.persistence.configs.repository.DeploymentRepository;
 import org.qubership.integration.platform.runtime.catalog.rest.v1.dto.deployment.bulk.BulkDeploymentRequest;
 import org.qubership.integration.platform.runtime.catalog.rest.v1.dto.deployment.bulk.BulkDeploymentResponse;
+import org.qubership.integration.platform.runtime.catalog.rest.v1.dto.deployment.bulk.BulkDeploymentSnapshotAction;
 import org.qubership.integration.platform.runtime.catalog.rest.v1.dto.deployment.bulk.BulkDeploymentStatus;
 import org.qubership.integration.platform.runtime.catalog.rest.v1.dto.event.GenericMessageType;
 import org.qubership.integration.platform.runtime.catalog.rest.v1.exception.exceptions.DeploymentProcessingException;
 import org.qubership.integration.platform.catalog.service.ActionsLogService;
 import org.qubership.integration.platform.runtime.catalog.service.deployment.DeploymentBuilderService;
-import org.qubership.integration.platform.runtime.catalog.util.SQLUtils;
+import org.qubership.integration.platform.runtime.catalog.service.deployment.DeploymentsUpdateCache;
+import org.qubership.integration.platform.runtime.catalog.service.deployment.DeployedTriggerIndex;
+import org.qubership.integration.platform.runtime.catalog.service.deployment.DeployedTriggerIndex.IndexedJob;
+import org.qubership.integration.platform.runtime.catalog.service.deployment.DeployedTriggerIndex.IndexedRoute;
 import org.qubership.integration.platform.catalog.model.ElementRoute;
 import org.qubership.integration.platform.catalog.model.constant.CamelNames;
 import org.qubership.integration.platform.catalog.model.constant.CamelOptions;
@@ -37,7 +43,6 @@ import org.qubership.integration.platform.catalog.model.deployment.engine.Engine
 import org.qubership.integration.platform.catalog.model.deployment.update.DeploymentInfo;
 import org.qubership.integration.platform.catalog.model.system.IntegrationSystemType;
 import org.qubership.integration.platform.catalog.persistence.TransactionHandler;
-import org.qubership.integration.platform.catalog.persistence.configs.entity.AbstractEntity;
 import org.qubership.integration.platform.catalog.persistence.configs.entity.actionlog.ActionLog;
 import org.qubership.integration.platform.catalog.persistence.configs.entity.actionlog.EntityType;
 import org.qubership.integration.platform.catalog.persistence.configs.entity.actionlog.LogOperation;
@@ -70,12 +75,12 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.net.MalformedURLException;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicReference;
-import java.util.function.BiConsumer;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import static java.util.Objects.isNull;
 import static org.qubership.integration.platform.catalog.model.constant.CamelNames.*;
@@ -96,7 +101,11 @@ public class DeploymentService {
     private final LibraryElementsService libraryElementsService;
     private final ActionsLogService actionLogger;
     private final DeploymentBuilderService deploymentBuilderService;
+    private final BulkDeploymentExecutor bulkDeploymentExecutor;
     private final TransactionHandler transactionHandler;
+    private final DeploymentsUpdateCache deploymentsUpdateCache;
+    private final DeployedTriggerIndex deployedTriggerIndex;
+    private final ObjectMapper objectMapper;
 
     @Value("${qip.chains.triggers.check.enabled}")
     private boolean triggersCheckEnabled;
@@ -111,9 +120,6 @@ public class DeploymentService {
     private MultiConsumer.Consumer5<String, String, String, GenericMessageType, Map<String, String>> messagesCallback = (a, b, c, d, e) -> {
     };
 
-    private static final Map<String, DeploymentsUpdate> fullDeploymentsUpdateCache = new ConcurrentHashMap<>();
-    private static Long deploymentsUpdateVersion = 0L;
-
     @Getter
     @Setter
     @Builder
@@ -142,7 +148,11 @@ public class DeploymentService {
                              LibraryElementsService libraryElementsService,
                              ActionsLogService actionLogger,
                              DeploymentBuilderService deploymentBuilderService,
-                             TransactionHandler transactionHandler) {
+                             BulkDeploymentExecutor bulkDeploymentExecutor,
+                             TransactionHandler transactionHandler,
+                             DeploymentsUpdateCache deploymentsUpdateCache,
+                             DeployedTriggerIndex deployedTriggerIndex,
+                             ObjectMapper objectMapper) {
         this.deploymentRepository = deploymentRepository;
         this.elementRepository = elementRepository;
         this.chainService = chainService;
@@ -151,7 +161,11 @@ public class DeploymentService {
         this.libraryElementsService = libraryElementsService;
         this.actionLogger = actionLogger;
         this.deploymentBuilderService = deploymentBuilderService;
+        this.bulkDeploymentExecutor = bulkDeploymentExecutor;
         this.transactionHandler = transactionHandler;
+        this.deploymentsUpdateCache = deploymentsUpdateCache;
+        this.deployedTriggerIndex = deployedTriggerIndex;
+        this.objectMapper = objectMapper;
     }
 
     @Transactional
@@ -187,13 +201,18 @@ public class DeploymentService {
      */
     @DeploymentModification
     public List<Deployment> createAll(List<Deployment> deployments, String chainId, Snapshot snapshot) {
+        return createAll(deployments, chainId, snapshot, null);
+    }
+
+    private List<Deployment> createAll(List<Deployment> deployments, String chainId, Snapshot snapshot, Lock insertLock) {
         if (!checkTriggersInBulkDeploy(deployments)) {
             throw new DeploymentProcessingException("Found external or private triggers while deploying to multiple domains");
         }
 
+        Chain chain = chainService.findById(chainId);
         List<Deployment> createdDeployments = new ArrayList<>(deployments.size());
         for (Deployment deployment : deployments) {
-            Deployment createdDeployment = create(deployment, chainId, snapshot);
+            Deployment createdDeployment = create(deployment, chain, snapshot, null, insertLock);
             if (createdDeployment != null) {
                 createdDeployments.add(createdDeployment);
             }
@@ -214,87 +233,123 @@ public class DeploymentService {
 
     @DeploymentModification
     public Deployment create(Deployment deployment, Chain chain, Snapshot snapshot, List<Deployment> excludeDeployments) {
+        return create(deployment, chain, snapshot, excludeDeployments, null);
+    }
+
+    /**
+     * @param insertLock if given, held only while triggers are checked and the deployment is inserted,
+     *                   the payload is created in a separate transaction after the lock is released
+     */
+    private Deployment create(Deployment deployment, Chain chain, Snapshot snapshot,
+                              List<Deployment> excludeDeployments, Lock insertLock) {
         if (log.isDebugEnabled()) {
             log.debug("Request to create deployment for chain {}, snapshot {}", chain.getId(), snapshot.getId());
         }
 
         AtomicReference<Deployment> savedDeployment = new AtomicReference<>();
 
-
-        transactionHandler.runInNewTransaction(() -> {
-            checkTriggers(deployment.getDomain(), snapshot.getId(), chain.getId(), excludeDeployments);
-            prepareDeployment(deployment, snapshot, chain);
-            savedDeployment.set(deploymentRepository.save(deployment));
-            logDeploymentAction(savedDeployment.get(), chain.getId(), chain.getName(), LogOperation.CREATE);
-        });
+        if (insertLock == null) {
+            transactionHandler.runInNewTransaction(() -> {
+                insertDeployment(deployment, chain, snapshot, excludeDeployments, savedDeployment);
+                deploymentBuilderService.createPayload(savedDeployment.get());
+            });
+        } else {
+            insertLock.lock();
+            try {
+                transactionHandler.runInNewTransaction(() ->
+                        insertDeployment(deployment, chain, snapshot, excludeDeployments, savedDeployment));
+            } finally {
+                insertLock.unlock();
+            }
+            // deployment without a payload is still served, the payload is built on read and backfilled
+            transactionHandler.runInNewTransaction(() -> {
+                Deployment createdDeployment = savedDeployment.get();
+                createdDeployment.setSnapshot(snapshotService.findById(snapshot.getId()));
+                createdDeployment.setChain(chainService.findById(chain.getId()));
+                deploymentBuilderService.createPayload(createdDeployment);
+            });
+        }
+        deploymentsUpdateCache.invalidate(List.of(deployment.getDomain()));
+        deployedTriggerIndex.invalidate();
         return savedDeployment.get();
     }
 
-    @Transactional
+    private void insertDeployment(Deployment deployment, Chain chain, Snapshot snapshot,
+                                  List<Deployment> excludeDeployments, AtomicReference<Deployment> savedDeployment) {
+        checkTriggers(deployment.getDomain(), snapshot.getId(), chain.getId(), excludeDeployments);
+        // given entities may be detached, payload creation reads lazy snapshot elements
+        prepareDeployment(deployment, snapshotService.findById(snapshot.getId()), chainService.findById(chain.getId()));
+        savedDeployment.set(deploymentRepository.saveAndFlush(deployment));
+        logDeploymentAction(savedDeployment.get(), chain.getId(), chain.getName(), LogOperation.CREATE);
+    }
+
+    /**
+     * Deploys chains to the domains. Chains are processed in parallel, each one gets a snapshot
+     * and deployments in its own short transactions, so the operation doesn't hold locks across chains.
+     *
+     * @return failure flag and per-chain results in the order of the chains
+     */
     @DeploymentModification
     public Pair<Boolean, List<BulkDeploymentResponse>> bulkCreate(BulkDeploymentRequest request) {
-        final AtomicReference<Boolean> failed = new AtomicReference<>(false);
         List<BulkDeploymentResponse> statuses = new ArrayList<>();
 
-        final Map<String, Chain> chains = (CollectionUtils.isEmpty(request.getChainIds()) ?
-                chainService.findAll() : chainService.findAllById(request.getChainIds())).stream()
-                .filter(chain -> {
-                    if (chain.getOverriddenByChainId() != null) {
-                        statuses.add(BulkDeploymentResponse.builder()
-                                .chainId(chain.getId())
-                                .chainName(chain.getName())
-                                .status(BulkDeploymentStatus.IGNORED)
-                                .build());
-                        return false;
-                    }
-                    return true;
-                })
-                .collect(Collectors.toMap(AbstractEntity::getId, Function.identity()));
+        final Map<String, Chain> chains = new LinkedHashMap<>();
+        for (Chain chain : CollectionUtils.isEmpty(request.getChainIds())
+                ? chainService.findAll() : chainService.findAllById(request.getChainIds())) {
+            if (chain.getOverriddenByChainId() != null) {
+                statuses.add(BulkDeploymentResponse.builder()
+                        .chainId(chain.getId())
+                        .chainName(chain.getName())
+                        .status(BulkDeploymentStatus.IGNORED)
+                        .build());
+            } else {
+                chains.put(chain.getId(), chain);
+            }
+        }
 
         log.info("Bulk deploy for {} chains", chains.size());
 
-        BiConsumer<String, String> errorHandler = (chainId, msg) -> {
-            statuses.add(BulkDeploymentResponse.builder()
-                .chainId(chainId)
-                .chainName(chains.get(chainId).getName())
-                .status(BulkDeploymentStatus.FAILED_SNAPSHOT)
-                .errorMessage(msg)
-                .build());
-            failed.set(true);
-        };
+        Map<String, Snapshot> lastCreatedSnapshots = request.getSnapshotAction() == BulkDeploymentSnapshotAction.LAST_CREATED
+                ? snapshotService.findAllLastCreated(chains.keySet())
+                : Collections.emptyMap();
+        // triggers check must see deployments of previously processed chains
+        Lock deployLock = triggersCheckEnabled ? new ReentrantLock() : null;
 
-        Map<String, Snapshot> snapshots = switch (request.getSnapshotAction()) {
-            case CREATE_NEW -> snapshotService.buildAll(chains.keySet(), errorHandler);
-            case LAST_CREATED -> snapshotService.findLastCreatedOrBuild(chains.keySet(), errorHandler);
-        };
+        statuses.addAll(bulkDeploymentExecutor.runAll(chains.keySet(), chainId -> bulkCreate(
+                chains.get(chainId), request.getDomains(), lastCreatedSnapshots.get(chainId), deployLock)).values());
+
+        boolean failed = statuses.stream().anyMatch(status -> status.getStatus() == BulkDeploymentStatus.FAILED_SNAPSHOT
+                || status.getStatus() == BulkDeploymentStatus.FAILED_DEPLOY);
+        return Pair.of(failed, statuses);
+    }
 
-        for (Map.Entry<String, Snapshot> entry : snapshots.entrySet()) {
-            List<Deployment> deps = request.getDomains().stream().map(domain -> {
-                Deployment dep = new Deployment();
-                dep.setDomain(domain);
-                return dep;
-            }).toList();
+    private BulkDeploymentResponse bulkCreate(Chain chain, List<String> domains, Snapshot snapshot, Lock deployLock) {
+        BulkDeploymentResponse.BulkDeploymentResponseBuilder response = BulkDeploymentResponse.builder()
+                .chainId(chain.getId())
+                .chainName(chain.getName());
 
+        if (snapshot == null) {
             try {
-                createAll(deps, entry.getKey(), entry.getValue());
-                statuses.add(BulkDeploymentResponse.builder()
-                        .chainId(entry.getKey())
-                        .chainName(chains.get(entry.getKey()).getName())
-                        .status(BulkDeploymentStatus.CREATED)
-                        .build());
+                snapshot = snapshotService.build(chain.getId());
             } catch (Exception e) {
-                log.error("Error creating deployment for chain: {}, {}", entry.getKey(), e.getMessage());
-                statuses.add(BulkDeploymentResponse.builder()
-                        .chainId(entry.getKey())
-                        .chainName(chains.get(entry.getKey()).getName())
-                        .status(BulkDeploymentStatus.FAILED_DEPLOY)
-                        .errorMessage(e.getMessage())
-                        .build());
-                failed.set(true);
+                log.warn("Failed to build snapshot for chainId {}: {}", chain.getId(), e.getMessage());
+                return response.status(BulkDeploymentStatus.FAILED_SNAPSHOT).errorMessage(e.getMessage()).build();
             }
         }
 
-        return Pair.of(failed.get(), statuses);
+        List<Deployment> deps = domains.stream().map(domain -> {
+            Deployment dep = new Deployment();
+            dep.setDomain(domain);
+            return dep;
+        }).toList();
+
+        try {
+            createAll(deps, chain.getId(), snapshot, deployLock);
+            return response.status(BulkDeploymentStatus.CREATED).build();
+        } catch (Exception e) {
+            log.error("Error creating deployment for chain: {}, {}", chain.getId(), e.getMessage());
+            return response.status(BulkDeploymentStatus.FAILED_DEPLOY).errorMessage(e.getMessage()).build();
+        }
     }
 
     private void prepareDeployment(Deployment deployment, Snapshot snapshot, Chain chain) {
@@ -334,23 +389,23 @@ public class DeploymentService {
     }
 
     public boolean checkRouteExists(ElementRoute route, String excludeChainId) {
-        return findElementsThatUseRoute(route, excludeChainId).findAny().isPresent();
+        return !findDeployedRoutes(route, excludeChainId).isEmpty();
     }
 
     public List<Pair<String, Deployment>> findRouteDeployments(ElementRoute route, String excludeChainId) {
-        return findElementsThatUseRoute(route, excludeChainId)
-                .flatMap(element -> {
-                    String path = getHttpTriggerPath(element);
-                    return element.getSnapshot().getDeployments().stream().map(deployment -> Pair.of(path, deployment));
-                })
+        List<IndexedRoute> routes = findDeployedRoutes(route, excludeChainId);
+        Map<String, Deployment> deployments = deploymentRepository
+                .findAllById(routes.stream().map(IndexedRoute::deploymentId).collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Deployment::getId, Function.identity()));
+        return routes.stream()
+                .filter(indexed -> deployments.containsKey(indexed.deploymentId()))
+                .map(indexed -> Pair.of(indexed.path(), deployments.get(indexed.deploymentId())))
                 .collect(Collectors.toList());
     }
 
-    private Stream<ChainElement> findElementsThatUseRoute(ElementRoute route, String excludeChainId) {
-        return elementRepository
-                .findElementsForRouteExistenceCheck(List.of(CamelNames.HTTP_TRIGGER_COMPONENT), excludeChainId)
-                .stream()
-                .filter(element -> getHttpTriggerRoute(element).intersectsWith(route));
+    private List<IndexedRoute> findDeployedRoutes(ElementRoute route, String excludeChainId) {
+        return deployedTriggerIndex.findIntersecting(route, indexed -> !indexed.chainId().equals(excludeChainId));
     }
 
     private void checkTriggers(String domain, String snapshotId, String chainId, List<Deployment> excludeDeployments) {
@@ -358,16 +413,16 @@ public class DeploymentService {
             return;
         }
 
-        List<String> excludeDeploymentIds = excludeDeployments == null ?
-                null : excludeDeployments.stream().map(Deployment::getId).collect(Collectors.toList());
+        Set<String> excludedIds = excludeDeployments == null ?
+                Collections.emptySet() : excludeDeployments.stream().map(Deployment::getId).collect(Collectors.toSet());
 
-        checkHttpTriggers(snapshotId, chainId, excludeDeploymentIds, domain);
+        checkHttpTriggers(snapshotId, chainId, excludedIds, domain);
 
-        checkSdsTriggers(snapshotId, chainId, excludeDeploymentIds, domain);
+        checkSdsTriggers(snapshotId, chainId, excludedIds, domain);
 
     }
 
-    private void checkSdsTriggers(String snapshotId, String chainId, List<String> excludeDeploymentIds, String domain) {
+    private void checkSdsTriggers(String snapshotId, String chainId, Set<String> excludedIds, String domain) {
         List<String> triggersToCheck = List.of(CamelNames.SDS_TRIGGER_COMPONENT);
         List<String> pendingJobIds = mapSdsTriggerJobIds(
                 elementRepository.findAllBySnapshotIdAndTypeIn(
@@ -377,21 +432,22 @@ public class DeploymentService {
             return;
         }
 
-        List<String> domainJobIds = mapSdsTriggerJobIds(
-                elementRepository.findElementsForDomainTriggerCheck(
-                        triggersToCheck,
-                        domain,
-                        chainId,
-                        SQLUtils.prepareCollectionForHqlNotInClause(excludeDeploymentIds)));
+        // deployments may be changed by other instances
+        deployedTriggerIndex.refreshIfChanged();
+        Predicate<IndexedJob> deployedJobs = indexed ->
+                !indexed.chainId().equals(chainId) && !excludedIds.contains(indexed.deploymentId());
 
-        Set<String> domainEqualJobIds = findSameSdsTriggerJobIds(pendingJobIds, domainJobIds);
+        // triggers without a job id conflict with deployed triggers without a job id
+        Set<String> domainEqualJobIds = pendingJobIds.stream()
+                .filter(jobId -> !deployedTriggerIndex.findSameJobId(domain, jobId, deployedJobs).isEmpty())
+                .collect(Collectors.toSet());
         if (!domainEqualJobIds.isEmpty()) {
             throw new EntityExistsException("Found similar Job Ids registered on scheduling-service (SDS) on the same domain: "
                     + domainEqualJobIds);
         }
     }
 
-    private void checkHttpTriggers(String snapshotId, String chainId, List<String> excludeDeploymentIds, String domain) {
+    private void checkHttpTriggers(String snapshotId, String chainId, Set<String> excludedIds, String domain) {
         List<String> triggersToCheck = List.of(CamelNames.HTTP_TRIGGER_COMPONENT);
 
         List<ElementRoute> pendingRoutes = mapHttpTriggerRoutes(
@@ -402,21 +458,14 @@ public class DeploymentService {
             return;
         }
 
-        List<ElementRoute> allRoutes = mapHttpTriggerRoutes(
-                elementRepository.findElementsForTriggerCheck(
-                        triggersToCheck,
-                        chainId,
-                        SQLUtils.prepareCollectionForHqlNotInClause(excludeDeploymentIds)));
-
-        List<ElementRoute> domainRoutes = mapHttpTriggerRoutes(
-                elementRepository.findElementsForDomainTriggerCheck(
-                        triggersToCheck,
-                        domain,
-                        chainId,
-                        SQLUtils.prepareCollectionForHqlNotInClause(excludeDeploymentIds)));
+        // deployments may be changed by other instances
+        deployedTriggerIndex.refreshIfChanged();
+        Predicate<IndexedRoute> deployedRoutes = indexed ->
+                !indexed.chainId().equals(chainId) && !excludedIds.contains(indexed.deploymentId());
 
-        Set<String> gatewayEqualPaths = findSameHttpTriggerPaths(pendingRoutes, allRoutes, true);
-        Set<String> domainEqualPaths = findSameHttpTriggerPaths(pendingRoutes, domainRoutes, false);
+        Set<String> gatewayEqualPaths = findSameHttpTriggerPaths(pendingRoutes, deployedRoutes, true);
+        Set<String> domainEqualPaths = findSameHttpTriggerPaths(pendingRoutes,
+                deployedRoutes.and(indexed -> domain.equals(indexed.domain())), false);
 
         if (!gatewayEqualPaths.isEmpty() || !domainEqualPaths.isEmpty())
             throw new EntityExistsException("Found similar triggers registered on public/private gateway: " +
@@ -443,8 +492,11 @@ public class DeploymentService {
         return listOfObjects.stream().map(TriggerUtils::getSdsTriggerJobId).toList();
     }
 
-    private Set<String> findSameHttpTriggerPaths(List<ElementRoute> pendingRoutes, List<ElementRoute> existingRoutes, boolean checkGatewayOnly) {
+    private Set<String> findSameHttpTriggerPaths(List<ElementRoute> pendingRoutes, Predicate<IndexedRoute> deployedRoutes, boolean checkGatewayOnly) {
         Set<String> equalPaths = new HashSet<>();
+        Predicate<IndexedRoute> existingRoutes = checkGatewayOnly
+                ? deployedRoutes.and(indexed -> indexed.route().isExternal() || indexed.route().isPrivate())
+                : deployedRoutes;
 
         Map<String, Set<HttpMethod>> pendingPathIntersection = new HashMap<>();
         for (ElementRoute route : pendingRoutes) {
@@ -457,16 +509,9 @@ public class DeploymentService {
                 } else {
                     pendingPathIntersection.put(route.getPath(), route.getMethods());
                 }
-            }
-        }
 
-        for (ElementRoute route : existingRoutes) {
-            if (StringUtils.isNotBlank(route.getPath()) && (!checkGatewayOnly || route.isExternal() || route.isPrivate())) {
-                Set<HttpMethod> intersectionMethods = pendingPathIntersection.get(route.getPath());
-                if (intersectionMethods != null) {
-                    if (route.getMethods().stream().anyMatch(intersectionMethods::contains)) {
-                        equalPaths.add(route.getPath());
-                    }
+                if (!deployedTriggerIndex.findSamePath(route, existingRoutes).isEmpty()) {
+                    equalPaths.add(route.getPath());
                 }
             }
         }
@@ -474,14 +519,12 @@ public class DeploymentService {
         return equalPaths;
     }
 
-    private Set<String> findSameSdsTriggerJobIds(List<String> pendingJobIds, List<String> domainJobIds) {
-        return pendingJobIds.stream().filter(domainJobIds::contains).collect(Collectors.toSet());
-    }
-
     @DeploymentModification
     public void deleteAllByChainId(String chainId) throws DeploymentProcessingException {
         List<Deployment> deployments = findAllByChainId(chainId);
         transactionHandler.runInNewTransaction(() -> deploymentRepository.deleteAllByChainId(chainId));
+        deploymentsUpdateCache.invalidate(deployments.stream().map(Deployment::getDomain).collect(Collectors.toSet()));
+        deployedTriggerIndex.invalidate();
         deployments.forEach(deployment -> {logDeploymentAction(deployment,deployment.getId(),deployment.getChain().getName(),LogOperation.DELETE);});
      }
 
@@ -490,17 +533,25 @@ public class DeploymentService {
         Snapshot snapshot = snapshotService.findById(snapshotId);
         snapshot.getDeployments().forEach(deployment -> {logDeploymentAction(deployment,deployment.getId(),deployment.getChain().getName(),LogOperation.DELETE);});
         transactionHandler.runInNewTransaction(() -> deploymentRepository.deleteAllBySnapshotId(snapshotId));
+        deploymentsUpdateCache.invalidate(snapshot.getDeployments().stream()
+                .map(Deployment::getDomain)
+                .collect(Collectors.toSet()));
+        deployedTriggerIndex.invalidate();
     }
 
     @DeploymentModification
     public void deleteById(String deploymentId) throws DeploymentProcessingException {
+        AtomicReference<String> domain = new AtomicReference<>();
         transactionHandler.runInNewTransaction(() -> {
             Deployment deployment = deploymentRepository.findById(deploymentId).orElseThrow(() -> new EntityNotFoundException(DEPLOYMENT_WITH_ID_NOT_FOUND_MESSAGE + deploymentId));
 
             deploymentRepository.deleteById(deploymentId);
+            domain.set(deployment.getDomain());
 
             logDeploymentAction(deployment, deployment.getChain().getId(), deployment.getChain().getName(), LogOperation.DELETE);
         });
+        deploymentsUpdateCache.invalidate(List.of(domain.get()));
+        deployedTriggerIndex.invalidate();
     }
 
     private void logDeploymentAction(Deployment deployment, String parentId, String parentName, LogOperation operation) {
@@ -518,42 +569,55 @@ public class DeploymentService {
 
     @Transactional(propagation = Propagation.NEVER)
     public DeploymentsUpdate getDeploymentsForDomain(String domainName, EngineDeploymentsDTO engineDeployments) {
-        final List<DeploymentUpdate> update = new ArrayList<>();
-        final List<DeploymentUpdate> stop = new ArrayList<>();
-        boolean fullDeploymentsRequest = engineDeployments.getExcludeDeployments().isEmpty();
-        Long currentDeploymentVersion = deploymentsUpdateVersion;
-        if (fullDeploymentsRequest) {
-            DeploymentsUpdate initialUpdate = fullDeploymentsUpdateCache.get(domainName);
-            if (initialUpdate != null) {
-                return initialUpdate;
-            }
+        List<DeploymentInfo> excludeDeployments = engineDeployments.getExcludeDeployments();
+        if (CollectionUtils.isEmpty(excludeDeployments)) {
+            return buildFullDeploymentsUpdate(domainName);
         }
 
-            List<DeploymentInfo> excludeDeployments = engineDeployments.getExcludeDeployments();
+        // calculate delta
+        List<String> toExcludeIds = excludeDeployments.stream().map(DeploymentInfo::getDeploymentId).toList();
 
-            if (CollectionUtils.isEmpty(excludeDeployments)) {
-                update.addAll(deploymentBuilderService.buildDeploymentsUpdate(deploymentRepository.findAllByDomain(domainName)));
-            } else { // calculate delta
-                List<String> toExcludeIds = excludeDeployments.stream().map(DeploymentInfo::getDeploymentId).toList();
+        List<Deployment> toUpdate = deploymentRepository.findDeploymentsToUpdate(domainName, toExcludeIds);
+        List<DeploymentUpdate> update = new ArrayList<>(deploymentBuilderService.buildDeploymentsUpdate(toUpdate));
 
-                List<Deployment> toUpdate = deploymentRepository.findDeploymentsToUpdate(domainName, toExcludeIds);
-                update.addAll(deploymentBuilderService.buildDeploymentsUpdate(toUpdate));
+        Set<String> toRemoveIds = deploymentRepository.findDeploymentsToRemove(domainName, toExcludeIds);
+        List<DeploymentInfo> toRemove = excludeDeployments.stream()
+                .filter(ex -> toRemoveIds.contains(ex.getDeploymentId()))
+                .toList();
+        List<DeploymentUpdate> stop = new ArrayList<>(deploymentBuilderService.buildDeploymentsStop(toRemove));
 
-                Set<String> toRemoveIds = deploymentRepository.findDeploymentsToRemove(domainName, toExcludeIds);
-                List<DeploymentInfo> toRemove = excludeDeployments.stream()
-                        .filter(ex -> toRemoveIds.contains(ex.getDeploymentId()))
-                        .toList();
+        return DeploymentsUpdate.builder().update(update).stop(stop).build();
+    }
 
-                stop.addAll(deploymentBuilderService.buildDeploymentsStop(toRemove));
-            };
+    /**
+     * Full deployments update for the domain, serialized once and cached until deployments of the domain change
+     */
+    @Transactional(propagation = Propagation.NEVER)
+    public SerializedDeploymentsUpdate getSerializedDeploymentsForDomain(String domainName) {
+        return deploymentsUpdateCache.get(domainName,
+                () -> SerializedDeploymentsUpdate.of(buildFullDeploymentsUpdate(domainName), objectMapper));
+    }
 
-        DeploymentsUpdate result = DeploymentsUpdate.builder().update(update).stop(stop).build();
-        if (fullDeploymentsRequest) {
-            if (Objects.equals(currentDeploymentVersion, deploymentsUpdateVersion)) {
-                fullDeploymentsUpdateCache.put(domainName, result);
-            }
-        }
-        return result;
+    private DeploymentsUpdate buildFullDeploymentsUpdate(String domainName) {
+        return DeploymentsUpdate.builder()
+                .update(deploymentBuilderService.buildDeploymentsUpdate(deploymentRepository.findAllByDomain(domainName)))
+                .stop(new ArrayList<>())
+                .build();
+    }
+
+    /**
+     * Invalidates cached deployments updates of the domains whose deployments were changed, possibly by another instance
+     */
+    @Transactional(propagation = Propagation.NEVER)
+    public void refreshDeploymentsUpdateCache() {
+        Map<String, String> domainStates = new HashMap<>();
+        deploymentRepository.findDomainStates()
+                .forEach(state -> domainStates.put(state.get("domain"), state.get("state")));
+        deploymentsUpdateCache.refresh(domainStates);
+    }
+
+    public void invalidateDeployedTriggerIndex() {
+        deployedTriggerIndex.invalidate();
     }
 
     /**
@@ -657,9 +721,4 @@ public class DeploymentService {
         }
         return HashUtils.sha1hex(senderURL);
     }
-
-    public static void clearDeploymentsUpdateCache(Long version) {
-        fullDeploymentsUpdateCache.clear();
-        deploymentsUpdateVersion = version;
-    }
 }
@@ -64,6 +64,10 @@ public class EnvironmentService extends EnvironmentBaseService {
                 .orElseThrow(() -> new EntityNotFoundException(ENVIRONMENT_WITH_ID_NOT_FOUND_MESSAGE + environmentId));
     }
 
+    public List<Environment> findAllById(Collection<String> environmentIds) {
+        return environmentRepository.findAllById(environmentIds);
+    }
+
     public List<Environment> getActiveEnvironmentsBySystems(List<IntegrationSystem> systems) {
         return systems.stream().map(system -> {
             List<Environment> systemEnvironments = system.getEnvironments();
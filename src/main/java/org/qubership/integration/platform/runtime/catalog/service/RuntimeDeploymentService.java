@@ -21,6 +21,7 @@ import org.qubership.integration.platform.runtime.catalog.model.deployment.Runti
 import org.qubership.integration.platform.catalog.model.deployment.engine.*;
 import org.qubership.integration.platform.runtime.catalog.persistence.configs.repository.DeploymentRepository;
 import org.qubership.integration.platform.runtime.catalog.rest.v1.mapper.DeploymentMapper;
+import org.qubership.integration.platform.runtime.catalog.service.deployment.DeployedTriggerIndex;
 import org.qubership.integration.platform.catalog.consul.exception.KVNotFoundException;
 import org.qubership.integration.platform.catalog.persistence.TransactionHandler;
 import org.qubership.integration.platform.catalog.persistence.configs.entity.User;
@@ -29,6 +30,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.tuple.Pair;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
@@ -46,19 +48,30 @@ public class RuntimeDeploymentService {
     private final ApplicationEventPublisher applicationEventPublisher;
     private final DeploymentRepository deploymentRepository;
     private final DeploymentMapper deploymentMapper;
+    private final DeployedTriggerIndex deployedTriggerIndex;
+    private final long cleanupIntervalMs;
+    // time of the last successful removal of obsolete deployments
+    private volatile long lastCleanupTime;
 
     // <engine_host, state>
     private final AtomicReference<Map<String, EngineState>> enginesStateCache = new AtomicReference<>(new HashMap<>());
 
+    private record EngineDeploymentKey(String host, String deploymentId) {
+    }
+
     @Autowired
     public RuntimeDeploymentService(TransactionHandler transactionHandler,
                                     ApplicationEventPublisher applicationEventPublisher,
                                     DeploymentRepository deploymentRepository,
-                                    @Lazy DeploymentMapper deploymentMapper) {
+                                    @Lazy DeploymentMapper deploymentMapper,
+                                    DeployedTriggerIndex deployedTriggerIndex,
+                                    @Value("${qip.deployments.cleanup.interval-ms:60000}") long cleanupIntervalMs) {
         this.transactionHandler = transactionHandler;
         this.applicationEventPublisher = applicationEventPublisher;
         this.deploymentRepository = deploymentRepository;
         this.deploymentMapper = deploymentMapper;
+        this.deployedTriggerIndex = deployedTriggerIndex;
+        this.cleanupIntervalMs = cleanupIntervalMs;
     }
 
     // <chainId, List<ChainRuntimeDeployment>>
@@ -121,48 +134,43 @@ public class RuntimeDeploymentService {
     public void provideEnginesStateUpdate(Collection<EngineState> newStateList) {
 
         Map<String, EngineState> stateMap = remapEngineStatesForCache(newStateList);
-        Map<String, Pair<EngineInfo, EngineDeployment>> newState = remapEngineStatesForCompare(stateMap);
-        Map<String, Pair<EngineInfo, EngineDeployment>> oldState = remapEngineStatesForCompare(enginesStateCache.getAndSet(stateMap));
+        Map<EngineDeploymentKey, Pair<EngineInfo, EngineDeployment>> newState = remapEngineStatesForCompare(stateMap);
+        Map<EngineDeploymentKey, Pair<EngineInfo, EngineDeployment>> oldState =
+                remapEngineStatesForCompare(enginesStateCache.getAndSet(stateMap));
 
         // calculate state delta
         List<Pair<EngineInfo, EngineDeployment>> deploymentsDelta = new ArrayList<>();
-        Set<String> newStateKeys = newState.keySet();
-        Set<String> oldStateKeys = oldState.keySet();
-
-        Set<String> removed = new HashSet<>(oldStateKeys);
-        removed.removeAll(newStateKeys);
-        for (String key : removed) {
-            Pair<EngineInfo, EngineDeployment> pair = oldState.get(key);
-            pair.getRight().setStatus(DeploymentStatus.REMOVED);
-            deploymentsDelta.add(pair);
+        for (Map.Entry<EngineDeploymentKey, Pair<EngineInfo, EngineDeployment>> entry : oldState.entrySet()) {
+            if (!newState.containsKey(entry.getKey())) {
+                Pair<EngineInfo, EngineDeployment> pair = entry.getValue();
+                pair.getRight().setStatus(DeploymentStatus.REMOVED);
+                deploymentsDelta.add(pair);
+            }
         }
-
-        Set<String> added = new HashSet<>(newStateKeys);
-        added.removeAll(oldStateKeys);
-        for (String key : added) {
-            deploymentsDelta.add(newState.get(key));
+        for (Map.Entry<EngineDeploymentKey, Pair<EngineInfo, EngineDeployment>> entry : newState.entrySet()) {
+            Pair<EngineInfo, EngineDeployment> oldPair = oldState.get(entry.getKey());
+            if (oldPair == null || oldPair.getRight().getStatus() != entry.getValue().getRight().getStatus()) {
+                deploymentsDelta.add(entry.getValue());
+            }
         }
 
-        Set<String> intersection = new HashSet<>(newStateKeys);
-        intersection.retainAll(oldStateKeys);
-        for (String key : intersection) {
-            Pair<EngineInfo, EngineDeployment> newPair = newState.get(key);
-            Pair<EngineInfo, EngineDeployment> oldPair = oldState.get(key);
-
-            if (oldPair.getRight().getStatus() != newPair.getRight().getStatus()) {
-                deploymentsDelta.add(newPair);
-            }
+        // unchanged state skips the events, obsolete deployments are still removed periodically
+        // to retry a failed removal and to catch deployments changed by other instances
+        long now = System.currentTimeMillis();
+        if (deploymentsDelta.isEmpty() && now - lastCleanupTime < cleanupIntervalMs) {
+            return;
         }
 
         // send events for UI
+        Map<String, Deployment> deployments = deploymentsDelta.isEmpty()
+                ? Collections.emptyMap() : findDeployments(deploymentsDelta);
         for (Pair<EngineInfo, EngineDeployment> deploymentPair : deploymentsDelta) {
-            String userId = null;
             Optional<Deployment> deploymentOptional =
-                    deploymentRepository.findById(deploymentPair.getRight().getDeploymentInfo().getDeploymentId());
-            if (deploymentOptional.isPresent()) {
-                User createdBy = deploymentOptional.get().getCreatedBy();
-                userId = createdBy == null ? null : createdBy.getId();
-            }
+                    Optional.ofNullable(deployments.get(deploymentPair.getRight().getDeploymentInfo().getDeploymentId()));
+            String userId = deploymentOptional
+                    .map(Deployment::getCreatedBy)
+                    .map(User::getId)
+                    .orElse(null);
 
             applicationEventPublisher.publishEvent(
                     new EngineStateUpdateEvent(
@@ -193,18 +201,27 @@ public class RuntimeDeploymentService {
         transactionHandler.runInTransaction(() -> {
             deploymentRepository.deleteObsoleteDeployments(deployed, notDeployed);
         });
+        deployedTriggerIndex.invalidate();
+        lastCleanupTime = now;
+    }
+
+    private Map<String, Deployment> findDeployments(List<Pair<EngineInfo, EngineDeployment>> deploymentsDelta) {
+        Set<String> deploymentIds = deploymentsDelta.stream()
+                .map(pair -> pair.getRight().getDeploymentInfo().getDeploymentId())
+                .collect(Collectors.toSet());
+        return deploymentRepository.findAllById(deploymentIds).stream()
+                .collect(Collectors.toMap(Deployment::getId, Function.identity()));
     }
 
-    // key = engine_host + deployment_id
-    private Map<String, Pair<EngineInfo, EngineDeployment>> remapEngineStatesForCompare(Map<String, EngineState> stateMap) {
-        Map<String, Pair<EngineInfo, EngineDeployment>> result = new HashMap<>();
+    private Map<EngineDeploymentKey, Pair<EngineInfo, EngineDeployment>> remapEngineStatesForCompare(Map<String, EngineState> stateMap) {
+        Map<EngineDeploymentKey, Pair<EngineInfo, EngineDeployment>> result = new HashMap<>();
         for (EngineState state : stateMap.values()) {
             EngineInfo engine = state.getEngine();
             String host = engine.getHost();
             for (Map.Entry<String, EngineDeployment> deploymentEntry : state.getDeployments().entrySet()) {
                 EngineDeployment deployment = deploymentEntry.getValue();
                 String deploymentId = deployment.getDeploymentInfo().getDeploymentId();
-                result.put(host + deploymentId, Pair.of(engine, deployment));
+                result.put(new EngineDeploymentKey(host, deploymentId), Pair.of(engine, deployment));
             }
         }
         return result;
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.Snapshot;
+import org.qubership.integration.platform.runtime.catalog.util.ContextPropagatingExecutor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Builds snapshots for several chains in parallel.
+ * <p>
+ * Every chain is built by {@link SnapshotService#build(String, Set)} in its own transaction,
+ * so a failure of one chain doesn't affect the others. Results and errors are reported
+ * on the calling thread in the order of the requested chain ids.
+ */
+@Slf4j
+@Component
+public class SnapshotBuildExecutor {
+
+    private static final String THREAD_NAME_PREFIX = "snapshot-build-";
+
+    private final SnapshotService snapshotService;
+    private final ContextPropagatingExecutor executor;
+
+    @Autowired
+    public SnapshotBuildExecutor(
+            @Lazy SnapshotService snapshotService,
+            @Value("${qip.snapshots.build.concurrency:4}") int concurrency
+    ) {
+        this.snapshotService = snapshotService;
+        this.executor = concurrency > 1 ? new ContextPropagatingExecutor(THREAD_NAME_PREFIX, concurrency) : null;
+    }
+
+    /**
+     * Builds snapshots for the given chains.
+     *
+     * @param chainIds        chain ids
+     * @param technicalLabels technical labels to add to each snapshot, may be null
+     * @param errorHandler    is called with chain id and the build error for every failed chain
+     * @return map of chain id to built snapshot, in the order of chain ids, failed chains are omitted
+     */
+    public Map<String, Snapshot> buildAll(
+            Collection<String> chainIds,
+            Set<String> technicalLabels,
+            BiConsumer<String, Exception> errorHandler
+    ) {
+        return buildAll(chainIds, technicalLabels, errorHandler, chainId -> {});
+    }
+
+    /**
+     * Builds snapshots for the given chains reporting completion of each chain, e.g. to track progress.
+     *
+     * @param completionHandler is called with chain id once the chain is built or failed,
+     *                          after the error handler
+     * @see #buildAll(Collection, Set, BiConsumer)
+     */
+    public Map<String, Snapshot> buildAll(
+            Collection<String> chainIds,
+            Set<String> technicalLabels,
+            BiConsumer<String, Exception> errorHandler,
+            Consumer<String> completionHandler
+    ) {
+        Map<String, Snapshot> result = new LinkedHashMap<>();
+        if (executor == null || chainIds.size() < 2) {
+            for (String chainId : chainIds) {
+                try {
+                    result.put(chainId, snapshotService.build(chainId, technicalLabels));
+                } catch (Exception e) {
+                    handleError(chainId, e, errorHandler);
+                }
+                completionHandler.accept(chainId);
+            }
+            return result;
+        }
+
+        Map<String, Future<Snapshot>> futures = new LinkedHashMap<>();
+        for (String chainId : chainIds) {
+            futures.put(chainId, executor.submit(() -> snapshotService.build(chainId, technicalLabels)));
+        }
+
+        for (Map.Entry<String, Future<Snapshot>> entry : futures.entrySet()) {
+            try {
+                result.put(entry.getKey(), entry.getValue().get());
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                handleError(entry.getKey(), cause instanceof Exception exception ? exception : e, errorHandler);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.values().forEach(future -> future.cancel(true));
+                throw new IllegalStateException("Interrupted while waiting for snapshots build", e);
+            }
+            completionHandler.accept(entry.getKey());
+        }
+        return result;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void handleError(String chainId, Exception e, BiConsumer<String, Exception> errorHandler) {
+        log.warn("Failed to build snapshot for chainId {}: {}", chainId, e.getMessage());
+        errorHandler.accept(chainId, e);
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Snapshot creation meters: overall and per phase duration tagged by outcome,
+ * snapshot elements count and XML configuration length.
+ */
+@Component
+public class SnapshotMetrics {
+    public static final String BUILD_TIMER = "qip.snapshot.build";
+    public static final String PHASE_TIMER = "qip.snapshot.build.phase";
+    public static final String ELEMENTS_SUMMARY = "qip.snapshot.elements";
+    public static final String XML_SIZE_SUMMARY = "qip.snapshot.xml.size";
+
+    public static final String PHASE_TAG = "phase";
+    public static final String OUTCOME_TAG = "outcome";
+    public static final String OUTCOME_SUCCESS = "success";
+    public static final String OUTCOME_FAILURE = "failure";
+
+    public static final String PHASE_VERIFICATION = "verification";
+    public static final String PHASE_NAMING = "naming";
+    public static final String PHASE_ELEMENTS_COPY = "elements-copy";
+    public static final String PHASE_ELEMENTS_PERSIST = "elements-persist";
+    public static final String PHASE_ENVIRONMENT = "environment";
+    public static final String PHASE_XML = "xml";
+    public static final String PHASE_CURRENT_SNAPSHOT = "current-snapshot";
+
+    private final MeterRegistry meterRegistry;
+    private final DistributionSummary elementsSummary;
+    private final DistributionSummary xmlSizeSummary;
+    private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
+    @Autowired
+    public SnapshotMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.elementsSummary = DistributionSummary.builder(ELEMENTS_SUMMARY)
+                .description("Number of elements in created snapshots")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.xmlSizeSummary = DistributionSummary.builder(XML_SIZE_SUMMARY)
+                .description("XML configuration length of created snapshots before compression")
+                .baseUnit("characters")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    public <T> T recordBuild(Supplier<T> build) {
+        return record(null, build);
+    }
+
+    public <T> T recordPhase(String phase, Supplier<T> action) {
+        return record(phase, action);
+    }
+
+    public void recordPhase(String phase, Runnable action) {
+        recordPhase(phase, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * @param xmlLength length of XML configuration before compression
+     */
+    public void recordSnapshotSize(int elementsCount, long xmlLength) {
+        elementsSummary.record(elementsCount);
+        xmlSizeSummary.record(xmlLength);
+    }
+
+    /**
+     * @param phase build phase, or null for the overall build
+     */
+    private <T> T record(@Nullable String phase, Supplier<T> action) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = OUTCOME_FAILURE;
+        try {
+            T result = action.get();
+            outcome = OUTCOME_SUCCESS;
+            return result;
+        } finally {
+            sample.stop(getTimer(new TimerKey(phase, outcome)));
+        }
+    }
+
+    private Timer getTimer(TimerKey key) {
+        return timers.computeIfAbsent(key, k -> {
+            Timer.Builder timer = k.phase() == null
+                    ? Timer.builder(BUILD_TIMER)
+                            .description("Snapshot creation duration")
+                    : Timer.builder(PHASE_TIMER)
+                            .description("Snapshot creation phase duration")
+                            .tag(PHASE_TAG, k.phase());
+            return timer.tag(OUTCOME_TAG, k.outcome()).register(meterRegistry);
+        });
+    }
+
+    private record TimerKey(@Nullable String phase, String outcome) {
+    }
+}
@@ -18,6 +18,7 @@ package org.qubership.integration.platform.runtime.catalog.service;
 
 import org.qubership.integration.platform.runtime.catalog.builder.XmlBuilder;
 import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.*;
+import org.qubership.integration.platform.runtime.catalog.persistence.configs.repository.SnapshotChainCallRepository;
 import org.qubership.integration.platform.runtime.catalog.persistence.configs.repository.SnapshotRepository;
 import org.qubership.integration.platform.catalog.service.ActionsLogService;
 import org.qubership.integration.platform.runtime.catalog.service.verification.ElementPropertiesVerificationService;
@@ -33,9 +34,9 @@ import org.qubership.integration.platform.catalog.persistence.configs.entity.act
 import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.element.ChainElement;
 import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.element.ContainerChainElement;
 import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.element.SwimlaneChainElement;
-import org.qubership.integration.platform.catalog.persistence.configs.repository.chain.DependencyRepository;
-import org.qubership.integration.platform.catalog.persistence.configs.repository.chain.ElementRepository;
 import org.qubership.integration.platform.catalog.persistence.configs.repository.chain.SnapshotLabelsRepository;
+import org.qubership.integration.platform.runtime.catalog.util.SnapshotXmlCodec;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
@@ -48,12 +49,19 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.ByteArrayOutputStream;
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.sql.Timestamp;
 import java.time.Instant;
 import java.time.Period;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -65,11 +73,9 @@ public class SnapshotService {
     private static final String CONFIGURATION_WITH_ID_NOT_FOUND_MESSAGE = "Can't find configuration with id ";
 
     private final SnapshotRepository snapshotRepository;
-    private final ElementRepository elementRepository;
     private final ElementService elementService;
     private final XmlBuilder xmlBuilder;
     private final ChainService chainService;
-    private final DependencyRepository dependencyRepository;
     private final DeploymentService deploymentService;
     private final ActionsLogService actionLogger;
     private final ElementPropertiesVerificationService elementPropertiesVerificationService;
@@ -77,26 +83,30 @@ public class SnapshotService {
     private final TransactionHandler transactionHandler;
     private final SnapshotService self;
     private final SnapshotLabelsRepository snapshotLabelsRepository;
+    private final SnapshotBuildExecutor snapshotBuildExecutor;
+    private final EntityManager entityManager;
+    private final SnapshotMetrics snapshotMetrics;
+    private final SnapshotChainCallRepository snapshotChainCallRepository;
 
     @Autowired
     public SnapshotService(SnapshotRepository snapshotRepository,
-                           ElementRepository elementRepository,
                            ElementService elementService,
                            XmlBuilder xmlBuilder,
                            ChainService chainService,
-                           DependencyRepository dependencyRepository,
                            @Lazy DeploymentService deploymentService,
                            @Lazy SnapshotService self,
                            ActionsLogService actionLogger,
                            ElementPropertiesVerificationService elementPropertiesVerificationService,
                            MaskedFieldsService maskedFieldsService,
-                           TransactionHandler  transactionHandler, SnapshotLabelsRepository snapshotLabelsRepository) {
+                           TransactionHandler  transactionHandler, SnapshotLabelsRepository snapshotLabelsRepository,
+                           SnapshotBuildExecutor snapshotBuildExecutor,
+                           EntityManager entityManager,
+                           SnapshotMetrics snapshotMetrics,
+                           SnapshotChainCallRepository snapshotChainCallRepository) {
         this.snapshotRepository = snapshotRepository;
-        this.elementRepository = elementRepository;
         this.elementService = elementService;
         this.xmlBuilder = xmlBuilder;
         this.chainService = chainService;
-        this.dependencyRepository = dependencyRepository;
         this.deploymentService = deploymentService;
         this.actionLogger = actionLogger;
         this.elementPropertiesVerificationService = elementPropertiesVerificationService;
@@ -104,6 +114,10 @@ public class SnapshotService {
         this.transactionHandler = transactionHandler;
         this.self = self;
         this.snapshotLabelsRepository = snapshotLabelsRepository;
+        this.snapshotBuildExecutor = snapshotBuildExecutor;
+        this.entityManager = entityManager;
+        this.snapshotMetrics = snapshotMetrics;
+        this.snapshotChainCallRepository = snapshotChainCallRepository;
     }
 
     public Snapshot findById(String snapshotId) {
@@ -111,39 +125,38 @@ public class SnapshotService {
                 .orElseThrow(() -> new EntityNotFoundException(CONFIGURATION_WITH_ID_NOT_FOUND_MESSAGE + snapshotId));
     }
 
-    // Map<chainId, snapshot>
-    public Map<String, Snapshot> findLastCreatedOrBuild(Collection<String> chainIds, BiConsumer<String, String> errorHandler) {
-        Map<String, Snapshot> snapshots = snapshotRepository.findAllLastCreated(chainIds).stream()
-                .collect(Collectors.toMap(snapshot -> snapshot.getChain().getId(), Function.identity()));
-        final Set<String> chainsWithoutSnapshot = new HashSet<>(chainIds);
-        chainsWithoutSnapshot.removeAll(snapshots.keySet());
-
-        // create a new snapshot if there are no snapshots in the chain
-        snapshots.putAll(buildAll(chainsWithoutSnapshot, errorHandler));
+    public List<Snapshot> findAllById(Collection<String> snapshotIds) {
+        return snapshotRepository.findAllById(snapshotIds);
+    }
 
-        return snapshots;
+    // Map<chainId, snapshot>, chains without snapshots are omitted
+    public Map<String, Snapshot> findAllLastCreated(Collection<String> chainIds) {
+        return snapshotRepository.findAllLastCreated(chainIds).stream()
+                .collect(Collectors.toMap(snapshot -> snapshot.getChain().getId(), Function.identity()));
     }
 
     public Optional<Snapshot> tryFindById(String snapshotId) {
         return snapshotRepository.findById(snapshotId);
     }
 
+    // snapshots without XML configuration, read-only
     public List<Snapshot> findByChainIdLight(String chainId) {
-        return snapshotRepository.findAllByChainId(chainId);
-    }
-
-    // Map<chainId, snapshot>
-    public Map<String, Snapshot> buildAll(Collection<String> chainIds, BiConsumer<String, String> errorHandler) {
-        Map<String, Snapshot> result = new HashMap<>();
-        for (String chainId : chainIds) {
-            try {
-                result.put(chainId, self.build(chainId));
-            } catch (Exception e) {
-                log.warn("Failed to build snapshot for chainId {}: {}", chainId, e.getMessage());
-                errorHandler.accept(chainId, e.getMessage());
-            }
-        }
-        return result;
+        return snapshotRepository.findAllByChainIdWithoutXml(chainId);
+    }
+
+    // Map<chainId, snapshot>, each snapshot is built in a separate transaction
+    public Map<String, Snapshot> buildAll(Collection<String> chainIds,
+                                          Set<String> technicalLabels,
+                                          BiConsumer<String, Exception> errorHandler) {
+        return snapshotBuildExecutor.buildAll(chainIds, technicalLabels, errorHandler);
+    }
+
+    // same as above, completionHandler is called with chain id once the chain is built or failed
+    public Map<String, Snapshot> buildAll(Collection<String> chainIds,
+                                          Set<String> technicalLabels,
+                                          BiConsumer<String, Exception> errorHandler,
+                                          Consumer<String> completionHandler) {
+        return snapshotBuildExecutor.buildAll(chainIds, technicalLabels, errorHandler, completionHandler);
     }
 
     @Transactional(propagation = Propagation.REQUIRES_NEW)
@@ -153,10 +166,15 @@ public class SnapshotService {
 
     @Transactional(propagation = Propagation.REQUIRES_NEW)
     public Snapshot build(String chainId, Set<String> technicalLabels) {
+        return snapshotMetrics.recordBuild(() -> doBuild(chainId, technicalLabels));
+    }
+
+    private Snapshot doBuild(String chainId, Set<String> technicalLabels) {
         Chain chain = chainService.findById(chainId);
-        verifyElementProperties(chain);
+        snapshotMetrics.recordPhase(SnapshotMetrics.PHASE_VERIFICATION, () -> verifyElementProperties(chain));
 
-        String name = snapshotRepository.getNextAvailableName(chainId);
+        String name = snapshotMetrics.recordPhase(SnapshotMetrics.PHASE_NAMING,
+                () -> snapshotRepository.getNextAvailableName(chainId));
 
         Snapshot snapshot = Snapshot.builder()
                         .name(name)
@@ -166,25 +184,53 @@ public class SnapshotService {
             snapshot.addLabels(getSnapshotTechnicalLabels(technicalLabels, snapshot));
         }
 
-        snapshot = snapshotRepository.saveAndFlush(snapshot);
+        Snapshot savedSnapshot = snapshotRepository.saveAndFlush(snapshot);
+
+        Map<ChainElement, ChainElement> replacements = snapshotMetrics.recordPhase(SnapshotMetrics.PHASE_ELEMENTS_COPY,
+                () -> moveElementsToSnapshot(chain, savedSnapshot));
+        List<ChainElement> snapshotElements = savedSnapshot.getElements();
+        snapshotMetrics.recordPhase(SnapshotMetrics.PHASE_ENVIRONMENT,
+                () -> elementService.fillElementsEnvironment(snapshotElements));
+        snapshotMetrics.recordPhase(SnapshotMetrics.PHASE_ELEMENTS_PERSIST, () -> {
+            persistElements(replacements.values());
+            persistAll(snapshotElements.stream()
+                    .flatMap(element -> element.getOutputDependencies().stream())
+                    .toList());
+            moveMaskedFields(chain.getMaskedFields(), savedSnapshot);
+            // insert batches are executed on flush, measure them in this phase rather than at commit
+            entityManager.flush();
+            snapshotChainCallRepository.insertSnapshotChainCalls(savedSnapshot.getId());
+        });
+
+        AtomicLong xmlLength = new AtomicLong();
+        savedSnapshot.setXmlDefinition(snapshotMetrics.recordPhase(SnapshotMetrics.PHASE_XML,
+                () -> buildXmlDefinition(snapshotElements, xmlLength)));
+        snapshotMetrics.recordSnapshotSize(snapshotElements.size(), xmlLength.get());
+
+        snapshotMetrics.recordPhase(SnapshotMetrics.PHASE_CURRENT_SNAPSHOT,
+                () -> chainService.setCurrentSnapshot(chain.getId(), savedSnapshot));
 
-        moveElementsToSnapshot(chain, snapshot);
-        moveMaskedFields(chain.getMaskedFields(), snapshot);
-        List<ChainElement> snapshotElements = snapshot.getElements();
-        fillServiceEnvironments(snapshotElements);
+        logSnapshotAction(savedSnapshot, chain, LogOperation.CREATE);
 
+        return savedSnapshot;
+    }
+
+    /**
+     * @param xmlLength receives length of the XML configuration before compression
+     */
+    private String buildXmlDefinition(List<ChainElement> snapshotElements, AtomicLong xmlLength) {
         try {
-            snapshot.setXmlDefinition(xmlBuilder.build(snapshotElements));
+            ByteArrayOutputStream xmlDefinition = new ByteArrayOutputStream();
+            try (CountingWriter writer = new CountingWriter(SnapshotXmlCodec.openWriter(xmlDefinition))) {
+                xmlBuilder.build(snapshotElements, writer);
+                xmlLength.set(writer.getCount());
+            }
+            return xmlDefinition.toString(StandardCharsets.US_ASCII);
         } catch (Exception e) {
             log.error("Failed to build xml configuration: {}", e.getMessage());
             throw (e instanceof RuntimeException) ?
                     (RuntimeException) e : new RuntimeException("Failed to build xml configuration", e);
         }
-        chainService.setCurrentSnapshot(chain.getId(), snapshot);
-
-        logSnapshotAction(snapshot, chain, LogOperation.CREATE);
-
-        return snapshot;
     }
 
     private Collection<SnapshotLabel> getSnapshotTechnicalLabels(Set<String> technicalLabels, Snapshot snapshot) {
@@ -195,11 +241,6 @@ public class SnapshotService {
         return snapshotLabels;
     }
 
-    private void fillServiceEnvironments(List<ChainElement> newElements) {
-        elementService.fillElementsEnvironment(newElements);
-        elementRepository.saveAll(newElements);
-    }
-
     private void verifyElementProperties(Chain chain) {
         Map<ChainElement, Collection<VerificationError>> errorMap =
                 elementPropertiesVerificationService.verifyElementProperties(chain);
@@ -237,7 +278,9 @@ public class SnapshotService {
             newElement.setId(element.getOriginalId());
             newElement.setOriginalId(null);
             newElement.setSnapshot(null);
-            newElement = elementRepository.save(newElement);
+            // copy has the assigned id of the original element, persist would treat it as detached,
+            // so revert keeps merging elements one by one and only batches the dependency inserts
+            newElement = entityManager.merge(newElement);
 
             chain.addElement(newElement);
             replacements.put(element, newElement);
@@ -245,28 +288,36 @@ public class SnapshotService {
         chain.setDefaultSwimlane((SwimlaneChainElement) replacements.get(snapshot.getDefaultSwimlane()));
         chain.setReuseSwimlane((SwimlaneChainElement) replacements.get(snapshot.getReuseSwimlane()));
         replaceChildren(replacements);
-        replaceDependencies(replacements);
+        persistAll(replaceDependencies(replacements));
     }
 
     private void revertMaskedFields(Set<MaskedField> maskedFields, Chain chain) {
+        List<MaskedField> copiedMaskedFields = new ArrayList<>(maskedFields.size());
         for (MaskedField maskedField : maskedFields) {
             MaskedField copiedMaskedField = maskedField.copy();
             copiedMaskedField.setChain(chain);
-            copiedMaskedField = maskedFieldsService.save(copiedMaskedField);
             chain.addMaskedField(copiedMaskedField);
+            copiedMaskedFields.add(copiedMaskedField);
         }
+        persistAll(copiedMaskedFields);
     }
 
     private void moveMaskedFields(Set<MaskedField> maskedFields, Snapshot snapshot) {
+        List<MaskedField> copiedMaskedFields = new ArrayList<>(maskedFields.size());
         for (MaskedField maskedField : maskedFields) {
             MaskedField copiedMaskedField = maskedField.copy();
             copiedMaskedField.setSnapshot(snapshot);
-            copiedMaskedField = maskedFieldsService.save(copiedMaskedField);
             snapshot.addMaskedField(copiedMaskedField);
+            copiedMaskedFields.add(copiedMaskedField);
         }
+        persistAll(copiedMaskedFields);
     }
 
-    private void moveElementsToSnapshot(@NonNull Chain chain, Snapshot snapshot) {
+    /**
+     * Copies chain elements to the snapshot and links copies with each other.
+     * Copies are not persisted, see {@link #persistElements(Collection)}.
+     */
+    private Map<ChainElement, ChainElement> moveElementsToSnapshot(@NonNull Chain chain, Snapshot snapshot) {
         Map<ChainElement, ChainElement> replacements = copyElements(new ArrayList<>(chain.getElements()), null, snapshot);
         if (replacements.get(chain.getDefaultSwimlane()) instanceof SwimlaneChainElement defaultSwimalne) {
             snapshot.setDefaultSwimlane(defaultSwimalne);
@@ -276,6 +327,7 @@ public class SnapshotService {
         }
         replaceChildren(replacements);
         replaceDependencies(replacements);
+        return replacements;
     }
 
     private Map<ChainElement, ChainElement> copyElements(List<ChainElement> elements, @Nullable Chain chain, Snapshot snapshot) {
@@ -284,7 +336,6 @@ public class SnapshotService {
             ChainElement newElement = element.copy();
             newElement.setSnapshot(snapshot);
             newElement.setChain(chain);
-            newElement = elementRepository.save(newElement);
 
             if (snapshot != null) {
                 snapshot.addElement(newElement);
@@ -318,7 +369,7 @@ public class SnapshotService {
         }
     }
 
-    private void replaceDependencies(Map<ChainElement, ChainElement> replacements) {
+    private List<Dependency> replaceDependencies(Map<ChainElement, ChainElement> replacements) {
         Map<String, Dependency> dependencyReplacements = new HashMap<>();
         for (var entry : replacements.entrySet()) {
             ChainElement element = entry.getKey();
@@ -342,10 +393,40 @@ public class SnapshotService {
                 newElement.addOutputDependency(dependencyReplacements.get(dependency.getId()));
             }
         }
+        return new ArrayList<>(dependencyReplacements.values());
     }
 
     private Dependency createDependency(ChainElement from, ChainElement to) {
-        return dependencyRepository.save(Dependency.of(from, to));
+        return Dependency.of(from, to);
+    }
+
+    /**
+     * Persists new elements in a single pass, so that inserts are sent in JDBC batches
+     * with all links already set. Swimlanes and containers go first, parents before
+     * their children, because elements reference them by foreign keys.
+     */
+    private void persistElements(Collection<ChainElement> elements) {
+        elements.stream()
+                .sorted(Comparator.comparingInt(SnapshotService::getPersistOrder))
+                .forEach(entityManager::persist);
+    }
+
+    private static int getPersistOrder(ChainElement element) {
+        if (element instanceof SwimlaneChainElement) {
+            return 0;
+        }
+        if (element instanceof ContainerChainElement) {
+            int depth = 1;
+            for (ChainElement parent = element.getParent(); parent != null; parent = parent.getParent()) {
+                depth++;
+            }
+            return depth;
+        }
+        return Integer.MAX_VALUE;
+    }
+
+    private void persistAll(Collection<?> entities) {
+        entities.forEach(entityManager::persist);
     }
 
     public void deleteAllByChainId(String chainId) {
@@ -461,8 +542,45 @@ public class SnapshotService {
             }
         } while (deletedCurrent > 0);
 
+        if (deletedTotal > 0) {
+            // contents referenced by builds in progress are locked by them and skipped
+            int deletedContents = transactionHandler.supplyInNewTransaction(
+                    snapshotRepository::deleteUnusedElementContents);
+            log.debug("Unused snapshot element contents removed: {}", deletedContents);
+        }
+
         String durationStr = DurationFormatUtils.formatDurationWords(
                 System.currentTimeMillis() - startTime, true, false);
         log.info("Snapshots removed successfully: {}. Time elapsed: {}", deletedTotal, durationStr);
     }
+
+    private static final class CountingWriter extends FilterWriter {
+        private long count;
+
+        CountingWriter(Writer out) {
+            super(out);
+        }
+
+        long getCount() {
+            return count;
+        }
+
+        @Override
+        public void write(int c) throws IOException {
+            super.write(c);
+            count++;
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) throws IOException {
+            super.write(cbuf, off, len);
+            count += len;
+        }
+
+        @Override
+        public void write(String str, int off, int len) throws IOException {
+            super.write(str, off, len);
+            count += len;
+        }
+    }
 }
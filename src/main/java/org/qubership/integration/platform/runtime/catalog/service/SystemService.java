@@ -116,6 +116,11 @@ public class SystemService extends SystemBaseService {
 
     }
 
+    @Transactional
+    public List<IntegrationSystem> findAllById(Collection<String> systemIds) {
+        return systemRepository.findAllById(systemIds);
+    }
+
     @Transactional
     public IntegrationSystem findById(String systemId) {
         return systemRepository.findById(systemId)
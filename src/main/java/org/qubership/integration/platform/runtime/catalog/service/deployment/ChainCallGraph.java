@@ -0,0 +1,269 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.qubership.integration.platform.runtime.catalog.service.deployment;
+
+import lombok.extern.slf4j.Slf4j;
+import org.qubership.integration.platform.runtime.catalog.persistence.configs.entity.SnapshotChainCall;
+import org.qubership.integration.platform.runtime.catalog.persistence.configs.repository.SnapshotChainCallRepository;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Chain call dependencies of deployments.
+ * <p>
+ * Vertices of the graph are sources of chain calls: snapshots, and working copies of chains whose triggers
+ * are called but not deployed. A chain call leads to the deployed snapshot of the called chain trigger,
+ * or to the working copy of its chain if the trigger is not deployed. The graph is loaded level by level
+ * with a few batched queries per level, strongly connected components are found once with Tarjan's algorithm
+ * and dependencies of each component are collected in dependency order.
+ */
+@Slf4j
+final class ChainCallGraph {
+    private static final String SEQUENTIAL_DEPLOYMENT_NOT_AVAILABLE = "Sequential deployment of all related sub-chains is not available, hence it will be performed in common mode.";
+    private static final String CHAIN_CIRCLE_DEPENDENCY_ERROR_MESSAGE = "Found cyclic dependency for chain with id {}. " + SEQUENTIAL_DEPLOYMENT_NOT_AVAILABLE;
+    private static final String NO_CHAIN_TRIGGER_FOUND_ERROR_MESSAGE = "Unable to find chain trigger with id: {}. " + SEQUENTIAL_DEPLOYMENT_NOT_AVAILABLE;
+    private static final String CHAIN_TRIGGER_NOT_SPECIFIED_ERROR_MESSAGE = "Chain trigger is not specified for Chain Call element in chain with id: {}. " + SEQUENTIAL_DEPLOYMENT_NOT_AVAILABLE;
+
+    /**
+     * Source of chain calls, snapshot id is null for a chain working copy.
+     */
+    record Source(String snapshotId, String chainId) {
+        static Source snapshot(String snapshotId, String chainId) {
+            return new Source(snapshotId, chainId);
+        }
+
+        static Source workingCopy(String chainId) {
+            return new Source(null, chainId);
+        }
+    }
+
+    private record Dependencies(Set<String> chainIds, boolean cyclic, boolean incomplete, boolean invalid) {}
+
+    private final Map<Source, List<Source>> calls = new HashMap<>();
+    private final Set<Source> invalidSources = new HashSet<>();
+    private final Set<Source> incompleteSources = new HashSet<>();
+    private final Map<Source, Dependencies> dependencies = new HashMap<>();
+
+    private ChainCallGraph() {
+    }
+
+    static ChainCallGraph empty() {
+        return new ChainCallGraph();
+    }
+
+    static ChainCallGraph load(Collection<Source> roots, SnapshotChainCallRepository repository) {
+        ChainCallGraph graph = new ChainCallGraph();
+        Set<Source> pending = new LinkedHashSet<>(roots);
+        while (!pending.isEmpty()) {
+            pending.forEach(source -> graph.calls.put(source, new ArrayList<>()));
+            Map<Source, List<String>> calledTriggers = loadCalledTriggers(pending, repository);
+            Map<String, Optional<Source>> targets = loadTargets(calledTriggers.values().stream()
+                    .flatMap(Collection::stream)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet()), repository);
+
+            Set<Source> next = new LinkedHashSet<>();
+            calledTriggers.forEach((source, triggerIds) -> {
+                for (String triggerId : triggerIds) {
+                    if (triggerId == null) {
+                        log.error(CHAIN_TRIGGER_NOT_SPECIFIED_ERROR_MESSAGE, source.chainId());
+                        graph.invalidSources.add(source);
+                        continue;
+                    }
+                    Optional<Source> target = targets.get(triggerId);
+                    if (target == null) {
+                        log.warn(NO_CHAIN_TRIGGER_FOUND_ERROR_MESSAGE, triggerId);
+                        graph.incompleteSources.add(source);
+                    } else if (target.isPresent()) {
+                        graph.calls.get(source).add(target.get());
+                        if (!graph.calls.containsKey(target.get())) {
+                            next.add(target.get());
+                        }
+                    }
+                }
+            });
+            pending = next;
+        }
+        new ComponentFinder(graph).findAll();
+        return graph;
+    }
+
+    /**
+     * Chain ids the chains called from the source depend on, dependencies go first.
+     * Empty if sequential deployment is not possible for the source.
+     */
+    List<String> getDependencies(Source source) {
+        Dependencies result = dependencies.get(source);
+        if (result == null || result.invalid()) {
+            return new ArrayList<>();
+        }
+        if (result.cyclic() && !result.incomplete()) {
+            log.warn(CHAIN_CIRCLE_DEPENDENCY_ERROR_MESSAGE, source.chainId());
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(result.chainIds());
+    }
+
+    private static Map<Source, List<String>> loadCalledTriggers(Set<Source> sources, SnapshotChainCallRepository repository) {
+        Map<Source, List<String>> result = new HashMap<>();
+        sources.forEach(source -> result.put(source, new ArrayList<>()));
+
+        Map<String, Source> snapshots = sources.stream()
+                .filter(source -> source.snapshotId() != null)
+                .collect(Collectors.toMap(Source::snapshotId, Function.identity(), (first, second) -> first));
+        if (!snapshots.isEmpty()) {
+            for (SnapshotChainCall call : repository.findAllBySnapshotIdIn(snapshots.keySet())) {
+                result.get(snapshots.get(call.getSnapshotId())).add(call.getChainTriggerId());
+            }
+        }
+
+        Map<String, Source> workingCopies = sources.stream()
+                .filter(source -> source.snapshotId() == null)
+                .collect(Collectors.toMap(Source::chainId, Function.identity()));
+        if (!workingCopies.isEmpty()) {
+            for (Map<String, String> call : repository.findChainCallsByChainIds(workingCopies.keySet())) {
+                result.get(workingCopies.get(call.get("chain_id"))).add(call.get("chain_trigger_id"));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return sources by chain trigger id, empty for a trigger without chain, absent for a trigger not found
+     */
+    private static Map<String, Optional<Source>> loadTargets(Set<String> triggerIds, SnapshotChainCallRepository repository) {
+        Map<String, Optional<Source>> targets = new HashMap<>();
+        if (triggerIds.isEmpty()) {
+            return targets;
+        }
+        for (Map<String, String> trigger : repository.findDeployedChainTriggers(triggerIds)) {
+            targets.put(trigger.get("original_id"),
+                    Optional.of(Source.snapshot(trigger.get("snapshot_id"), trigger.get("chain_id"))));
+        }
+        Set<String> notDeployed = triggerIds.stream()
+                .filter(triggerId -> !targets.containsKey(triggerId))
+                .collect(Collectors.toSet());
+        if (!notDeployed.isEmpty()) {
+            for (Map<String, String> trigger : repository.findChainTriggerChains(notDeployed)) {
+                String chainId = trigger.get("chain_id");
+                targets.put(trigger.get("id"),
+                        chainId == null ? Optional.empty() : Optional.of(Source.workingCopy(chainId)));
+            }
+        }
+        return targets;
+    }
+
+    /**
+     * Iterative Tarjan's algorithm. Components are completed in reverse topological order,
+     * so dependencies of the components a component calls are already collected.
+     */
+    private static final class ComponentFinder {
+        private record Frame(Source source, Iterator<Source> targets) {}
+
+        private final ChainCallGraph graph;
+        private final Map<Source, Integer> indexes = new HashMap<>();
+        private final Map<Source, Integer> lowLinks = new HashMap<>();
+        private final Deque<Source> stack = new ArrayDeque<>();
+        private final Set<Source> onStack = new HashSet<>();
+        private final Deque<Frame> frames = new ArrayDeque<>();
+
+        private ComponentFinder(ChainCallGraph graph) {
+            this.graph = graph;
+        }
+
+        private void findAll() {
+            for (Source source : graph.calls.keySet()) {
+                if (!indexes.containsKey(source)) {
+                    find(source);
+                }
+            }
+        }
+
+        private void find(Source start) {
+            visit(start);
+            while (!frames.isEmpty()) {
+                Frame frame = frames.peek();
+                if (frame.targets().hasNext()) {
+                    Source target = frame.targets().next();
+                    if (!indexes.containsKey(target)) {
+                        visit(target);
+                    } else if (onStack.contains(target)) {
+                        lowLinks.merge(frame.source(), indexes.get(target), Math::min);
+                    }
+                    continue;
+                }
+                frames.pop();
+                if (!frames.isEmpty()) {
+                    lowLinks.merge(frames.peek().source(), lowLinks.get(frame.source()), Math::min);
+                }
+                if (lowLinks.get(frame.source()).equals(indexes.get(frame.source()))) {
+                    List<Source> component = new ArrayList<>();
+                    Source member;
+                    do {
+                        member = stack.pop();
+                        onStack.remove(member);
+                        component.add(member);
+                    } while (!member.equals(frame.source()));
+                    collect(component);
+                }
+            }
+        }
+
+        private void visit(Source source) {
+            int index = indexes.size();
+            indexes.put(source, index);
+            lowLinks.put(source, index);
+            stack.push(source);
+            onStack.add(source);
+            frames.push(new Frame(source, graph.calls.get(source).iterator()));
+        }
+
+        private void collect(List<Source> component) {
+            Set<Source> members = new HashSet<>(component);
+            Set<String> chainIds = new LinkedHashSet<>();
+            Set<String> memberChainIds = new LinkedHashSet<>();
+            boolean cyclic = false;
+            boolean incomplete = false;
+            boolean invalid = false;
+            for (Source source : component) {
+                incomplete |= graph.incompleteSources.contains(source);
+                invalid |= graph.invalidSources.contains(source);
+                for (Source target : graph.calls.get(source)) {
+                    // only a chain calling itself disables sequential deployment, chains of a longer cycle
+                    // are deployed before the caller as other dependencies
+                    cyclic |= source.chainId().equals(target.chainId());
+                    if (members.contains(target)) {
+                        memberChainIds.add(target.chainId());
+                        continue;
+                    }
+                    Dependencies targetDependencies = graph.dependencies.get(target);
+                    chainIds.addAll(targetDependencies.chainIds());
+                    chainIds.add(target.chainId());
+                    cyclic |= targetDependencies.cyclic();
+                    incomplete |= targetDependencies.incomplete();
+                    invalid |= targetDependencies.invalid();
+                }
+            }
+            chainIds.addAll(memberChainIds);
+            Dependencies result = new Dependencies(chainIds, cyclic, incomplete, invalid);
+            component.forEach(source -> graph.dependencies.put(source, result));
+        }
+    }
+}
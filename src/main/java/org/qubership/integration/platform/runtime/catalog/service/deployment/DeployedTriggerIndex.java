@@ -0,0 +1,321 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.service.deployment;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.collections4.ListUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.qubership.integration.platform.catalog.model.ElementRoute;
+import org.qubership.integration.platform.catalog.model.constant.CamelNames;
+import org.qubership.integration.platform.catalog.persistence.TransactionHandler;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.element.ChainElement;
+import org.qubership.integration.platform.catalog.persistence.configs.repository.chain.ElementRepository;
+import org.qubership.integration.platform.runtime.catalog.persistence.configs.repository.DeploymentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static org.qubership.integration.platform.catalog.util.TriggerUtils.getHttpTriggerPath;
+import static org.qubership.integration.platform.catalog.util.TriggerUtils.getHttpTriggerRoute;
+import static org.qubership.integration.platform.catalog.util.TriggerUtils.getSdsTriggerJobId;
+
+/**
+ * In-memory index of triggers of deployed snapshots: HTTP trigger routes in a path trie per HTTP method
+ * and scheduling service (SDS) trigger job ids in a hash map per domain.
+ * <p>
+ * The index is synchronized with the deployments table incrementally: only deployments created or
+ * removed since the previous refresh are applied and triggers are loaded only for newly deployed snapshots.
+ * Deployment changes mark the index stale, it is refreshed before the next query. Changes made by other
+ * instances are detected by the count and the latest creation time of deployments.
+ */
+@Slf4j
+@Component
+public class DeployedTriggerIndex {
+    private static final int LOAD_CHUNK_SIZE = 500;
+
+    private final DeploymentRepository deploymentRepository;
+    private final ElementRepository elementRepository;
+    private final TransactionHandler transactionHandler;
+
+    private final Lock refreshLock = new ReentrantLock();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicBoolean stale = new AtomicBoolean(true);
+    // deployments state the index is built from, modified under the refresh lock only
+    private volatile String appliedState;
+
+    private final Map<HttpMethod, HttpRouteTrie<IndexedRoute>> tries = new HashMap<>();
+    // <domain, <job id, jobs>>
+    private final Map<String, Map<String, Set<IndexedJob>>> domainJobs = new HashMap<>();
+    private final Map<String, DeploymentReference> deployments = new HashMap<>();
+    private final Map<String, List<IndexedRoute>> deploymentRoutes = new HashMap<>();
+    private final Map<String, List<IndexedJob>> deploymentJobs = new HashMap<>();
+    // triggers of indexed snapshots, modified under the refresh lock only
+    private final Map<String, SnapshotTriggers> snapshotTriggers = new HashMap<>();
+
+    public record IndexedRoute(String deploymentId, String domain, String chainId, String snapshotId,
+                               String elementId, String path, ElementRoute route) {
+    }
+
+    public record IndexedJob(String deploymentId, String domain, String chainId, String snapshotId,
+                             String elementId, String jobId) {
+    }
+
+    private record SnapshotTriggers(List<TriggerRoute> routes, List<TriggerJob> jobs) {
+    }
+
+    private record DeploymentReference(String id, String snapshotId, String chainId, String domain) {
+    }
+
+    private record TriggerRoute(String elementId, String path, ElementRoute route) {
+    }
+
+    private record TriggerJob(String elementId, String jobId) {
+    }
+
+    @Autowired
+    public DeployedTriggerIndex(DeploymentRepository deploymentRepository,
+                                 ElementRepository elementRepository,
+                                 TransactionHandler transactionHandler) {
+        this.deploymentRepository = deploymentRepository;
+        this.elementRepository = elementRepository;
+        this.transactionHandler = transactionHandler;
+    }
+
+    /**
+     * Marks the index stale, it is refreshed before the next query.
+     */
+    public void invalidate() {
+        stale.set(true);
+    }
+
+    /**
+     * Refreshes the index if it is stale or deployments were changed by other instances.
+     * Unchanged deployments are detected by a single aggregate query without locking.
+     */
+    public void refreshIfChanged() {
+        if (stale.get() || !Objects.equals(deploymentRepository.findDeploymentsState(), appliedState)) {
+            refresh();
+        }
+    }
+
+    /**
+     * Applies deployments created or removed since the previous refresh.
+     */
+    public void refresh() {
+        refreshLock.lock();
+        try {
+            stale.set(false);
+            Map<String, DeploymentReference> actualDeployments = new HashMap<>();
+            Map<String, SnapshotTriggers> loadedTriggers = new HashMap<>();
+            AtomicReference<String> actualState = new AtomicReference<>();
+            transactionHandler.runInTransaction(() -> {
+                // state is taken first, changes made after it are picked up by the next refresh
+                actualState.set(deploymentRepository.findDeploymentsState());
+                for (Map<String, String> row : deploymentRepository.findDeploymentReferences()) {
+                    DeploymentReference deployment = new DeploymentReference(
+                            row.get("id"), row.get("snapshot_id"), row.get("chain_id"), row.get("domain"));
+                    actualDeployments.put(deployment.id(), deployment);
+                }
+                Set<String> newSnapshotIds = actualDeployments.values().stream()
+                        .map(DeploymentReference::snapshotId)
+                        .filter(snapshotId -> !snapshotTriggers.containsKey(snapshotId))
+                        .collect(Collectors.toSet());
+                loadedTriggers.putAll(loadTriggers(newSnapshotIds));
+            });
+
+            lock.writeLock().lock();
+            try {
+                apply(actualDeployments, loadedTriggers);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            appliedState = actualState.get();
+        } catch (RuntimeException e) {
+            stale.set(true);
+            throw e;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * Deployed routes intersecting with the route.
+     *
+     * @param filter additional condition for found routes
+     */
+    public List<IndexedRoute> findIntersecting(ElementRoute route, Predicate<IndexedRoute> filter) {
+        return find(route, filter.and(indexed -> indexed.route().intersectsWith(route)));
+    }
+
+    /**
+     * Deployed routes with the same path as the route and at least one common method.
+     *
+     * @param filter additional condition for found routes
+     */
+    public List<IndexedRoute> findSamePath(ElementRoute route, Predicate<IndexedRoute> filter) {
+        return find(route, filter.and(indexed -> indexed.route().getPath().equals(route.getPath())));
+    }
+
+    /**
+     * Deployed SDS triggers of the domain with the job id.
+     * Triggers without a job id are indexed too and found by the null job id.
+     *
+     * @param filter additional condition for found triggers
+     */
+    public List<IndexedJob> findSameJobId(String domain, String jobId, Predicate<IndexedJob> filter) {
+        if (stale.get()) {
+            refresh();
+        }
+
+        lock.readLock().lock();
+        try {
+            Set<IndexedJob> jobs = domainJobs.getOrDefault(domain, Collections.emptyMap()).get(jobId);
+            return jobs == null ? Collections.emptyList() : jobs.stream().filter(filter).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<IndexedRoute> find(ElementRoute route, Predicate<IndexedRoute> filter) {
+        if (StringUtils.isBlank(route.getPath())) {
+            return Collections.emptyList();
+        }
+        if (stale.get()) {
+            refresh();
+        }
+
+        Set<IndexedRoute> candidates = new LinkedHashSet<>();
+        lock.readLock().lock();
+        try {
+            for (HttpMethod method : CollectionUtils.emptyIfNull(route.getMethods())) {
+                HttpRouteTrie<IndexedRoute> trie = tries.get(method);
+                if (trie != null) {
+                    trie.match(route.getPath(), candidates::add);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return candidates.stream().filter(filter).toList();
+    }
+
+    private Map<String, SnapshotTriggers> loadTriggers(Set<String> snapshotIds) {
+        Map<String, SnapshotTriggers> result = new HashMap<>();
+        snapshotIds.forEach(snapshotId -> result.put(snapshotId, new SnapshotTriggers(new ArrayList<>(), new ArrayList<>())));
+        for (List<String> chunk : ListUtils.partition(new ArrayList<>(snapshotIds), LOAD_CHUNK_SIZE)) {
+            Collection<ChainElement> triggers = elementRepository.findElementsByTypesAndSnapshots(
+                    List.of(CamelNames.HTTP_TRIGGER_COMPONENT, CamelNames.SDS_TRIGGER_COMPONENT), chunk);
+            for (ChainElement trigger : triggers) {
+                SnapshotTriggers snapshot = result.get(trigger.getSnapshot().getId());
+                if (CamelNames.SDS_TRIGGER_COMPONENT.equals(trigger.getType())) {
+                    snapshot.jobs().add(new TriggerJob(trigger.getId(), getSdsTriggerJobId(trigger)));
+                } else {
+                    ElementRoute route = getHttpTriggerRoute(trigger);
+                    if (StringUtils.isNotBlank(route.getPath())) {
+                        snapshot.routes().add(new TriggerRoute(trigger.getId(), getHttpTriggerPath(trigger), route));
+                    }
+                }
+            }
+        }
+        if (!snapshotIds.isEmpty()) {
+            log.debug("Loaded triggers of {} deployed snapshots", snapshotIds.size());
+        }
+        return result;
+    }
+
+    private void apply(Map<String, DeploymentReference> actualDeployments, Map<String, SnapshotTriggers> loadedTriggers) {
+        for (DeploymentReference deployment : List.copyOf(deployments.values())) {
+            if (!deployment.equals(actualDeployments.get(deployment.id()))) {
+                removeDeployment(deployment);
+            }
+        }
+        snapshotTriggers.putAll(loadedTriggers);
+        for (DeploymentReference deployment : actualDeployments.values()) {
+            if (!deployments.containsKey(deployment.id())) {
+                addDeployment(deployment);
+            }
+        }
+        Set<String> deployedSnapshotIds = actualDeployments.values().stream()
+                .map(DeploymentReference::snapshotId)
+                .collect(Collectors.toSet());
+        snapshotTriggers.keySet().retainAll(deployedSnapshotIds);
+    }
+
+    private void addDeployment(DeploymentReference deployment) {
+        SnapshotTriggers triggers = snapshotTriggers.get(deployment.snapshotId());
+        List<IndexedRoute> routes = new ArrayList<>();
+        for (TriggerRoute trigger : triggers.routes()) {
+            IndexedRoute indexed = new IndexedRoute(deployment.id(), deployment.domain(), deployment.chainId(),
+                    deployment.snapshotId(), trigger.elementId(), trigger.path(), trigger.route());
+            for (HttpMethod method : CollectionUtils.emptyIfNull(trigger.route().getMethods())) {
+                tries.computeIfAbsent(method, key -> new HttpRouteTrie<>()).add(trigger.route().getPath(), indexed);
+            }
+            routes.add(indexed);
+        }
+        List<IndexedJob> jobs = new ArrayList<>();
+        for (TriggerJob trigger : triggers.jobs()) {
+            IndexedJob indexed = new IndexedJob(deployment.id(), deployment.domain(), deployment.chainId(),
+                    deployment.snapshotId(), trigger.elementId(), trigger.jobId());
+            domainJobs.computeIfAbsent(deployment.domain(), key -> new HashMap<>())
+                    .computeIfAbsent(trigger.jobId(), key -> new HashSet<>())
+                    .add(indexed);
+            jobs.add(indexed);
+        }
+        deployments.put(deployment.id(), deployment);
+        deploymentRoutes.put(deployment.id(), routes);
+        deploymentJobs.put(deployment.id(), jobs);
+    }
+
+    private void removeDeployment(DeploymentReference deployment) {
+        for (IndexedRoute indexed : deploymentRoutes.getOrDefault(deployment.id(), Collections.emptyList())) {
+            for (HttpMethod method : CollectionUtils.emptyIfNull(indexed.route().getMethods())) {
+                HttpRouteTrie<IndexedRoute> trie = tries.get(method);
+                if (trie != null) {
+                    trie.remove(indexed.route().getPath(), indexed);
+                    if (trie.isEmpty()) {
+                        tries.remove(method);
+                    }
+                }
+            }
+        }
+        for (IndexedJob indexed : deploymentJobs.getOrDefault(deployment.id(), Collections.emptyList())) {
+            Map<String, Set<IndexedJob>> jobs = domainJobs.get(indexed.domain());
+            Set<IndexedJob> sameIdJobs = jobs.get(indexed.jobId());
+            sameIdJobs.remove(indexed);
+            if (sameIdJobs.isEmpty()) {
+                jobs.remove(indexed.jobId());
+            }
+            if (jobs.isEmpty()) {
+                domainJobs.remove(indexed.domain());
+            }
+        }
+        deployments.remove(deployment.id());
+        deploymentRoutes.remove(deployment.id());
+        deploymentJobs.remove(deployment.id());
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.qubership.integration.platform.runtime.catalog.service.deployment;
+
+import org.qubership.integration.platform.catalog.persistence.configs.entity.system.Environment;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.system.IntegrationSystem;
+import org.qubership.integration.platform.runtime.catalog.service.EnvironmentService;
+import org.qubership.integration.platform.runtime.catalog.service.SystemService;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Lookups shared by the deployments of a single update.
+ * <p>
+ * Systems with their active environments are prefetched in batches, the rest of lookups are done once per key.
+ */
+class DeploymentBuildContext {
+    private final SystemService systemService;
+    private final EnvironmentService environmentService;
+
+    private final Map<String, IntegrationSystem> systems = new HashMap<>();
+    private final Map<String, Environment> environments = new HashMap<>();
+
+    DeploymentBuildContext(SystemService systemService, EnvironmentService environmentService) {
+        this.systemService = systemService;
+        this.environmentService = environmentService;
+    }
+
+    void prefetchSystems(Collection<String> systemIds) {
+        Set<String> missing = systemIds.stream()
+                .filter(systemId -> !systems.containsKey(systemId))
+                .collect(Collectors.toSet());
+        if (missing.isEmpty()) {
+            return;
+        }
+        List<IntegrationSystem> loaded = systemService.findAllById(missing);
+        loaded.forEach(system -> systems.put(system.getId(), system));
+        Set<String> environmentIds = loaded.stream()
+                .map(IntegrationSystem::getActiveEnvironmentId)
+                .filter(Objects::nonNull)
+                .filter(environmentId -> !environments.containsKey(environmentId))
+                .collect(Collectors.toSet());
+        if (!environmentIds.isEmpty()) {
+            environmentService.findAllById(environmentIds)
+                    .forEach(environment -> environments.put(environment.getId(), environment));
+        }
+    }
+
+    IntegrationSystem getSystem(String systemId) {
+        return systems.computeIfAbsent(systemId, systemService::findById);
+    }
+
+    Environment getEnvironment(String systemId, String environmentId) {
+        Environment environment = environments.get(environmentId);
+        if (environment == null || environment.getSystem() == null
+                || !systemId.equals(environment.getSystem().getId())) {
+            environment = environmentService.getByIdForSystem(systemId, environmentId);
+            environments.put(environmentId, environment);
+        }
+        return environment;
+    }
+}
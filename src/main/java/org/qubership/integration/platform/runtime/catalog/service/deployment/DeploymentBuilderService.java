@@ -17,9 +17,7 @@
 package org.qubership.integration.platform.runtime.catalog.service.deployment;
 
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.jetbrains.annotations.NotNull;
 import org.qubership.integration.platform.runtime.catalog.builder.BuilderConstants;
 import org.qubership.integration.platform.catalog.model.constant.CamelOptions;
 import org.qubership.integration.platform.runtime.catalog.model.deployment.update.DeploymentConfiguration;
@@ -36,19 +34,24 @@ import org.qubership.integration.platform.catalog.persistence.configs.entity.cha
 import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.element.ChainElement;
 import org.qubership.integration.platform.catalog.persistence.configs.entity.system.Environment;
 import org.qubership.integration.platform.catalog.persistence.configs.entity.system.IntegrationSystem;
+import org.qubership.integration.platform.runtime.catalog.persistence.configs.converter.DeploymentConfigurationConverter;
+import org.qubership.integration.platform.runtime.catalog.persistence.configs.converter.ElementSystemIdsConverter;
+import org.qubership.integration.platform.runtime.catalog.persistence.configs.entity.DeploymentPayload;
+import org.qubership.integration.platform.runtime.catalog.persistence.configs.repository.DeploymentPayloadRepository;
+import org.qubership.integration.platform.runtime.catalog.persistence.configs.repository.SnapshotChainCallRepository;
 import org.qubership.integration.platform.runtime.catalog.rest.v1.mapper.DeploymentRouteMapper;
 import org.qubership.integration.platform.runtime.catalog.service.*;
 import org.qubership.integration.platform.runtime.catalog.service.deployment.properties.ElementPropertiesBuilderFactory;
 import org.qubership.integration.platform.catalog.service.library.LibraryElementsService;
 import org.qubership.integration.platform.catalog.util.ElementUtils;
+import org.qubership.integration.platform.runtime.catalog.util.SnapshotXmlCodec;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static org.qubership.integration.platform.catalog.consul.ConfigurationPropertiesConstants.*;
@@ -59,54 +62,88 @@ import static org.qubership.integration.platform.catalog.model.constant.CamelNam
 @Transactional
 public class DeploymentBuilderService {
     @Deprecated(since = "23.4")
-    private static final Pattern RANDOM_ID_PLACEHOLDER_PATTERN = Pattern.compile("%%\\{random-id-placeholder}");
-    private static final Pattern DEPLOYMENT_ID_PLACEHOLDER_PATTERN = Pattern.compile("%%\\{deployment-id-placeholder}");
+    private static final String RANDOM_ID_PLACEHOLDER = "%%{random-id-placeholder}";
+    private static final String DEPLOYMENT_ID_PLACEHOLDER = "%%{deployment-id-placeholder}";
     private static final String DOMAIN_PLACEHOLDER = "%%{domain-placeholder}";
     private static final String SEQUENTAL_DEPLOYMENT_NOT_AVALIABLE = "Sequential deployment of all related sub-chains is not available, hence it will be performed in common mode.";
-    private static final String CHAIN_CIRCLE_DEPENDENCY_ERROR_MESSAGE = "Found cyclic dependency for chain with id {}. " + SEQUENTAL_DEPLOYMENT_NOT_AVALIABLE;
-    private static final String NO_CHAIN_CHAIN_TRIGGER_FOUND_ERROR_MESSAGE = "Unable to find chain trigger with id: {}. " + SEQUENTAL_DEPLOYMENT_NOT_AVALIABLE;
     private static final String UNEXPECTED_ERROR_DURING_COLLECTING_DEPENDENCY_ERROR_MESSAGE = "Unexpected error during collecting list of dependency chains. " + SEQUENTAL_DEPLOYMENT_NOT_AVALIABLE;
-    private static final String CHAIN_TRIGGER_SPECIFIED_FOR_CHAIN_CALL_ERROR_MESSAGE = "Chain trigger is not specified for Chain Call element with id: {}" + SEQUENTAL_DEPLOYMENT_NOT_AVALIABLE;
 
     private final ChainService chainService;
     private final SnapshotService snapshotService;
-    private final ElementService elementService;
     private final ElementUtils elementUtils;
     private final ElementPropertiesBuilderFactory elementPropertiesBuilderFactory;
     private final LibraryElementsService libraryService;
     private final DeploymentRouteMapper deploymentRouteMapper;
     private final SystemService systemService;
     private final EnvironmentService environmentService;
+    private final DeploymentPayloadRepository deploymentPayloadRepository;
+    private final SnapshotChainCallRepository snapshotChainCallRepository;
+    private final DeploymentConfigurationConverter configurationConverter = new DeploymentConfigurationConverter();
+    private final ElementSystemIdsConverter systemIdsConverter = new ElementSystemIdsConverter();
 
     @Autowired
     public DeploymentBuilderService(
             @Lazy ChainService chainService,
             @Lazy SnapshotService snapshotService,
-            ElementService elementService,
             ElementUtils elementUtils,
             ElementPropertiesBuilderFactory elementPropertiesBuilderFactory,
             LibraryElementsService libraryService,
             DeploymentRouteMapper deploymentRouteMapper,
             SystemService systemService,
-            EnvironmentService environmentService) {
+            EnvironmentService environmentService,
+            DeploymentPayloadRepository deploymentPayloadRepository,
+            SnapshotChainCallRepository snapshotChainCallRepository) {
         this.chainService = chainService;
         this.snapshotService = snapshotService;
-        this.elementService = elementService;
         this.elementUtils = elementUtils;
         this.elementPropertiesBuilderFactory = elementPropertiesBuilderFactory;
         this.libraryService = libraryService;
         this.deploymentRouteMapper = deploymentRouteMapper;
         this.systemService = systemService;
         this.environmentService = environmentService;
+        this.deploymentPayloadRepository = deploymentPayloadRepository;
+        this.snapshotChainCallRepository = snapshotChainCallRepository;
     }
 
+    /**
+     * Assembles updates from stored deployment payloads. Payloads not stored yet for deployments
+     * created before payloads were introduced are computed, but not stored, see {@link DeploymentPayloadBackfillService}.
+     * XML configuration is taken from the snapshot, names of external systems and their active environments
+     * are resolved on each call.
+     */
     public List<DeploymentUpdate> buildDeploymentsUpdate(List<Deployment> deployments) {
+        Map<String, DeploymentPayload> payloads = deploymentPayloadRepository
+                .findAllById(deployments.stream().map(Deployment::getId).toList())
+                .stream()
+                .collect(Collectors.toMap(DeploymentPayload::getDeploymentId, Function.identity()));
+        Map<String, Chain> chains = chainService
+                .findAllById(deployments.stream().map(deployment -> deployment.getChain().getId()).distinct().toList())
+                .stream()
+                .collect(Collectors.toMap(Chain::getId, Function.identity()));
+        Set<String> snapshotIds = deployments.stream()
+                .map(deployment -> deployment.getSnapshot().getId())
+                .collect(Collectors.toSet());
+        Map<String, Snapshot> snapshots = snapshotService.findAllById(snapshotIds).stream()
+                .collect(Collectors.toMap(Snapshot::getId, Function.identity()));
+
+        deployments.stream()
+                .filter(deployment -> !payloads.containsKey(deployment.getId()))
+                .forEach(deployment -> payloads.put(deployment.getId(), buildPayload(deployment)));
+
+        ChainCallGraph chainCalls = loadChainCallGraph(deployments);
+        DeploymentBuildContext context = createBuildContext();
+        context.prefetchSystems(payloads.values().stream()
+                .flatMap(payload -> payload.getElementSystemIds().values().stream())
+                .collect(Collectors.toSet()));
+
         List<DeploymentUpdate> result = new ArrayList<>();
         for (Deployment deployment : deployments) {
-            Chain chain = chainService.findById(deployment.getChain().getId());
-            Snapshot snapshot = snapshotService.findById(deployment.getSnapshot().getId());
+            String chainId = deployment.getChain().getId();
+            Chain chain = Optional.ofNullable(chains.get(chainId)).orElseGet(() -> chainService.findById(chainId));
+            String snapshotId = deployment.getSnapshot().getId();
+            Snapshot snapshot = Optional.ofNullable(snapshots.get(snapshotId)).orElseGet(() -> snapshotService.findById(snapshotId));
 
-            DeploymentConfiguration config = createUpdateDeploymentConfiguration(deployment);
+            DeploymentPayload payload = payloads.get(deployment.getId());
 
             result.add(DeploymentUpdate.builder()
                     .deploymentInfo(DeploymentInfo.builder()
@@ -116,19 +153,83 @@ public class DeploymentBuilderService {
                             .snapshotName(snapshot.getName())
                             .snapshotId(snapshot.getId())
                             .createdWhen(deployment.getCreatedWhen().getTime())
-                            .containsCheckpointElements(containsCheckpointsElements(config.getProperties()))
-                            .containsSchedulerElements(containsSchedulerElements(config.getProperties()))
-                            .dependencyChainIds(getDependencyList(deployment))
+                            .containsCheckpointElements(payload.isContainsCheckpointElements())
+                            .containsSchedulerElements(payload.isContainsSchedulerElements())
+                            .dependencyChainIds(chainCalls.getDependencies(
+                                    ChainCallGraph.Source.snapshot(snapshotId, chainId)))
                             .build())
                     .maskedFields(chain.getMaskedFields().stream()
                                     .map(MaskedField::getName)
                                     .collect(Collectors.toSet()))
-                    .configuration(config)
+                    .configuration(resolveConfiguration(payload, replacePlaceholders(snapshot, deployment), context))
                     .build());
         }
         return result;
     }
 
+    /**
+     * Computes engine payload of the deployment and stores it unless it is already stored
+     */
+    public DeploymentPayload createPayload(Deployment deployment) {
+        DeploymentPayload payload = buildPayload(deployment);
+        deploymentPayloadRepository.insertIfAbsent(
+                payload.getDeploymentId(),
+                configurationConverter.convertToDatabaseColumn(payload.getConfiguration()),
+                payload.isContainsCheckpointElements(),
+                payload.isContainsSchedulerElements(),
+                systemIdsConverter.convertToDatabaseColumn(payload.getElementSystemIds()));
+        return payload;
+    }
+
+    private DeploymentPayload buildPayload(Deployment deployment) {
+        DeploymentConfiguration config = createUpdateDeploymentConfiguration(deployment);
+        return DeploymentPayload.builder()
+                .deploymentId(deployment.getId())
+                .configuration(config)
+                .containsCheckpointElements(containsCheckpointsElements(config.getProperties()))
+                .containsSchedulerElements(containsSchedulerElements(config.getProperties()))
+                .elementSystemIds(getElementSystemIds(deployment.getSnapshot().getElements()))
+                .build();
+    }
+
+    /**
+     * Returns configuration of the payload with the given XML and with external system and environment names
+     * added to properties of service call elements. Stored configuration is not modified.
+     */
+    private DeploymentConfiguration resolveConfiguration(DeploymentPayload payload, String xml, DeploymentBuildContext context) {
+        DeploymentConfiguration config = payload.getConfiguration();
+        return DeploymentConfiguration.builder()
+                .xml(xml)
+                .properties(resolveExternalServiceNames(config.getProperties(), payload.getElementSystemIds(), context))
+                .routes(config.getRoutes())
+                .build();
+    }
+
+    private List<ElementProperties> resolveExternalServiceNames(List<ElementProperties> elementProperties,
+                                                                Map<String, String> elementSystemIds,
+                                                                DeploymentBuildContext context) {
+        if (elementSystemIds.isEmpty()) {
+            return elementProperties;
+        }
+        return elementProperties.stream()
+                .map(properties -> {
+                    String systemId = elementSystemIds.get(properties.getElementId());
+                    if (systemId == null) {
+                        return properties;
+                    }
+                    Map<String, String> resolved = new HashMap<>(properties.getProperties());
+                    IntegrationSystem system = context.getSystem(systemId);
+                    resolved.put(EXTERNAL_SERVICE_NAME, system.getName());
+                    String activeEnvironmentId = system.getActiveEnvironmentId();
+                    if (StringUtils.isNotEmpty(activeEnvironmentId)) {
+                        Environment env = context.getEnvironment(systemId, activeEnvironmentId);
+                        resolved.put(EXTERNAL_SERVICE_ENV_NAME, env.getName());
+                    }
+                    return ElementProperties.builder().elementId(properties.getElementId()).properties(resolved).build();
+                })
+                .toList();
+    }
+
     public List<DeploymentUpdate> buildDeploymentsStop(List<DeploymentInfo> deployments) {
         List<DeploymentUpdate> result = new ArrayList<>();
         for (DeploymentInfo info : deployments) {
@@ -139,6 +240,25 @@ public class DeploymentBuilderService {
         return result;
     }
 
+    private DeploymentBuildContext createBuildContext() {
+        return new DeploymentBuildContext(systemService, environmentService);
+    }
+
+    private static Map<String, String> getElementSystemIds(Collection<ChainElement> elements) {
+        return elements.stream()
+                .filter(DeploymentBuilderService::isExternalServiceCall)
+                .filter(element -> StringUtils.isNotEmpty((String) element.getProperty(CamelOptions.SYSTEM_ID)))
+                .collect(Collectors.toMap(ChainElement::getId, element -> (String) element.getProperty(CamelOptions.SYSTEM_ID)));
+    }
+
+    private static boolean isExternalServiceCall(ChainElement element) {
+        return SERVICE_CALL_ELEMENT.equals(element.getType())
+                && IntegrationSystemType.EXTERNAL.name().equals(element.getProperty(CamelOptions.SYSTEM_TYPE));
+    }
+
+    /**
+     * Configuration of the deployment to store, XML is not included, it is taken from the snapshot on each update
+     */
     private DeploymentConfiguration createUpdateDeploymentConfiguration(Deployment deployment) {
         Snapshot snapshot = deployment.getSnapshot();
 
@@ -178,27 +298,11 @@ public class DeploymentBuilderService {
                             properties.put(REUSE_ORIGINAL_ID, element.getParent().getOriginalId());
                         }
                     }
-                    if (SERVICE_CALL_ELEMENT.equals(element.getType())) {
-                        if (IntegrationSystemType.EXTERNAL.name().equals(element.getProperty(CamelOptions.SYSTEM_TYPE))) {
-                            String systemId = (String) element.getProperty(CamelOptions.SYSTEM_ID);
-                            if (StringUtils.isNotEmpty(systemId)) {
-                                IntegrationSystem system = systemService.findById(systemId);
-                                properties.put(EXTERNAL_SERVICE_NAME, system.getName());
-                                String activeEnvironmentId = system.getActiveEnvironmentId();
-                                if (StringUtils.isNotEmpty(activeEnvironmentId)) {
-                                    Environment env = environmentService.getByIdForSystem(systemId, activeEnvironmentId);
-                                    properties.put(EXTERNAL_SERVICE_ENV_NAME, env.getName());
-                                }
-                            }
-                        }
-                    }
                     return ElementProperties.builder().elementId(element.getId()).properties(properties).build();
                 })
                 .forEach(elementProperties::add);
 
-        String xml = replacePlaceholders(snapshot, deployment);
         return DeploymentConfiguration.builder()
-                .xml(xml)
                 .properties(elementProperties)
                 .routes(deploymentRouteMapper.asUpdates(deployment.getDeploymentRoutes()))
                 .build();
@@ -217,136 +321,23 @@ public class DeploymentBuilderService {
     }
 
     private String replacePlaceholders(Snapshot snapshot, Deployment deployment) {
-        StringBuilder result = replacePlaceholder(
-                snapshot.getXmlDefinition(),
-                UUID.randomUUID().toString(),
-                RANDOM_ID_PLACEHOLDER_PATTERN); // TODO deprecated and must not be used!
-        result = replacePlaceholder(result.toString(), deployment.getId(), DEPLOYMENT_ID_PLACEHOLDER_PATTERN);
-        return result.toString().replace(DOMAIN_PLACEHOLDER, deployment.getDomain().toLowerCase());
-    }
-
-    @NotNull
-    private static StringBuilder replacePlaceholder(String input, String replacement, Pattern pattern) {
-        Matcher matcher = pattern.matcher(input);
-        StringBuilder result = new StringBuilder();
-        while (matcher.find()) {
-            matcher.appendReplacement(result, replacement);
-        }
-        matcher.appendTail(result);
-        return result;
+        return SnapshotXmlCodec.decode(snapshot.getXmlDefinition(), Map.of(
+                RANDOM_ID_PLACEHOLDER, UUID.randomUUID().toString(), // TODO deprecated and must not be used!
+                DEPLOYMENT_ID_PLACEHOLDER, deployment.getId(),
+                DOMAIN_PLACEHOLDER, deployment.getDomain().toLowerCase()));
     }
 
-    private List<String> getDependencyList(Deployment deployment) {
-        Map<String, Set<String>> adjacencyMatrix = new HashMap<>();
-        Set<String> absentChainTriggers = new HashSet<>();
-        String chainId = deployment.getChain().getId();
-        String snapshotId = deployment.getSnapshot().getId();
-
+    private ChainCallGraph loadChainCallGraph(List<Deployment> deployments) {
         try {
-            fillAdjacencyLists(
-                    chainId,
-                    elementService.findElementsByTypesAndSnapshots(List.of(CHAIN_CALL_2_COMPONENT), List.of(snapshotId)),
-                    adjacencyMatrix,
-                    absentChainTriggers
-            );
-
-            return isCircleDependencyFound(adjacencyMatrix) && absentChainTriggers.isEmpty()
-                    ? Collections.EMPTY_LIST
-                    : adjacencyMatrix
-                            .values()
-                            .stream()
-                            .flatMap(Collection::stream)
-                            .distinct()
-                            .toList();
-        } catch (Throwable e) {
-            return Collections.EMPTY_LIST;
+            return ChainCallGraph.load(
+                    deployments.stream()
+                            .map(deployment -> ChainCallGraph.Source.snapshot(
+                                    deployment.getSnapshot().getId(), deployment.getChain().getId()))
+                            .collect(Collectors.toSet()),
+                    snapshotChainCallRepository);
+        } catch (Exception e) {
+            log.warn(UNEXPECTED_ERROR_DURING_COLLECTING_DEPENDENCY_ERROR_MESSAGE, e);
+            return ChainCallGraph.empty();
         }
     }
-
-
-    private void fillAdjacencyLists(String currentChainId,
-                                    Collection<ChainElement> chainCallElements,
-                                    Map<String, Set<String>> adjacencyMatrix,
-                                    Set<String> absentChainTriggers) {
-        //Self called circle case
-        if (adjacencyMatrix.getOrDefault(currentChainId, new HashSet<>()).contains(currentChainId)) {
-            return;
-        }
-        try {
-            if (!CollectionUtils.isEmpty(chainCallElements)) {
-                adjacencyMatrix.putIfAbsent(currentChainId, new HashSet<>());
-                for (ChainElement chainCallElement : chainCallElements) {
-                    String elementId = (String) chainCallElement.getProperties().getOrDefault("elementId", null);
-                    if (elementId == null) {
-                        log.error(CHAIN_TRIGGER_SPECIFIED_FOR_CHAIN_CALL_ERROR_MESSAGE, chainCallElement.getId());
-                        adjacencyMatrix.clear();
-                        return;
-                    }
-
-                    Snapshot chainTriggerSnapshot = null;
-                    Chain chainTriggerChain = null;
-
-                    //Try to find deployed chainTrigger version
-                    Optional<ChainElement> chainTrigger = elementService.findAllDeployedElementByOriginalId(elementId);
-                    if (chainTrigger.isPresent()) {
-                        chainTriggerSnapshot = chainTrigger.get().getSnapshot();
-                        chainTriggerChain = chainTriggerSnapshot.getChain();
-                    }
-
-                    //Try to find undeployed chainTrigger version
-                    if (chainTrigger.isEmpty()) {
-                        chainTrigger = elementService.findByIdOptional(elementId);
-                        chainTriggerChain = chainTrigger.isPresent() ? chainTrigger.get().getChain() : null;
-                    }
-
-                    if (chainTrigger.isPresent()) {
-                        if (chainTriggerChain != null) {
-                            String chainTriggerChainId = chainTriggerChain.getId();
-
-                            //Transitive circle case
-                            if (adjacencyMatrix.get(currentChainId).contains(chainTriggerChainId)) {
-                                return;
-                            }
-                            adjacencyMatrix.get(currentChainId).add(chainTriggerChainId);
-
-                            Collection<ChainElement> nestedChainCalls;
-                            if (chainTriggerSnapshot != null) {
-                                nestedChainCalls = elementService.findElementsByTypesAndSnapshots(List.of(CHAIN_CALL_2_COMPONENT), List.of(chainTriggerSnapshot.getId()));
-                            } else {
-                                nestedChainCalls = elementService.findAllByChainIdAndTypeIn(chainTriggerChainId, List.of(CHAIN_CALL_2_COMPONENT));
-                            }
-                            if (!nestedChainCalls.isEmpty()) {
-                                fillAdjacencyLists(chainTriggerChainId, nestedChainCalls, adjacencyMatrix, absentChainTriggers);
-                            }
-                        }
-                    } else {
-                        log.warn(NO_CHAIN_CHAIN_TRIGGER_FOUND_ERROR_MESSAGE, elementId);
-                        absentChainTriggers.add(elementId);
-                    }
-                }
-            }
-        } catch (Throwable e) {
-            log.warn(UNEXPECTED_ERROR_DURING_COLLECTING_DEPENDENCY_ERROR_MESSAGE);
-            adjacencyMatrix.clear();
-        }
-    }
-
-    private boolean isCircleDependencyFound(Map<String, Set<String>> adjacencyMatrix) {
-        boolean isCircleDependencyFound = false;
-        Iterator<Map.Entry<String, Set<String>>> adjacencyMatrixIterator = adjacencyMatrix.entrySet().iterator();
-
-        while (adjacencyMatrixIterator.hasNext() && !isCircleDependencyFound) {
-            Map.Entry<String, Set<String>> adjacencyRow = adjacencyMatrixIterator.next();
-            isCircleDependencyFound = adjacencyMatrix
-                    .getOrDefault(adjacencyRow.getKey(), Collections.emptySet())
-                    .stream()
-                    .anyMatch(comparedRow -> comparedRow.equals(adjacencyRow.getKey()));
-            if (isCircleDependencyFound) {
-                log.warn(CHAIN_CIRCLE_DEPENDENCY_ERROR_MESSAGE, adjacencyRow.getKey());
-            }
-        }
-
-        return isCircleDependencyFound;
-    }
-
 }
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.service.deployment;
+
+import lombok.extern.slf4j.Slf4j;
+import org.qubership.integration.platform.catalog.context.RequestIdContext;
+import org.qubership.integration.platform.catalog.persistence.TransactionHandler;
+import org.qubership.integration.platform.runtime.catalog.persistence.configs.repository.DeploymentPayloadRepository;
+import org.qubership.integration.platform.runtime.catalog.persistence.configs.repository.DeploymentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Stores payloads of deployments created before payloads were introduced.
+ * Runs in background after startup, each payload is stored in a separate transaction.
+ * Once all payloads are stored, a run only executes a single query returning no rows.
+ */
+@Slf4j
+@Service
+public class DeploymentPayloadBackfillService {
+    private final DeploymentPayloadRepository deploymentPayloadRepository;
+    private final DeploymentRepository deploymentRepository;
+    private final DeploymentBuilderService deploymentBuilderService;
+    private final TransactionHandler transactionHandler;
+    private final boolean enabled;
+    private final int chunk;
+
+    @Autowired
+    public DeploymentPayloadBackfillService(DeploymentPayloadRepository deploymentPayloadRepository,
+                                            DeploymentRepository deploymentRepository,
+                                            DeploymentBuilderService deploymentBuilderService,
+                                            TransactionHandler transactionHandler,
+                                            @Value("${qip.deployments.payloads.backfill.enabled:true}") boolean enabled,
+                                            @Value("${qip.deployments.payloads.backfill.chunk:100}") int chunk) {
+        this.deploymentPayloadRepository = deploymentPayloadRepository;
+        this.deploymentRepository = deploymentRepository;
+        this.deploymentBuilderService = deploymentBuilderService;
+        this.transactionHandler = transactionHandler;
+        this.enabled = enabled;
+        this.chunk = chunk;
+    }
+
+    @EventListener
+    public void onApplicationReady(ApplicationReadyEvent event) {
+        if (!enabled) {
+            return;
+        }
+
+        String requestId = RequestIdContext.get();
+        CompletableFuture.runAsync(() -> {
+            RequestIdContext.set(requestId);
+            storeMissingPayloads();
+        }).whenCompleteAsync((ignored, throwable) -> {
+            RequestIdContext.set(requestId);
+            if (throwable != null) {
+                log.error("Exception during deployment payloads backfill", throwable);
+            }
+        });
+    }
+
+    void storeMissingPayloads() {
+        int stored = 0;
+        String afterId = "";
+        List<String> deploymentIds;
+        do {
+            deploymentIds = deploymentPayloadRepository.findDeploymentIdsWithoutPayload(afterId, chunk);
+            for (String deploymentId : deploymentIds) {
+                try {
+                    transactionHandler.runInNewTransaction(() -> deploymentRepository.findById(deploymentId)
+                            .ifPresent(deploymentBuilderService::createPayload));
+                    stored++;
+                } catch (Exception e) {
+                    // the payload is computed on each engine update until it is stored
+                    log.warn("Failed to store payload of deployment {}: {}", deploymentId, e.getMessage());
+                }
+                afterId = deploymentId;
+            }
+        } while (deploymentIds.size() == chunk);
+
+        if (stored > 0) {
+            log.info("Deployment payloads stored: {}", stored);
+        }
+    }
+}
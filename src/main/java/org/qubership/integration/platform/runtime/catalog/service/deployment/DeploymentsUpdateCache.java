@@ -0,0 +1,124 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.service.deployment;
+
+import lombok.extern.slf4j.Slf4j;
+import org.qubership.integration.platform.runtime.catalog.model.deployment.update.SerializedDeploymentsUpdate;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Serialized full deployments updates by domain.
+ * <p>
+ * Each domain has a version bumped when deployments of the domain are changed, a cached update is valid
+ * only for the version it was built for. Concurrent requests for a domain without a valid update
+ * wait for a single build.
+ */
+@Slf4j
+@Component
+public class DeploymentsUpdateCache {
+    private record Entry(long version, CompletableFuture<SerializedDeploymentsUpdate> update) {}
+
+    private final Map<String, Long> versions = new ConcurrentHashMap<>();
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private volatile Map<String, String> domainStates;
+
+    public SerializedDeploymentsUpdate get(String domain, Supplier<SerializedDeploymentsUpdate> builder) {
+        long version = versions.getOrDefault(domain, 0L);
+        Entry entry = entries.get(domain);
+        if (entry == null || entry.version() != version) {
+            Entry newEntry = new Entry(version, new CompletableFuture<>());
+            entry = entries.compute(domain, (key, current) ->
+                    current != null && current.version() == version ? current : newEntry);
+            if (entry == newEntry) {
+                build(domain, newEntry, builder);
+            }
+        }
+        try {
+            return entry.update().join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    private void build(String domain, Entry entry, Supplier<SerializedDeploymentsUpdate> builder) {
+        try {
+            entry.update().complete(builder.get());
+        } catch (Throwable e) {
+            entries.remove(domain, entry);
+            entry.update().completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Invalidates updates of the domains changed by this instance.
+     */
+    public void invalidate(Collection<String> domains) {
+        domains.forEach(this::invalidate);
+    }
+
+    /**
+     * Called when deployments are reported as changed, possibly by another instance.
+     * Invalidates updates of the domains whose deployments state differs from the previously known one.
+     * If there is no previously known state or no domain state has changed, the change is not visible
+     * in the states and all updates are invalidated.
+     *
+     * @param states deployments state by domain, for example a digest of deployment ids
+     */
+    public void refresh(Map<String, String> states) {
+        Map<String, String> previousStates = domainStates;
+        domainStates = Map.copyOf(states);
+
+        Set<String> changedDomains = new HashSet<>();
+        if (previousStates != null) {
+            Set<String> domains = new HashSet<>(previousStates.keySet());
+            domains.addAll(states.keySet());
+            domains.stream()
+                    .filter(domain -> !states.getOrDefault(domain, "").equals(previousStates.getOrDefault(domain, "")))
+                    .forEach(changedDomains::add);
+        }
+
+        if (changedDomains.isEmpty()) {
+            log.debug("Deployments are changed, invalidating all domains");
+            invalidateAll();
+            return;
+        }
+        changedDomains.forEach(domain -> {
+            log.debug("Deployments of domain {} are changed", domain);
+            invalidate(domain);
+        });
+    }
+
+    private void invalidateAll() {
+        Set<String> domains = new HashSet<>(entries.keySet());
+        domains.addAll(versions.keySet());
+        invalidate(domains);
+    }
+
+    private void invalidate(String domain) {
+        versions.merge(domain, 1L, Long::sum);
+        entries.remove(domain);
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.service.deployment;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Path trie of HTTP routes.
+ * <p>
+ * Paths are split into segments, a template segment ({@code {id}}) is stored as a wildcard that
+ * matches any single segment and a segment with an asterisk as a wildcard that matches the rest of the path.
+ * Matching is case-insensitive and ignores empty segments and query, so it finds every route
+ * that may intersect with the given one, callers check found routes precisely.
+ */
+final class HttpRouteTrie<T> {
+    private final Node<T> root = new Node<>();
+
+    void add(String path, T value) {
+        Node<T> node = root;
+        for (String segment : split(path)) {
+            if (isTail(segment)) {
+                node.tails.add(value);
+                return;
+            }
+            node = isVariable(segment)
+                    ? (node.variable == null ? node.variable = new Node<>() : node.variable)
+                    : node.literals.computeIfAbsent(segment, key -> new Node<>());
+        }
+        node.values.add(value);
+    }
+
+    void remove(String path, T value) {
+        remove(root, split(path), 0, value);
+    }
+
+    /**
+     * Passes every route that may intersect with the path to the consumer, a route may be passed more than once.
+     */
+    void match(String path, Consumer<T> consumer) {
+        match(root, split(path), 0, consumer);
+    }
+
+    boolean isEmpty() {
+        return root.isEmpty();
+    }
+
+    private static <T> boolean remove(Node<T> node, List<String> segments, int index, T value) {
+        if (index == segments.size()) {
+            node.values.remove(value);
+            return node.isEmpty();
+        }
+        String segment = segments.get(index);
+        if (isTail(segment)) {
+            node.tails.remove(value);
+        } else if (isVariable(segment)) {
+            if (node.variable != null && remove(node.variable, segments, index + 1, value)) {
+                node.variable = null;
+            }
+        } else {
+            Node<T> child = node.literals.get(segment);
+            if (child != null && remove(child, segments, index + 1, value)) {
+                node.literals.remove(segment);
+            }
+        }
+        return node.isEmpty();
+    }
+
+    private static <T> void match(Node<T> node, List<String> segments, int index, Consumer<T> consumer) {
+        node.tails.forEach(consumer);
+        if (index == segments.size()) {
+            node.values.forEach(consumer);
+            return;
+        }
+        String segment = segments.get(index);
+        if (isTail(segment)) {
+            collectAll(node, consumer);
+            return;
+        }
+        if (node.variable != null) {
+            match(node.variable, segments, index + 1, consumer);
+        }
+        if (isVariable(segment)) {
+            for (Node<T> child : node.literals.values()) {
+                match(child, segments, index + 1, consumer);
+            }
+        } else {
+            Node<T> child = node.literals.get(segment);
+            if (child != null) {
+                match(child, segments, index + 1, consumer);
+            }
+        }
+    }
+
+    private static <T> void collectAll(Node<T> node, Consumer<T> consumer) {
+        Deque<Node<T>> stack = new ArrayDeque<>();
+        stack.push(node);
+        while (!stack.isEmpty()) {
+            Node<T> current = stack.pop();
+            current.tails.forEach(consumer);
+            current.values.forEach(consumer);
+            if (current.variable != null) {
+                stack.push(current.variable);
+            }
+            current.literals.values().forEach(stack::push);
+        }
+    }
+
+    private static List<String> split(String path) {
+        String withoutQuery = StringUtils.substringBefore(StringUtils.defaultString(path), '?');
+        List<String> segments = new ArrayList<>();
+        for (String segment : StringUtils.split(withoutQuery, '/')) {
+            segments.add(segment.toLowerCase(Locale.ROOT));
+        }
+        return segments;
+    }
+
+    private static boolean isVariable(String segment) {
+        return segment.indexOf('{') >= 0;
+    }
+
+    private static boolean isTail(String segment) {
+        return segment.indexOf('*') >= 0;
+    }
+
+    private static final class Node<T> {
+        private final Map<String, Node<T>> literals = new HashMap<>();
+        private Node<T> variable;
+        private final Set<T> values = new HashSet<>();
+        private final Set<T> tails = new HashSet<>();
+
+        private boolean isEmpty() {
+            return literals.isEmpty() && variable == null && values.isEmpty() && tails.isEmpty();
+        }
+    }
+}
@@ -60,6 +60,7 @@ import org.springframework.transaction.support.TransactionTemplate;
 import java.io.File;
 import java.nio.file.Files;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -535,15 +536,14 @@ public class ChainImportService {
         return chainFiles[0];
     }
 
+    private void calculateSnapshotBuildStatus(String importId, int total, int counter) {
+        importProgressService.calculateImportStatus(
+                importId, total, counter, ImportSessionService.CHAIN_IMPORT_PERCENTAGE_THRESHOLD, ImportSessionService.SNAPSHOT_BUILD_PERCENTAGE_THRESHOLD);
+    }
+
     private void makeDeployActions(List<ImportChainResult> chainsResult, List<ChainCommitRequest> commitRequests, String importId, Set<String> technicalLabels) {
-        List<ChainDeployPrepare> preparedDeployments = new ArrayList<>();
-        int total = chainsResult.size();
-        int counter = 0;
+        Map<String, ChainCommitRequest> chainsToBuild = new LinkedHashMap<>();
         for (ImportChainResult chainResult : chainsResult) {
-            importProgressService.calculateImportStatus(
-                    importId, total, counter, ImportSessionService.CHAIN_IMPORT_PERCENTAGE_THRESHOLD, ImportSessionService.SNAPSHOT_BUILD_PERCENTAGE_THRESHOLD);
-            counter++;
-
             if (chainResult.getStatus() == ImportEntityStatus.ERROR
                     || chainResult.getStatus() == ImportEntityStatus.IGNORED) {
                 continue;
@@ -559,26 +559,44 @@ public class ChainImportService {
                     continue;
                 }
             }
+            chainsToBuild.put(chainResult.getId(), request);
+        }
 
-            try {
-                Snapshot snapshot = snapshotService.build(chainResult.getId(), technicalLabels);
-                if (request != null) {
-                    if (request.getDeployAction() == ChainCommitRequestAction.SNAPSHOT) {
-                        continue;
-                    }
-                    if (request.getDeployAction() == ChainCommitRequestAction.DEPLOY && CollectionUtils.isNotEmpty(request.getDomains())) {
-                        List<DeploymentExternalEntity> deployments = request.getDomains().stream()
-                                .map(domain -> DeploymentExternalEntity.builder().domain(domain.getName()).build())
-                                .collect(Collectors.toList());
-                        chainResult.setDeployments(deployments);
-                    }
+        Map<String, Exception> buildErrors = new HashMap<>();
+        int total = chainsToBuild.size();
+        AtomicInteger built = new AtomicInteger();
+        calculateSnapshotBuildStatus(importId, total, 0);
+        Map<String, Snapshot> snapshots = snapshotService.buildAll(chainsToBuild.keySet(), technicalLabels, buildErrors::put,
+                chainId -> calculateSnapshotBuildStatus(importId, total, built.incrementAndGet()));
+
+        List<ChainDeployPrepare> preparedDeployments = new ArrayList<>();
+        for (ImportChainResult chainResult : chainsResult) {
+            if (!chainsToBuild.containsKey(chainResult.getId())) {
+                continue;
+            }
+
+            Exception buildError = buildErrors.get(chainResult.getId());
+            if (buildError != null) {
+                chainResult.setStatus(ImportEntityStatus.ERROR);
+                chainResult.setErrorMessage(SAVED_WITHOUT_SNAPSHOT_ERROR_MESSAGE + buildError.getMessage());
+                continue;
+            }
+
+            Snapshot snapshot = snapshots.get(chainResult.getId());
+            ChainCommitRequest request = chainsToBuild.get(chainResult.getId());
+            if (request != null) {
+                if (request.getDeployAction() == ChainCommitRequestAction.SNAPSHOT) {
+                    continue;
                 }
-                if (CollectionUtils.isNotEmpty(chainResult.getDeployments())) {
-                    preparedDeployments.add(new ChainDeployPrepare(chainResult, snapshot));
+                if (request.getDeployAction() == ChainCommitRequestAction.DEPLOY && CollectionUtils.isNotEmpty(request.getDomains())) {
+                    List<DeploymentExternalEntity> deployments = request.getDomains().stream()
+                            .map(domain -> DeploymentExternalEntity.builder().domain(domain.getName()).build())
+                            .collect(Collectors.toList());
+                    chainResult.setDeployments(deployments);
                 }
-            } catch (Exception e) {
-                chainResult.setStatus(ImportEntityStatus.ERROR);
-                chainResult.setErrorMessage(SAVED_WITHOUT_SNAPSHOT_ERROR_MESSAGE + e.getMessage());
+            }
+            if (CollectionUtils.isNotEmpty(chainResult.getDeployments())) {
+                preparedDeployments.add(new ChainDeployPrepare(chainResult, snapshot));
             }
         }
 
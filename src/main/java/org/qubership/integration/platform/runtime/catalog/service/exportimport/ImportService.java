@@ -70,6 +70,7 @@ import java.nio.file.Files;
 import java.sql.Timestamp;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -357,13 +358,8 @@ public class ImportService {
                                                       List<ChainCommitRequest> commitRequests,
                                                       String importId,
                                                       Set<String> technicalLabels) {
-        List<ChainDeployPrepare> preparedDeployments = new ArrayList<>();
-        int total = chainDTOs.size();
-        int counter = 0;
+        Map<String, ChainCommitRequest> chainsToBuild = new LinkedHashMap<>();
         for (ImportChainResult chainDTO : chainDTOs) {
-            calculateSnapshotAsyncStatus(importId, total, counter);
-            counter++;
-
             if (chainDTO.getStatus() == ImportEntityStatus.ERROR) {
                 continue;
             }
@@ -376,10 +372,32 @@ public class ImportService {
                     continue;
                 }
             }
+            chainsToBuild.put(chainDTO.getId(), request);
+        }
+
+        Map<String, Exception> buildErrors = new HashMap<>();
+        int total = chainsToBuild.size();
+        AtomicInteger built = new AtomicInteger();
+        calculateSnapshotAsyncStatus(importId, total, 0);
+        Map<String, Snapshot> snapshots = snapshotService.buildAll(chainsToBuild.keySet(), technicalLabels, buildErrors::put,
+                chainId -> calculateSnapshotAsyncStatus(importId, total, built.incrementAndGet()));
+
+        List<ChainDeployPrepare> preparedDeployments = new ArrayList<>();
+        for (ImportChainResult chainDTO : chainDTOs) {
+            if (!chainsToBuild.containsKey(chainDTO.getId())) {
+                continue;
+            }
+
+            Exception buildError = buildErrors.get(chainDTO.getId());
+            if (buildError != null) {
+                chainDTO.setStatus(ImportEntityStatus.ERROR);
+                chainDTO.setErrorMessage(SAVED_WITHOUT_SNAPSHOT_ERROR_MESSAGE + buildError.getMessage());
+                continue;
+            }
 
             try {
-                Snapshot snapshot = snapshotService.build(chainDTO.getId(), technicalLabels);
-                mergeDeploymentInfo(chainDTO, request);
+                Snapshot snapshot = snapshots.get(chainDTO.getId());
+                mergeDeploymentInfo(chainDTO, chainsToBuild.get(chainDTO.getId()));
                 if (chainDTO.getDeployAction() == ChainCommitRequestAction.DEPLOY) {
                     if (!CollectionUtils.isEmpty(chainDTO.getDeployments())) {
                         preparedDeployments.add(new ChainDeployPrepare(chainDTO, snapshot));
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.util;
+
+import org.qubership.integration.platform.catalog.context.RequestIdContext;
+import org.slf4j.MDC;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fixed pool of daemon threads running tasks with request id and MDC of the submitting thread.
+ * The context of a worker thread is restored after each task, so it doesn't leak to the next task.
+ */
+public final class ContextPropagatingExecutor {
+    private final ExecutorService executor;
+
+    public ContextPropagatingExecutor(String threadNamePrefix, int concurrency) {
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(concurrency, runnable -> {
+            Thread thread = new Thread(runnable, threadNamePrefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public <T> Future<T> submit(Callable<T> task) {
+        String requestId = RequestIdContext.get();
+        Map<String, String> mdcContext = MDC.getCopyOfContextMap();
+        return executor.submit(() -> {
+            String workerRequestId = RequestIdContext.get();
+            RequestIdContext.set(requestId);
+            if (mdcContext != null) {
+                MDC.setContextMap(mdcContext);
+            }
+            try {
+                return task.call();
+            } finally {
+                MDC.clear();
+                RequestIdContext.set(workerRequestId);
+            }
+        });
+    }
+
+    public void shutdownNow() {
+        executor.shutdownNow();
+    }
+}
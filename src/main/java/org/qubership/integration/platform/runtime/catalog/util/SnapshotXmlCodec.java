@@ -0,0 +1,147 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.util;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Encodes snapshot XML configuration for storage.
+ * Encoded value is a format marker followed by base64 of deflated UTF-8 XML.
+ * Values without the marker are treated as plain XML written before compression was introduced.
+ */
+public final class SnapshotXmlCodec {
+    public static final String DEFLATE_MARKER = "deflate:";
+
+    private static final String PLACEHOLDER_PREFIX = "%%{";
+    private static final String PLACEHOLDER_SUFFIX = "}";
+    private static final int READ_BUFFER_SIZE = 8192;
+
+    private SnapshotXmlCodec() {
+    }
+
+    public static boolean isEncoded(String value) {
+        return value != null && value.startsWith(DEFLATE_MARKER);
+    }
+
+    public static String encode(String xml) {
+        if (xml == null || isEncoded(xml)) {
+            return xml;
+        }
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(xml.length() / 4 + DEFLATE_MARKER.length());
+        try (Writer writer = openWriter(buffer)) {
+            writer.write(xml);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to compress snapshot XML configuration", e);
+        }
+        return buffer.toString(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Opens a writer that compresses XML on the fly and writes encoded value to the output.
+     * Encoded value is complete only after the writer is closed. Closing the writer closes the output.
+     */
+    public static Writer openWriter(OutputStream output) throws IOException {
+        output.write(DEFLATE_MARKER.getBytes(StandardCharsets.US_ASCII));
+        return new OutputStreamWriter(
+                new DeflaterOutputStream(Base64.getEncoder().wrap(output)), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Opens a reader that decompresses stored value on the fly.
+     */
+    public static Reader openReader(String value) {
+        if (!isEncoded(value)) {
+            return new StringReader(value == null ? "" : value);
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.US_ASCII);
+        InputStream encoded = new ByteArrayInputStream(bytes, DEFLATE_MARKER.length(), bytes.length - DEFLATE_MARKER.length());
+        return new InputStreamReader(new InflaterInputStream(Base64.getDecoder().wrap(encoded)), StandardCharsets.UTF_8);
+    }
+
+    public static String decode(String value) {
+        if (!isEncoded(value)) {
+            return value;
+        }
+        try (Reader reader = openReader(value)) {
+            StringWriter writer = new StringWriter(value.length() * 4);
+            reader.transferTo(writer);
+            return writer.toString();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decompress snapshot XML configuration", e);
+        }
+    }
+
+    /**
+     * Decodes stored value replacing {@code %%{name}} placeholders while reading,
+     * so the decoded XML is not materialized before the replacement. Unknown placeholders are kept as is.
+     *
+     * @param placeholders replacement values by full placeholder, e.g. {@code %%{domain-placeholder}}
+     */
+    public static String decode(String value, Map<String, String> placeholders) {
+        if (value == null) {
+            return null;
+        }
+        int maxPlaceholderLength = placeholders.keySet().stream().mapToInt(String::length).max().orElse(0);
+        StringBuilder result = new StringBuilder(isEncoded(value) ? value.length() * 4 : value.length());
+        char[] buffer = new char[READ_BUFFER_SIZE];
+        int scanFrom = 0;
+        try (Reader reader = openReader(value)) {
+            int read;
+            while ((read = reader.read(buffer)) != -1) {
+                result.append(buffer, 0, read);
+                scanFrom = replacePlaceholders(result, scanFrom, placeholders, maxPlaceholderLength);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decompress snapshot XML configuration", e);
+        }
+        return result.toString();
+    }
+
+    /**
+     * Replaces placeholders found in the text starting at the given position.
+     *
+     * @return position to continue scanning from once more text is appended,
+     * a placeholder may be split between read chunks
+     */
+    private static int replacePlaceholders(StringBuilder text, int from, Map<String, String> placeholders, int maxPlaceholderLength) {
+        int start = text.indexOf(PLACEHOLDER_PREFIX, from);
+        while (start >= 0) {
+            int end = text.indexOf(PLACEHOLDER_SUFFIX, start + PLACEHOLDER_PREFIX.length());
+            if (end < 0 || end - start >= maxPlaceholderLength) {
+                if (text.length() - start < maxPlaceholderLength) {
+                    return start;
+                }
+                from = start + 1;
+            } else {
+                String replacement = placeholders.get(text.substring(start, end + 1));
+                if (replacement != null) {
+                    text.replace(start, end + 1, replacement);
+                    from = start + replacement.length();
+                } else {
+                    from = start + 1;
+                }
+            }
+            start = text.indexOf(PLACEHOLDER_PREFIX, from);
+        }
+        return Math.max(from, text.length() - PLACEHOLDER_PREFIX.length() + 1);
+    }
+}
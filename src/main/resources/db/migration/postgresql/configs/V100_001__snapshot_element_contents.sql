@@ -0,0 +1,218 @@
+-- Copyright 2024-2025 NetCracker Technology Corporation
+--
+-- Licensed under the Apache License, Version 2.0 (the "License");
+-- you may not use this file except in compliance with the License.
+-- You may obtain a copy of the License at
+--
+--     http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+
+-- Snapshot elements store their JSONB payload (properties and environment) in the
+-- element_contents table, once per distinct content. The elements relation becomes a view
+-- over element_nodes and element_contents, so the mapping of chain elements is unchanged.
+-- Unused contents are pruned after snapshot cleanup. A snapshot build holds a key share lock on
+-- every content it references until commit, so the prune skips contents of builds in progress.
+
+-- element_contents table
+
+CREATE TABLE element_contents
+(
+    hash        VARCHAR(64) NOT NULL
+        CONSTRAINT pk_element_contents
+            PRIMARY KEY,
+    properties  JSONB,
+    environment JSONB
+);
+
+CREATE INDEX idx_element_contents_properties_integration_operation_path
+    ON element_contents (JSONB_EXTRACT_PATH_TEXT(properties, VARIADIC ARRAY ['integrationOperationPath'::TEXT]));
+
+CREATE INDEX idx_element_contents_properties_integration_operation_protocol_type
+    ON element_contents (JSONB_EXTRACT_PATH_TEXT(properties, VARIADIC
+                                                 ARRAY ['integrationOperationProtocolType'::TEXT]));
+
+CREATE INDEX idx_element_contents_properties_context_path
+    ON element_contents (JSONB_EXTRACT_PATH_TEXT(properties, VARIADIC ARRAY ['contextPath'::TEXT]));
+
+CREATE INDEX idx_element_contents_properties_topics
+    ON element_contents (JSONB_EXTRACT_PATH_TEXT(properties, VARIADIC ARRAY ['topics'::TEXT]));
+
+CREATE INDEX idx_element_contents_properties_queue
+    ON element_contents (JSONB_EXTRACT_PATH_TEXT(properties, VARIADIC ARRAY ['queue'::TEXT]));
+
+CREATE INDEX idx_element_contents_properties_exchange
+    ON element_contents (JSONB_EXTRACT_PATH_TEXT(properties, VARIADIC ARRAY ['exchange'::TEXT]));
+
+CREATE FUNCTION element_content_hash(properties JSONB, environment JSONB) RETURNS VARCHAR
+    LANGUAGE sql
+    IMMUTABLE
+AS
+$element_content_hash$
+SELECT ENCODE(SHA256(CONVERT_TO(COALESCE(properties::TEXT, 'null') || E'\n' || COALESCE(environment::TEXT, 'null'),
+                                'UTF8')), 'hex')
+$element_content_hash$;
+
+
+-- element_nodes table (former elements table, constraints, indexes and triggers are kept)
+
+ALTER TABLE elements
+    RENAME TO element_nodes;
+
+ALTER TABLE element_nodes
+    ADD COLUMN content_hash VARCHAR(64)
+        CONSTRAINT fk_element_nodes_on_content
+            REFERENCES element_contents;
+
+CREATE INDEX idx_element_nodes_content_hash
+    ON element_nodes (content_hash);
+
+
+-- existing snapshot elements
+
+INSERT INTO element_contents (hash, properties, environment)
+SELECT DISTINCT ON (hash) hash, properties, environment
+FROM (SELECT element_content_hash(properties, environment) AS hash, properties, environment
+      FROM element_nodes
+      WHERE snapshot_id IS NOT NULL) AS snapshot_contents;
+
+UPDATE element_nodes
+SET content_hash = element_content_hash(properties, environment),
+    properties   = NULL,
+    environment  = NULL
+WHERE snapshot_id IS NOT NULL;
+
+
+-- elements view
+
+CREATE VIEW elements AS
+SELECT n.dtype,
+       n.id,
+       n.created_when,
+       n.description,
+       n.modified_when,
+       n.name,
+       n.properties,
+       n.type,
+       n.chain_id,
+       n.parent_element_id,
+       n.snapshot_id,
+       n.original_id,
+       n.environment,
+       n.swimlane_id,
+       n.created_by_id,
+       n.created_by_name,
+       n.modified_by_id,
+       n.modified_by_name,
+       n.is_default_swimlane,
+       n.is_reuse_swimlane
+FROM element_nodes n
+WHERE n.content_hash IS NULL
+UNION ALL
+SELECT n.dtype,
+       n.id,
+       n.created_when,
+       n.description,
+       n.modified_when,
+       n.name,
+       c.properties,
+       n.type,
+       n.chain_id,
+       n.parent_element_id,
+       n.snapshot_id,
+       n.original_id,
+       c.environment,
+       n.swimlane_id,
+       n.created_by_id,
+       n.created_by_name,
+       n.modified_by_id,
+       n.modified_by_name,
+       n.is_default_swimlane,
+       n.is_reuse_swimlane
+FROM element_nodes n
+         JOIN element_contents c ON c.hash = n.content_hash;
+
+CREATE FUNCTION elements_modify() RETURNS TRIGGER
+    LANGUAGE plpgsql
+AS
+$elements_modify$
+DECLARE
+    stored_hash        VARCHAR(64);
+    stored_properties  JSONB;
+    stored_environment JSONB;
+BEGIN
+    IF (TG_OP = 'DELETE') THEN
+        DELETE FROM element_nodes WHERE id = OLD.id;
+        IF NOT FOUND THEN
+            RETURN NULL;
+        END IF;
+        RETURN OLD;
+    END IF;
+
+    stored_properties := NEW.properties;
+    stored_environment := NEW.environment;
+    IF (NEW.snapshot_id IS NOT NULL) THEN
+        stored_hash := element_content_hash(NEW.properties, NEW.environment);
+        -- shared contents are only locked, not rewritten, so parallel builds don't queue on them;
+        -- the key share lock keeps the prune off the row until commit, retry if it was just pruned
+        LOOP
+            INSERT INTO element_contents (hash, properties, environment)
+            VALUES (stored_hash, NEW.properties, NEW.environment)
+            ON CONFLICT (hash) DO NOTHING;
+            PERFORM 1 FROM element_contents WHERE hash = stored_hash FOR KEY SHARE;
+            EXIT WHEN FOUND;
+        END LOOP;
+        stored_properties := NULL;
+        stored_environment := NULL;
+    END IF;
+
+    IF (TG_OP = 'INSERT') THEN
+        INSERT INTO element_nodes (dtype, id, created_when, description, modified_when, name, properties, type,
+                                   chain_id, parent_element_id, snapshot_id, original_id, environment, swimlane_id,
+                                   created_by_id, created_by_name, modified_by_id, modified_by_name,
+                                   is_default_swimlane, is_reuse_swimlane, content_hash)
+        VALUES (NEW.dtype, NEW.id, NEW.created_when, NEW.description, NEW.modified_when, NEW.name, stored_properties,
+                NEW.type, NEW.chain_id, NEW.parent_element_id, NEW.snapshot_id, NEW.original_id, stored_environment,
+                NEW.swimlane_id, NEW.created_by_id, NEW.created_by_name, NEW.modified_by_id, NEW.modified_by_name,
+                COALESCE(NEW.is_default_swimlane, FALSE), COALESCE(NEW.is_reuse_swimlane, FALSE), stored_hash);
+    ELSE
+        UPDATE element_nodes
+        SET dtype               = NEW.dtype,
+            id                  = NEW.id,
+            created_when        = NEW.created_when,
+            description         = NEW.description,
+            modified_when       = NEW.modified_when,
+            name                = NEW.name,
+            properties          = stored_properties,
+            type                = NEW.type,
+            chain_id            = NEW.chain_id,
+            parent_element_id   = NEW.parent_element_id,
+            snapshot_id         = NEW.snapshot_id,
+            original_id         = NEW.original_id,
+            environment         = stored_environment,
+            swimlane_id         = NEW.swimlane_id,
+            created_by_id       = NEW.created_by_id,
+            created_by_name     = NEW.created_by_name,
+            modified_by_id      = NEW.modified_by_id,
+            modified_by_name    = NEW.modified_by_name,
+            is_default_swimlane = COALESCE(NEW.is_default_swimlane, FALSE),
+            is_reuse_swimlane   = COALESCE(NEW.is_reuse_swimlane, FALSE),
+            content_hash        = stored_hash
+        WHERE id = OLD.id;
+        IF NOT FOUND THEN
+            RETURN NULL;
+        END IF;
+    END IF;
+    RETURN NEW;
+END
+$elements_modify$;
+
+CREATE TRIGGER elements_modify
+    INSTEAD OF INSERT OR UPDATE OR DELETE
+    ON elements
+    FOR EACH ROW
+EXECUTE PROCEDURE elements_modify();
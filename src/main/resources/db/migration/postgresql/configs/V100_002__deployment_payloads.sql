@@ -0,0 +1,36 @@
+-- Copyright 2024-2025 NetCracker Technology Corporation
+--
+-- Licensed under the Apache License, Version 2.0 (the "License");
+-- you may not use this file except in compliance with the License.
+-- You may obtain a copy of the License at
+--
+--     http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+
+-- Engine payload of a deployment (element properties and routes) is computed once when
+-- the deployment is created, so engine updates don't rebuild it. XML configuration is not stored,
+-- it is taken from the compressed snapshot XML with placeholders replaced on each engine update.
+-- External system and environment names can change without a redeploy, so only system ids
+-- of service call elements are stored and names are resolved on each engine update.
+-- Payloads of deployments created before this migration are stored by a background job after startup.
+
+-- deployment_payloads table
+
+CREATE TABLE deployment_payloads
+(
+    deployment_id                VARCHAR(255) NOT NULL
+        CONSTRAINT pk_deployment_payloads
+            PRIMARY KEY
+        CONSTRAINT fk_deployment_payloads_on_deployment
+            REFERENCES deployments
+            ON DELETE CASCADE,
+    configuration                TEXT         NOT NULL,
+    contains_checkpoint_elements BOOLEAN      NOT NULL DEFAULT FALSE,
+    contains_scheduler_elements  BOOLEAN      NOT NULL DEFAULT FALSE,
+    element_system_ids           TEXT         NOT NULL DEFAULT '{}'
+);
@@ -0,0 +1,44 @@
+-- Copyright 2024-2025 NetCracker Technology Corporation
+--
+-- Licensed under the Apache License, Version 2.0 (the "License");
+-- you may not use this file except in compliance with the License.
+-- You may obtain a copy of the License at
+--
+--     http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+
+-- Chain calls of snapshots: the chain trigger each chain call element of a snapshot refers to.
+-- Snapshot elements don't change, so rows are inserted once per snapshot by the snapshot build
+-- and removed together with the elements.
+
+-- snapshot_chain_calls table
+
+CREATE TABLE snapshot_chain_calls
+(
+    element_id       VARCHAR(255) NOT NULL
+        CONSTRAINT pk_snapshot_chain_calls
+            PRIMARY KEY
+        CONSTRAINT fk_snapshot_chain_calls_on_element
+            REFERENCES element_nodes
+            ON DELETE CASCADE,
+    snapshot_id      VARCHAR(255) NOT NULL,
+    chain_trigger_id VARCHAR(255)
+);
+
+CREATE INDEX idx_snapshot_chain_calls_snapshot_id
+    ON snapshot_chain_calls (snapshot_id);
+
+
+-- existing snapshots
+
+INSERT INTO snapshot_chain_calls (element_id, snapshot_id, chain_trigger_id)
+SELECT e.id, e.snapshot_id, JSONB_EXTRACT_PATH_TEXT(e.properties, 'elementId')
+FROM elements e
+WHERE e.snapshot_id IS NOT NULL
+  AND e.type = 'chain-call-2';
+
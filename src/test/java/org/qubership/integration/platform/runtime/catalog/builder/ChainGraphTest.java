@@ -0,0 +1,81 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.builder;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.qubership.integration.platform.catalog.model.library.ElementDescriptor;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.Dependency;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.element.ChainElement;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.element.ContainerChainElement;
+import org.qubership.integration.platform.catalog.service.library.LibraryElementsService;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class ChainGraphTest {
+
+    @DisplayName("Graph indexes dependencies, children and parents of the elements")
+    @Test
+    public void buildGraphTest() {
+        ChainElement trigger = createElement("trigger");
+        ContainerChainElement container = new ContainerChainElement();
+        container.setId("container");
+        ChainElement child = createElement("child");
+        ChainElement next = createElement("next");
+        container.addChildElement(child);
+        child.setParent(container);
+        connect(trigger, container);
+        connect(container, next);
+
+        LibraryElementsService libraryService = mock(LibraryElementsService.class);
+        when(libraryService.getElementDescriptor(any(ChainElement.class))).thenReturn(new ElementDescriptor());
+
+        ChainGraph graph = ChainGraph.of(List.of(trigger, container), libraryService);
+
+        assertThat(graph.size(), equalTo(4));
+        int triggerIndex = graph.indexOf(trigger);
+        int containerIndex = graph.indexOf(container);
+        int childIndex = graph.indexOf(child);
+        int nextIndex = graph.indexOf(next);
+        assertThat(graph.outputs(triggerIndex), equalTo(new int[] {containerIndex}));
+        assertThat(graph.inputs(containerIndex), equalTo(new int[] {triggerIndex}));
+        assertThat(graph.outputs(containerIndex), equalTo(new int[] {nextIndex}));
+        assertThat(graph.children(containerIndex), equalTo(new int[] {childIndex}));
+        assertThat(graph.parent(childIndex), equalTo(containerIndex));
+        assertThat(graph.parent(triggerIndex), equalTo(ChainGraph.NO_ELEMENT));
+        assertThat(graph.isContainer(containerIndex), equalTo(true));
+        assertThat(graph.isContainer(nextIndex), equalTo(false));
+        verify(libraryService, times(4)).getElementDescriptor(any(ChainElement.class));
+    }
+
+    private static ChainElement createElement(String id) {
+        ChainElement element = new ChainElement();
+        element.setId(id);
+        return element;
+    }
+
+    private static void connect(ChainElement from, ChainElement to) {
+        Dependency dependency = Dependency.of(from, to);
+        from.addOutputDependency(dependency);
+        to.addInputDependency(dependency);
+    }
+}
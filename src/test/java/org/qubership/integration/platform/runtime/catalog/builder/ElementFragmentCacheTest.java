@@ -0,0 +1,111 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.builder;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.element.ChainElement;
+import org.qubership.integration.platform.runtime.catalog.builder.templates.TemplateService;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class ElementFragmentCacheTest {
+
+    private static final String ORIGINAL_ID = "7c0a6d55-0c0b-4f0e-9f38-5b7b4b2c3a11";
+
+    private TemplateService templateService;
+    private ElementFragmentCache fragmentCache;
+
+    @BeforeEach
+    public void setUp() {
+        templateService = mock(TemplateService.class);
+        when(templateService.applyTemplate(any()))
+                .thenAnswer(invocation -> "<step id=\"" + invocation.<ChainElement>getArgument(0).getId() + "\"/>");
+        fragmentCache = new ElementFragmentCache(templateService, 100);
+    }
+
+    @DisplayName("Unchanged element of a new snapshot is taken from cache with its own id")
+    @Test
+    public void renderCachedFragmentTest() {
+        ChainElement first = createElement(UUID.randomUUID().toString(), "value");
+        ChainElement second = createElement(UUID.randomUUID().toString(), "value");
+
+        assertThat(fragmentCache.render(first), equalTo("<step id=\"" + first.getId() + "\"/>"));
+        assertThat(fragmentCache.render(second), equalTo("<step id=\"" + second.getId() + "\"/>"));
+        verify(templateService, times(1)).applyTemplate(any());
+    }
+
+    @DisplayName("Cached fragment is written to the output with its own id")
+    @Test
+    public void renderCachedFragmentToWriterTest() throws IOException {
+        ChainElement first = createElement(UUID.randomUUID().toString(), "value");
+        ChainElement second = createElement(UUID.randomUUID().toString(), "value");
+        StringWriter firstOutput = new StringWriter();
+        StringWriter secondOutput = new StringWriter();
+
+        fragmentCache.render(first, firstOutput);
+        fragmentCache.render(second, secondOutput);
+
+        assertThat(firstOutput.toString(), equalTo("<step id=\"" + first.getId() + "\"/>"));
+        assertThat(secondOutput.toString(), equalTo("<step id=\"" + second.getId() + "\"/>"));
+        verify(templateService, times(1)).applyTemplate(any());
+    }
+
+    @DisplayName("Changed element is rendered again")
+    @Test
+    public void renderChangedFragmentTest() {
+        fragmentCache.render(createElement(UUID.randomUUID().toString(), "value"));
+        fragmentCache.render(createElement(UUID.randomUUID().toString(), "another value"));
+
+        verify(templateService, times(2)).applyTemplate(any());
+    }
+
+    @DisplayName("Element without original id is not cached")
+    @Test
+    public void renderNotSnapshotElementTest() {
+        ChainElement element = createElement(UUID.randomUUID().toString(), "value");
+        element.setOriginalId(null);
+
+        fragmentCache.render(element);
+        fragmentCache.render(element);
+
+        verify(templateService, times(2)).applyTemplate(any());
+    }
+
+    private static ChainElement createElement(String id, String propertyValue) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("property", propertyValue);
+
+        ChainElement element = new ChainElement();
+        element.setId(id);
+        element.setOriginalId(ORIGINAL_ID);
+        element.setType("script");
+        element.setName("Script");
+        element.setProperties(properties);
+        return element;
+    }
+}
@@ -17,9 +17,11 @@
 package org.qubership.integration.platform.runtime.catalog.builder.templates;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.jknack.handlebars.Template;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
@@ -49,6 +51,9 @@ import java.util.UUID;
 import java.util.stream.Stream;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.Mockito.CALLS_REAL_METHODS;
 import static org.mockito.Mockito.mockStatic;
 
@@ -312,6 +317,16 @@ public class TemplateServiceTest {
         assertThat(actual, CompareMatcher.isIdenticalTo(expected).ignoreWhitespace());
     }
 
+    @DisplayName("Test of compiled template caching")
+    @Test
+    public void getTemplateReturnsCachedTemplateTest() {
+        Template template = templateService.getTemplate("script");
+
+        assertNotNull(template);
+        assertSame(template, templateService.getTemplate("script"));
+        assertNull(templateService.getTemplate("non-existent-element"));
+    }
+
     private String wrap(String xml) {
         return new StringBuilder()
                 .append("<route>")
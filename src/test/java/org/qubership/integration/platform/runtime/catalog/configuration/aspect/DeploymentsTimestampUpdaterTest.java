@@ -0,0 +1,128 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.qubership.integration.platform.runtime.catalog.configuration.aspect;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.qubership.integration.platform.catalog.consul.ConsulService;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class DeploymentsTimestampUpdaterTest {
+    private final ConsulService consulService = mock(ConsulService.class);
+    private final TaskScheduler taskScheduler = mock(TaskScheduler.class);
+    private final DeploymentsTimestampUpdater updater = new DeploymentsTimestampUpdater(consulService, taskScheduler, 200);
+
+    @AfterEach
+    public void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clear();
+        }
+    }
+
+    @DisplayName("Requests made before the scheduled update runs update the timestamp once")
+    @Test
+    public void coalesceTest() {
+        updater.requestUpdate();
+        updater.requestUpdate();
+        updater.requestUpdate();
+
+        Runnable update = captureScheduledUpdate();
+        update.run();
+        verify(consulService, times(1)).updateDeploymentsTimestamp();
+
+        updater.requestUpdate();
+        verify(taskScheduler, times(2)).schedule(any(Runnable.class), any(Instant.class));
+    }
+
+    @DisplayName("Requests within a transaction are scheduled after the transaction commits")
+    @Test
+    public void transactionTest() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        updater.requestUpdate();
+        updater.requestUpdate();
+
+        verifyNoInteractions(taskScheduler);
+        assertThat(TransactionSynchronizationManager.getSynchronizations().size(), equalTo(1));
+        TransactionSynchronizationManager.getSynchronizations().forEach(synchronization -> {
+            synchronization.afterCommit();
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        });
+
+        captureScheduledUpdate().run();
+        verify(consulService, times(1)).updateDeploymentsTimestamp();
+    }
+
+    @DisplayName("Requests within a rolled back transaction are dropped")
+    @Test
+    public void rollbackTest() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        updater.requestUpdate();
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(
+                synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        verifyNoInteractions(taskScheduler);
+        verifyNoInteractions(consulService);
+    }
+
+    @DisplayName("Scheduled update is made on shutdown")
+    @Test
+    public void flushTest() {
+        updater.requestUpdate();
+        Runnable update = captureScheduledUpdate();
+
+        updater.flush();
+        update.run();
+
+        verify(consulService, times(1)).updateDeploymentsTimestamp();
+    }
+
+    @DisplayName("Failed update is retried")
+    @Test
+    public void retryTest() {
+        doThrow(new IllegalStateException("Consul is unavailable")).doNothing()
+                .when(consulService).updateDeploymentsTimestamp();
+
+        updater.requestUpdate();
+        captureScheduledUpdate().run();
+
+        ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+        verify(taskScheduler, times(2)).schedule(captor.capture(), any(Instant.class));
+        captor.getValue().run();
+        verify(consulService, times(2)).updateDeploymentsTimestamp();
+    }
+
+    private Runnable captureScheduledUpdate() {
+        ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+        verify(taskScheduler, times(1)).schedule(captor.capture(), any(Instant.class));
+        return captor.getValue();
+    }
+}
@@ -149,6 +149,21 @@ public class AtlasMapInterpreterTest {
         );
     }
 
+    @Test
+    void interpretationIsDeterministicAndCached() {
+        File configurationFile = MapperTestUtils.getConfigurationFile(DEFAULT_VALUE_CONFIG);
+
+        String first = interpreter.getInterpretation(MapperTestUtils.getMappingFromFile(configurationFile));
+        String cached = interpreter.getInterpretation(MapperTestUtils.getMappingFromFile(configurationFile));
+        String uncached = new AtlasMapInterpreter(MapperTestUtils.objectMapper, 0)
+                .getInterpretation(MapperTestUtils.getMappingFromFile(configurationFile));
+
+        assertAll(
+                () -> assertSame(first, cached),
+                () -> assertEquals(first, uncached)
+        );
+    }
+
     // TODO: fix this
 //    @Test
     void interpretationWithLookup() throws IOException, AtlasException {
@@ -25,6 +25,7 @@ import org.junit.jupiter.api.Test;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -59,4 +60,23 @@ class ElementMapBuilderTest {
                 result
         );
     }
+
+    @Test
+    void testBuildAttributeMapForRecursiveType() {
+        ElementMapBuilder elementMapBuilder = new ElementMapBuilder();
+        Attribute child = new Attribute("child", "child", new ReferenceType("node", null, null), null, null, null);
+        ObjectType nodeType = new ObjectType(new ObjectSchema("node", List.of(child), null), null, null);
+        TypeDefinition nodeDefinition = new TypeDefinition("node", "node", nodeType);
+        ArrayType arrayType = new ArrayType(
+                new ReferenceType("node", null, null),
+                List.of(nodeDefinition),
+                null
+        );
+        Attribute root = new Attribute("root", "root", arrayType, null, null, null);
+        var result = elementMapBuilder.buildElementMap(
+                new ObjectType(new ObjectSchema("o1", List.of(root), null), null, null)
+        );
+        assertEquals(Set.of("root", "child"), result.keySet());
+        assertSame(child, result.get("child").element());
+    }
 }
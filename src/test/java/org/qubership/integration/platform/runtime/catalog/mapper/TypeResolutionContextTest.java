@@ -0,0 +1,59 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.mapper;
+
+import org.junit.jupiter.api.Test;
+import org.qubership.integration.platform.runtime.catalog.model.mapper.datatypes.*;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TypeResolutionContextTest {
+    @Test
+    void testResolveTypeIsMemoizedPerScope() {
+        TypeDefinition barDefinition = new TypeDefinition("bar", "bar", new StringType(null));
+        TypeDefinition fooDefinition = new TypeDefinition("foo", "foo", new ReferenceType("bar", null, null));
+        ObjectType objectType = new ObjectType(null, List.of(fooDefinition, barDefinition), null);
+        TypeResolutionContext resolution = new TypeResolutionContext();
+
+        Map<String, TypeDefinition> scope = resolution.updateDefinitionMapFromType(Collections.emptyMap(), objectType);
+        var fooResult = resolution.resolveType(new ReferenceType("foo", null, null), scope);
+        var barResult = resolution.resolveType(new ReferenceType("bar", null, null), scope);
+
+        assertAll(
+                () -> assertSame(scope, resolution.updateDefinitionMapFromType(Collections.emptyMap(), objectType)),
+                () -> assertSame(barDefinition.getType(), fooResult.type()),
+                () -> assertSame(fooResult, barResult),
+                () -> assertSame(scope, fooResult.definitionMap())
+        );
+    }
+
+    @Test
+    void testResolveTypeThrowsExceptionOnCircularReference() {
+        TypeDefinition fooDefinition = new TypeDefinition("foo", "foo", new ReferenceType("bar", null, null));
+        TypeDefinition barDefinition = new TypeDefinition("bar", "bar", new ReferenceType("foo", null, null));
+        Exception exception = assertThrows(
+                MapperException.class,
+                () -> new TypeResolutionContext().resolveType(
+                        new ReferenceType("foo", null, null),
+                        Map.of("foo", fooDefinition, "bar", barDefinition)));
+        assertTrue(exception.getMessage().contains("Circular"));
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.mapper.atlasmap;
+
+import io.atlasmap.json.v2.JsonField;
+import io.atlasmap.v2.ConstantField;
+import io.atlasmap.v2.Field;
+import io.atlasmap.v2.PropertyField;
+import org.junit.jupiter.api.Test;
+import org.qubership.integration.platform.runtime.catalog.mapper.expressions.FieldKind;
+import org.qubership.integration.platform.runtime.catalog.mapper.expressions.FieldReference;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FieldReferenceIndexTest {
+    private static final String CURRENT_SCOPE = "current";
+
+    @Test
+    public void testFindFieldsByReference() {
+        Field bodyField = field(new JsonField(), "/order/items<>/id", "source");
+        Field header = propertyField("/current/id", CURRENT_SCOPE);
+        Field property = propertyField("/camelExchangeProperty/id", "camelExchangeProperty");
+        Field constant = field(new ConstantField(), "/id", "DOC.Properties.1");
+        FieldReferenceIndex index = new FieldReferenceIndex(List.of(bodyField, header, property, constant), CURRENT_SCOPE);
+
+        assertAll(
+                () -> assertEquals(Optional.of(bodyField),
+                        index.find(new FieldReference(FieldKind.BODY, List.of("order", "items", "id")))),
+                () -> assertEquals(Optional.of(header), index.find(new FieldReference(FieldKind.HEADER, List.of("id")))),
+                () -> assertEquals(Optional.of(property), index.find(new FieldReference(FieldKind.PROPERTY, List.of("id")))),
+                () -> assertEquals(Optional.of(constant), index.find(new FieldReference(FieldKind.CONSTANT, List.of("id")))),
+                () -> assertEquals(Optional.empty(), index.find(new FieldReference(FieldKind.BODY, List.of("id"))))
+        );
+    }
+
+    private static Field field(Field field, String path, String docId) {
+        field.setPath(path);
+        field.setDocId(docId);
+        return field;
+    }
+
+    private static Field propertyField(String path, String scope) {
+        PropertyField field = new PropertyField();
+        field.setScope(scope);
+        return field(field, path, "DOC.Properties.2");
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.mapper.atlasmap.xml;
+
+import org.junit.jupiter.api.Test;
+import org.qubership.integration.platform.runtime.catalog.mapper.metadata.MetadataUtils;
+import org.qubership.integration.platform.runtime.catalog.model.mapper.datatypes.*;
+import org.qubership.integration.platform.runtime.catalog.model.mapper.mapping.definition.Attribute;
+import org.qubership.integration.platform.runtime.catalog.model.mapper.mapping.definition.ObjectSchema;
+import org.qubership.integration.platform.runtime.catalog.model.mapper.metadata.Metadata;
+import org.xmlunit.builder.DiffBuilder;
+import org.xmlunit.diff.Diff;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class XmlTemplateBuilderTest {
+    private static final String EXPECTED_TEMPLATE = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>"
+            + "<ns:order xmlns:ns=\"urn:orders\"><id/><items><name/></items></ns:order>";
+
+    @Test
+    void testBuildTemplate() throws Exception {
+        ObjectType itemType = new ObjectType(new ObjectSchema("item", List.of(
+                attribute("name", new StringType(null))), null), null, null);
+        Metadata orderMetadata = new Metadata();
+        orderMetadata.put(MetadataUtils.Keys.XML_NAMESPACES, List.of(Map.of("alias", "ns", "uri", "urn:orders")));
+        ObjectType orderType = new ObjectType(new ObjectSchema("order", List.of(
+                attribute("id", new StringType(null)),
+                attribute("@version", new StringType(null)),
+                attribute("items", new ArrayType(
+                        new ReferenceType("item", null, null),
+                        List.of(new TypeDefinition("item", "item", itemType)),
+                        null))
+        ), null), null, orderMetadata);
+        ObjectType bodyType = new ObjectType(new ObjectSchema("body", List.of(
+                attribute("ns:order", orderType)), null), null, null);
+
+        String template = new XmlTemplateBuilder().setType(bodyType).build();
+
+        Diff diff = DiffBuilder.compare(EXPECTED_TEMPLATE).withTest(template).checkForIdentical().build();
+        assertAll(
+                () -> assertFalse(diff.hasDifferences(), diff.toString()),
+                () -> assertEquals(EXPECTED_TEMPLATE, template)
+        );
+    }
+
+    @Test
+    void testBuildTemplateFailsForTextRoot() {
+        assertThrows(Exception.class, () -> new XmlTemplateBuilder().setType(new StringType(null)).build());
+    }
+
+    private static Attribute attribute(String name, DataType type) {
+        return new Attribute(name, name, type, null, null, null);
+    }
+}
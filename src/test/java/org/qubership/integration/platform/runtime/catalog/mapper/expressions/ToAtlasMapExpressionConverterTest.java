@@ -39,4 +39,21 @@ class ToAtlasMapExpressionConverterTest {
                 reference -> reference.kind().name() + ":" + String.join("/", reference.path()));
         assertEquals("${CONSTANT:42}", result);
     }
+
+    @Test
+    public void testConvertCachedExpressionWithAnotherResolver() {
+        String expression = "concat(body.id, constant.suffix)";
+        String first = converter.convert(expression, reference -> String.join("/", reference.path()));
+        String second = converter.convert(expression, reference -> reference.kind().name());
+        assertEquals("concat(${id}, ${suffix})", first);
+        assertEquals("concat(${BODY}, ${CONSTANT})", second);
+    }
+
+    @Test
+    public void testConvertInvalidExpression() {
+        assertThrows(IllegalStateException.class, () -> converter.convert("foo(body.id",
+                reference -> String.join("/", reference.path())));
+        assertThrows(IllegalStateException.class, () -> converter.convert("foo(body.id",
+                reference -> String.join("/", reference.path())));
+    }
 }
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.qubership.integration.platform.runtime.catalog.model.deployment.update;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.qubership.integration.platform.catalog.model.deployment.update.DeploymentInfo;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.hamcrest.core.IsNot.not;
+
+public class SerializedDeploymentsUpdateTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @DisplayName("Serialized update is decompressed to the original JSON")
+    @Test
+    public void serializeTest() throws IOException {
+        DeploymentsUpdate update = createUpdate("first");
+
+        SerializedDeploymentsUpdate serialized = SerializedDeploymentsUpdate.of(update, objectMapper);
+
+        try (InputStream stream = serialized.openStream()) {
+            assertThat(objectMapper.readTree(stream), equalTo(objectMapper.valueToTree(update)));
+        }
+    }
+
+    @DisplayName("Entity tag depends on the update content only")
+    @Test
+    public void etagTest() {
+        SerializedDeploymentsUpdate first = SerializedDeploymentsUpdate.of(createUpdate("first"), objectMapper);
+        SerializedDeploymentsUpdate same = SerializedDeploymentsUpdate.of(createUpdate("first"), objectMapper);
+        SerializedDeploymentsUpdate second = SerializedDeploymentsUpdate.of(createUpdate("second"), objectMapper);
+
+        assertThat(first.getEtag(), equalTo(same.getEtag()));
+        assertThat(first.getEtag(), not(equalTo(second.getEtag())));
+    }
+
+    @DisplayName("If-None-Match values are matched against the entity tag")
+    @Test
+    public void matchesTest() {
+        SerializedDeploymentsUpdate serialized = new SerializedDeploymentsUpdate("\"abc\"", new byte[0]);
+
+        assertThat(serialized.matches(null), equalTo(false));
+        assertThat(serialized.matches("\"abd\""), equalTo(false));
+        assertThat(serialized.matches("\"abc\""), equalTo(true));
+        assertThat(serialized.matches("\"abd\", W/\"abc\""), equalTo(true));
+        assertThat(serialized.matches("*"), equalTo(true));
+    }
+
+    private static DeploymentsUpdate createUpdate(String deploymentId) {
+        return DeploymentsUpdate.builder()
+                .update(List.of(DeploymentUpdate.builder()
+                        .deploymentInfo(DeploymentInfo.builder().deploymentId(deploymentId).build())
+                        .configuration(DeploymentConfiguration.builder().xml("<routes/>").build())
+                        .build()))
+                .build();
+    }
+}
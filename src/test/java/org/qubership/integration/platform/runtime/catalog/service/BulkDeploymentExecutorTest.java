@@ -0,0 +1,84 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BulkDeploymentExecutorTest {
+
+    private final BulkDeploymentExecutor executor = new BulkDeploymentExecutor(2);
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @DisplayName("Results are returned in the order of chain ids while tasks run in parallel")
+    @Test
+    public void runAllTest() {
+        CountDownLatch started = new CountDownLatch(2);
+        Map<String, String> result = executor.runAll(List.of("chain-1", "chain-2"), chainId -> {
+            started.countDown();
+            try {
+                // both tasks must be running at the same time to pass the latch
+                if (!started.await(5, TimeUnit.SECONDS)) {
+                    throw new IllegalStateException("Tasks are not run in parallel");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return chainId.toUpperCase();
+        });
+
+        assertThat(List.copyOf(result.keySet()), equalTo(List.of("chain-1", "chain-2")));
+        assertThat(List.copyOf(result.values()), equalTo(List.of("CHAIN-1", "CHAIN-2")));
+    }
+
+    @DisplayName("Unexpected task failure is rethrown on the calling thread")
+    @Test
+    public void runAllFailureTest() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> executor.runAll(List.of("chain-1", "chain-2"), chainId -> {
+                    throw new IllegalArgumentException(chainId);
+                }));
+
+        assertThat(exception.getMessage(), equalTo("chain-1"));
+    }
+
+    @DisplayName("Tasks run on the calling thread when parallelism is disabled")
+    @Test
+    public void runAllSequentialTest() {
+        BulkDeploymentExecutor sequential = new BulkDeploymentExecutor(1);
+        Thread caller = Thread.currentThread();
+
+        Map<String, Boolean> result = sequential.runAll(List.of("chain-1", "chain-2"),
+                chainId -> Thread.currentThread() == caller);
+
+        assertThat(result, equalTo(Map.of("chain-1", true, "chain-2", true)));
+    }
+}
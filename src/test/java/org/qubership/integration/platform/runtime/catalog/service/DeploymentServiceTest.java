@@ -0,0 +1,171 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.LazyInitializationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.qubership.integration.platform.catalog.persistence.TransactionHandler;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.Chain;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.Deployment;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.Snapshot;
+import org.qubership.integration.platform.catalog.persistence.configs.repository.chain.ElementRepository;
+import org.qubership.integration.platform.catalog.service.ActionsLogService;
+import org.qubership.integration.platform.catalog.service.library.LibraryElementsService;
+import org.qubership.integration.platform.runtime.catalog.persistence.configs.repository.DeploymentRepository;
+import org.qubership.integration.platform.runtime.catalog.rest.v1.dto.deployment.bulk.BulkDeploymentRequest;
+import org.qubership.integration.platform.runtime.catalog.rest.v1.dto.deployment.bulk.BulkDeploymentResponse;
+import org.qubership.integration.platform.runtime.catalog.rest.v1.dto.deployment.bulk.BulkDeploymentSnapshotAction;
+import org.qubership.integration.platform.runtime.catalog.rest.v1.dto.deployment.bulk.BulkDeploymentStatus;
+import org.qubership.integration.platform.runtime.catalog.service.deployment.DeployedTriggerIndex;
+import org.qubership.integration.platform.runtime.catalog.service.deployment.DeploymentBuilderService;
+import org.qubership.integration.platform.runtime.catalog.service.deployment.DeploymentsUpdateCache;
+import org.apache.commons.lang3.tuple.Pair;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class DeploymentServiceTest {
+    private static final List<String> CHAIN_IDS = List.of("chain-1", "chain-2", "chain-3");
+
+    // transaction boundaries of the transaction handler, entities are usable only inside a transaction
+    private static final ThreadLocal<Boolean> IN_TRANSACTION = ThreadLocal.withInitial(() -> false);
+
+    private final ChainService chainService = mock(ChainService.class);
+    private final SnapshotService snapshotService = mock(SnapshotService.class);
+    private final DeploymentRepository deploymentRepository = mock(DeploymentRepository.class);
+    private final DeploymentBuilderService deploymentBuilderService = mock(DeploymentBuilderService.class);
+    private final TransactionHandler transactionHandler = mock(TransactionHandler.class);
+    private final BulkDeploymentExecutor bulkDeploymentExecutor = new BulkDeploymentExecutor(2);
+
+    private DeploymentService deploymentService;
+
+    @BeforeEach
+    public void setUp() {
+        doAnswer(invocation -> {
+            IN_TRANSACTION.set(true);
+            try {
+                invocation.<Runnable>getArgument(0).run();
+            } finally {
+                IN_TRANSACTION.set(false);
+            }
+            return null;
+        }).when(transactionHandler).runInNewTransaction(any());
+
+        List<Chain> chains = CHAIN_IDS.stream().map(DeploymentServiceTest::createChain).toList();
+        when(chainService.findAllById(anyList())).thenReturn(chains);
+        when(chainService.findById(anyString())).thenAnswer(invocation -> createChain(invocation.getArgument(0)));
+        // built snapshots are returned detached
+        when(snapshotService.build(anyString())).thenAnswer(invocation -> createSnapshot(invocation.getArgument(0), false));
+        when(snapshotService.findById(anyString())).thenAnswer(invocation -> createSnapshot(invocation.getArgument(0), true));
+        when(deploymentRepository.saveAndFlush(any(Deployment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(deploymentBuilderService.createPayload(any(Deployment.class))).thenAnswer(invocation -> {
+            invocation.<Deployment>getArgument(0).getSnapshot().getElements();
+            return null;
+        });
+
+        deploymentService = new DeploymentService(
+                deploymentRepository,
+                mock(ElementRepository.class),
+                chainService,
+                mock(SystemService.class),
+                snapshotService,
+                mock(LibraryElementsService.class),
+                mock(ActionsLogService.class),
+                deploymentBuilderService,
+                bulkDeploymentExecutor,
+                transactionHandler,
+                mock(DeploymentsUpdateCache.class),
+                mock(DeployedTriggerIndex.class),
+                new ObjectMapper());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        bulkDeploymentExecutor.shutdown();
+    }
+
+    @DisplayName("Bulk deploy creates payloads of deployments from snapshots loaded in the deployment transaction")
+    @Test
+    public void bulkCreateTest() {
+        BulkDeploymentRequest request = BulkDeploymentRequest.builder()
+                .domains(List.of("default"))
+                .snapshotAction(BulkDeploymentSnapshotAction.CREATE_NEW)
+                .chainIds(CHAIN_IDS)
+                .build();
+
+        Pair<Boolean, List<BulkDeploymentResponse>> result = deploymentService.bulkCreate(request);
+
+        assertThat(result.getLeft(), equalTo(false));
+        assertThat(result.getRight().stream().map(BulkDeploymentResponse::getChainId).toList(), equalTo(CHAIN_IDS));
+        assertThat(result.getRight().stream().map(BulkDeploymentResponse::getStatus).toList(),
+                equalTo(Collections.nCopies(CHAIN_IDS.size(), BulkDeploymentStatus.CREATED)));
+        verify(transactionHandler, times(CHAIN_IDS.size())).runInNewTransaction(any());
+        verify(deploymentBuilderService, times(CHAIN_IDS.size())).createPayload(any(Deployment.class));
+    }
+
+    @DisplayName("Bulk deploy with triggers check creates payloads in transactions separate from the deployment insert")
+    @Test
+    public void bulkCreateWithTriggersCheckTest() {
+        ReflectionTestUtils.setField(deploymentService, "triggersCheckEnabled", true);
+        BulkDeploymentRequest request = BulkDeploymentRequest.builder()
+                .domains(List.of("default"))
+                .snapshotAction(BulkDeploymentSnapshotAction.CREATE_NEW)
+                .chainIds(CHAIN_IDS)
+                .build();
+
+        Pair<Boolean, List<BulkDeploymentResponse>> result = deploymentService.bulkCreate(request);
+
+        assertThat(result.getLeft(), equalTo(false));
+        assertThat(result.getRight().stream().map(BulkDeploymentResponse::getStatus).toList(),
+                equalTo(Collections.nCopies(CHAIN_IDS.size(), BulkDeploymentStatus.CREATED)));
+        verify(transactionHandler, times(CHAIN_IDS.size() * 2)).runInNewTransaction(any());
+        verify(deploymentBuilderService, times(CHAIN_IDS.size())).createPayload(any(Deployment.class));
+    }
+
+    private static Chain createChain(String chainId) {
+        Chain chain = mock(Chain.class);
+        when(chain.getId()).thenReturn(chainId);
+        when(chain.getName()).thenReturn(chainId);
+        return chain;
+    }
+
+    private static Snapshot createSnapshot(String id, boolean managed) {
+        String snapshotId = id.startsWith("snapshot-") ? id : "snapshot-" + id;
+        Snapshot snapshot = mock(Snapshot.class);
+        when(snapshot.getId()).thenReturn(snapshotId);
+        when(snapshot.getName()).thenReturn("V1");
+        when(snapshot.getElements()).thenAnswer(invocation -> {
+            if (!managed || !IN_TRANSACTION.get()) {
+                throw new LazyInitializationException("Snapshot " + snapshotId + " is not attached to a session");
+            }
+            return Collections.emptyList();
+        });
+        return snapshot;
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.Snapshot;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class SnapshotBuildExecutorTest {
+
+    private static final List<String> CHAIN_IDS = List.of("chain-1", "chain-2", "chain-3");
+
+    private final SnapshotService snapshotService = mock(SnapshotService.class);
+    private final SnapshotBuildExecutor executor = new SnapshotBuildExecutor(snapshotService, 2);
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @DisplayName("Completion is reported for every chain, built or failed, after its error")
+    @Test
+    public void buildAllCompletionTest() {
+        Snapshot snapshot = mock(Snapshot.class);
+        when(snapshotService.build(eq("chain-1"), any())).thenReturn(snapshot);
+        when(snapshotService.build(eq("chain-2"), any())).thenThrow(new IllegalStateException("chain-2"));
+        when(snapshotService.build(eq("chain-3"), any())).thenReturn(snapshot);
+
+        List<String> events = new ArrayList<>();
+        Map<String, Snapshot> result = executor.buildAll(CHAIN_IDS, null,
+                (chainId, error) -> events.add("error " + chainId),
+                chainId -> events.add("completed " + chainId));
+
+        assertThat(List.copyOf(result.keySet()), equalTo(List.of("chain-1", "chain-3")));
+        assertThat(events, equalTo(List.of(
+                "completed chain-1", "error chain-2", "completed chain-2", "completed chain-3")));
+    }
+
+    @DisplayName("Completion is reported on the calling thread when parallelism is disabled")
+    @Test
+    public void buildAllSequentialCompletionTest() {
+        SnapshotBuildExecutor sequential = new SnapshotBuildExecutor(snapshotService, 1);
+        when(snapshotService.build(any(), any())).thenReturn(mock(Snapshot.class));
+        Thread caller = Thread.currentThread();
+
+        Map<String, Boolean> completions = new HashMap<>();
+        sequential.buildAll(CHAIN_IDS, null, (chainId, error) -> {},
+                chainId -> completions.put(chainId, Thread.currentThread() == caller));
+
+        assertThat(completions, equalTo(Map.of("chain-1", true, "chain-2", true, "chain-3", true)));
+    }
+}
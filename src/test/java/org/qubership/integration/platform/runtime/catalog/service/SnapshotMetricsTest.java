@@ -0,0 +1,74 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.hamcrest.core.IsSame.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SnapshotMetricsTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SnapshotMetrics snapshotMetrics = new SnapshotMetrics(meterRegistry);
+
+    @DisplayName("Phases are recorded to separate timers reused between builds")
+    @Test
+    public void recordPhaseTest() {
+        snapshotMetrics.recordPhase(SnapshotMetrics.PHASE_ELEMENTS_COPY, () -> {});
+        var copyTimer = meterRegistry.get(SnapshotMetrics.PHASE_TIMER)
+                .tag(SnapshotMetrics.PHASE_TAG, SnapshotMetrics.PHASE_ELEMENTS_COPY)
+                .tag(SnapshotMetrics.OUTCOME_TAG, SnapshotMetrics.OUTCOME_SUCCESS)
+                .timer();
+        snapshotMetrics.recordPhase(SnapshotMetrics.PHASE_ELEMENTS_COPY, () -> {});
+        snapshotMetrics.recordPhase(SnapshotMetrics.PHASE_ELEMENTS_PERSIST, () -> {});
+
+        assertThat(meterRegistry.get(SnapshotMetrics.PHASE_TIMER)
+                .tag(SnapshotMetrics.PHASE_TAG, SnapshotMetrics.PHASE_ELEMENTS_COPY)
+                .timer(), sameInstance(copyTimer));
+        assertThat(copyTimer.count(), equalTo(2L));
+        assertThat(meterRegistry.get(SnapshotMetrics.PHASE_TIMER)
+                .tag(SnapshotMetrics.PHASE_TAG, SnapshotMetrics.PHASE_ELEMENTS_PERSIST)
+                .timer().count(), equalTo(1L));
+    }
+
+    @DisplayName("Failed build is recorded with failure outcome")
+    @Test
+    public void recordBuildFailureTest() {
+        assertThrows(IllegalStateException.class, () -> snapshotMetrics.recordBuild(() -> {
+            throw new IllegalStateException();
+        }));
+
+        assertThat(meterRegistry.get(SnapshotMetrics.BUILD_TIMER)
+                .tag(SnapshotMetrics.OUTCOME_TAG, SnapshotMetrics.OUTCOME_FAILURE)
+                .timer().count(), equalTo(1L));
+    }
+
+    @DisplayName("XML size is recorded as the length before compression")
+    @Test
+    public void recordSnapshotSizeTest() {
+        snapshotMetrics.recordSnapshotSize(3, 1024L);
+
+        assertThat(meterRegistry.get(SnapshotMetrics.ELEMENTS_SUMMARY).summary().totalAmount(), equalTo(3.0));
+        assertThat(meterRegistry.get(SnapshotMetrics.XML_SIZE_SUMMARY).summary().totalAmount(), equalTo(1024.0));
+    }
+}
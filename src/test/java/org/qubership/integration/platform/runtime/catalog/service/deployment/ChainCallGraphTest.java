@@ -0,0 +1,139 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.qubership.integration.platform.runtime.catalog.service.deployment;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.qubership.integration.platform.runtime.catalog.persistence.configs.entity.SnapshotChainCall;
+import org.qubership.integration.platform.runtime.catalog.persistence.configs.repository.SnapshotChainCallRepository;
+import org.qubership.integration.platform.runtime.catalog.service.deployment.ChainCallGraph.Source;
+
+import java.util.*;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ChainCallGraphTest {
+    private final SnapshotChainCallRepository repository = mock(SnapshotChainCallRepository.class);
+    private final List<SnapshotChainCall> snapshotCalls = new ArrayList<>();
+    private final List<Map<String, String>> chainCalls = new ArrayList<>();
+    private final List<Map<String, String>> deployedTriggers = new ArrayList<>();
+    private final List<Map<String, String>> triggerChains = new ArrayList<>();
+
+    public ChainCallGraphTest() {
+        when(repository.findAllBySnapshotIdIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<String> snapshotIds = invocation.getArgument(0);
+            return snapshotCalls.stream().filter(call -> snapshotIds.contains(call.getSnapshotId())).toList();
+        });
+        when(repository.findChainCallsByChainIds(anyCollection()))
+                .thenAnswer(invocation -> filter(chainCalls, "chain_id", invocation.getArgument(0)));
+        when(repository.findDeployedChainTriggers(anyCollection()))
+                .thenAnswer(invocation -> filter(deployedTriggers, "original_id", invocation.getArgument(0)));
+        when(repository.findChainTriggerChains(anyCollection()))
+                .thenAnswer(invocation -> filter(triggerChains, "id", invocation.getArgument(0)));
+    }
+
+    @DisplayName("Dependencies are resolved through deployed snapshots and chain working copies in dependency order")
+    @Test
+    public void dependencyOrderTest() {
+        Source first = Source.snapshot("snapshot-a", "chain-a");
+        snapshotCall("snapshot-a", "trigger-b");
+        deployedTrigger("trigger-b", "snapshot-b", "chain-b");
+        snapshotCall("snapshot-b", "trigger-c");
+        triggerChain("trigger-c", "chain-c");
+        chainCall("chain-c", "trigger-d");
+        deployedTrigger("trigger-d", "snapshot-d", "chain-d");
+
+        ChainCallGraph graph = ChainCallGraph.load(Set.of(first), repository);
+
+        assertThat(graph.getDependencies(first), equalTo(List.of("chain-d", "chain-c", "chain-b")));
+        assertThat(graph.getDependencies(Source.snapshot("snapshot-b", "chain-b")), equalTo(List.of("chain-d", "chain-c")));
+    }
+
+    @DisplayName("Chain calling itself disables sequential deployment unless some triggers are absent")
+    @Test
+    public void selfCallTest() {
+        Source first = Source.snapshot("snapshot-a", "chain-a");
+        snapshotCall("snapshot-a", "trigger-b");
+        deployedTrigger("trigger-b", "snapshot-b", "chain-b");
+        snapshotCall("snapshot-b", "trigger-b2");
+        deployedTrigger("trigger-b2", "snapshot-b", "chain-b");
+
+        assertThat(ChainCallGraph.load(Set.of(first), repository).getDependencies(first), equalTo(List.of()));
+
+        snapshotCall("snapshot-b", "trigger-absent");
+
+        assertThat(ChainCallGraph.load(Set.of(first), repository).getDependencies(first), equalTo(List.of("chain-b")));
+    }
+
+    @DisplayName("Chains of a cycle between different chains are dependencies of each other")
+    @Test
+    public void crossChainCycleTest() {
+        Source first = Source.snapshot("snapshot-a", "chain-a");
+        snapshotCall("snapshot-a", "trigger-b");
+        deployedTrigger("trigger-b", "snapshot-b", "chain-b");
+        snapshotCall("snapshot-b", "trigger-a");
+        deployedTrigger("trigger-a", "snapshot-a", "chain-a");
+
+        assertThat(new HashSet<>(ChainCallGraph.load(Set.of(first), repository).getDependencies(first)),
+                equalTo(Set.of("chain-a", "chain-b")));
+    }
+
+    @DisplayName("Chain call without chain trigger disables sequential deployment")
+    @Test
+    public void chainTriggerNotSpecifiedTest() {
+        Source first = Source.snapshot("snapshot-a", "chain-a");
+        snapshotCall("snapshot-a", "trigger-b");
+        deployedTrigger("trigger-b", "snapshot-b", "chain-b");
+        snapshotCall("snapshot-b", null);
+
+        assertThat(ChainCallGraph.load(Set.of(first), repository).getDependencies(first), equalTo(List.of()));
+    }
+
+    private void snapshotCall(String snapshotId, String chainTriggerId) {
+        snapshotCalls.add(new SnapshotChainCall(UUID.randomUUID().toString(), snapshotId, chainTriggerId));
+    }
+
+    private void chainCall(String chainId, String chainTriggerId) {
+        chainCalls.add(row("chain_id", chainId, "chain_trigger_id", chainTriggerId));
+    }
+
+    private void deployedTrigger(String originalId, String snapshotId, String chainId) {
+        Map<String, String> trigger = row("original_id", originalId, "snapshot_id", snapshotId);
+        trigger.put("chain_id", chainId);
+        deployedTriggers.add(trigger);
+    }
+
+    private void triggerChain(String id, String chainId) {
+        triggerChains.add(row("id", id, "chain_id", chainId));
+    }
+
+    private static Map<String, String> row(String firstKey, String firstValue, String secondKey, String secondValue) {
+        Map<String, String> row = new HashMap<>();
+        row.put(firstKey, firstValue);
+        row.put(secondKey, secondValue);
+        return row;
+    }
+
+    private static List<Map<String, String>> filter(List<Map<String, String>> rows, String key, Collection<String> values) {
+        return rows.stream().filter(row -> values.contains(row.get(key))).toList();
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.qubership.integration.platform.runtime.catalog.service.deployment;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+import org.qubership.integration.platform.catalog.model.ElementRoute;
+import org.qubership.integration.platform.catalog.model.constant.CamelNames;
+import org.qubership.integration.platform.catalog.persistence.TransactionHandler;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.Snapshot;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.element.ChainElement;
+import org.qubership.integration.platform.catalog.persistence.configs.repository.chain.ElementRepository;
+import org.qubership.integration.platform.catalog.util.TriggerUtils;
+import org.qubership.integration.platform.runtime.catalog.persistence.configs.repository.DeploymentRepository;
+import org.springframework.http.HttpMethod;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+public class DeployedTriggerIndexTest {
+    private static final String DOMAIN = "default";
+
+    private final DeploymentRepository deploymentRepository = mock(DeploymentRepository.class);
+    private final ElementRepository elementRepository = mock(ElementRepository.class);
+    private final TransactionHandler transactionHandler = mock(TransactionHandler.class);
+    // <snapshot id, triggers>
+    private final Map<String, List<ChainElement>> snapshotTriggers = new HashMap<>();
+    private final List<Map<String, String>> deployments = new ArrayList<>();
+
+    private MockedStatic<TriggerUtils> triggerUtils;
+    private DeployedTriggerIndex index;
+
+    @BeforeEach
+    public void setUp() {
+        triggerUtils = mockStatic(TriggerUtils.class);
+        triggerUtils.when(() -> TriggerUtils.getHttpTriggerRoute(any())).thenAnswer(invocation -> ElementRoute.builder()
+                .path(invocation.<ChainElement>getArgument(0).getName())
+                .methods(Set.of(HttpMethod.GET))
+                .build());
+        triggerUtils.when(() -> TriggerUtils.getHttpTriggerPath(any()))
+                .thenAnswer(invocation -> invocation.<ChainElement>getArgument(0).getName());
+        triggerUtils.when(() -> TriggerUtils.getSdsTriggerJobId(any()))
+                .thenAnswer(invocation -> invocation.<ChainElement>getArgument(0).getName());
+
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(transactionHandler).runInTransaction(any());
+        when(deploymentRepository.findDeploymentReferences()).thenAnswer(invocation -> List.copyOf(deployments));
+        when(deploymentRepository.findDeploymentsState()).thenAnswer(invocation -> String.valueOf(deployments));
+        when(elementRepository.findElementsByTypesAndSnapshots(anyCollection(), anyCollection())).thenAnswer(invocation ->
+                invocation.<Collection<String>>getArgument(1).stream()
+                        .flatMap(snapshotId -> snapshotTriggers.getOrDefault(snapshotId, List.of()).stream())
+                        .toList());
+
+        index = new DeployedTriggerIndex(deploymentRepository, elementRepository, transactionHandler);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        triggerUtils.close();
+    }
+
+    @DisplayName("Added deployments are indexed, triggers of an indexed snapshot are not loaded again")
+    @Test
+    public void addDeploymentsTest() {
+        addTrigger("snapshot-1", CamelNames.HTTP_TRIGGER_COMPONENT, "/api/orders");
+        addTrigger("snapshot-1", CamelNames.SDS_TRIGGER_COMPONENT, "job-1");
+        deploy("deployment-1", "snapshot-1", "chain-1");
+        index.refresh();
+
+        deploy("deployment-2", "snapshot-1", "chain-1");
+        index.refresh();
+
+        assertThat(routeDeploymentIds("/api/orders"), equalTo(Set.of("deployment-1", "deployment-2")));
+        assertThat(jobDeploymentIds("job-1"), equalTo(Set.of("deployment-1", "deployment-2")));
+        verify(elementRepository, times(1)).findElementsByTypesAndSnapshots(anyCollection(), anyCollection());
+    }
+
+    @DisplayName("Removed deployments are dropped from the index, other deployments of the snapshot are kept")
+    @Test
+    public void removeDeploymentsTest() {
+        addTrigger("snapshot-1", CamelNames.HTTP_TRIGGER_COMPONENT, "/api/orders");
+        addTrigger("snapshot-1", CamelNames.SDS_TRIGGER_COMPONENT, "job-1");
+        addTrigger("snapshot-2", CamelNames.HTTP_TRIGGER_COMPONENT, "/api/users");
+        deploy("deployment-1", "snapshot-1", "chain-1");
+        deploy("deployment-2", "snapshot-1", "chain-1");
+        deploy("deployment-3", "snapshot-2", "chain-2");
+        index.refresh();
+
+        undeploy("deployment-1");
+        undeploy("deployment-3");
+        index.refresh();
+
+        assertThat(routeDeploymentIds("/api/orders"), equalTo(Set.of("deployment-2")));
+        assertThat(jobDeploymentIds("job-1"), equalTo(Set.of("deployment-2")));
+        assertThat(routeDeploymentIds("/api/users"), equalTo(Set.of()));
+
+        undeploy("deployment-2");
+        index.refresh();
+
+        assertThat(routeDeploymentIds("/api/orders"), equalTo(Set.of()));
+        assertThat(jobDeploymentIds("job-1"), equalTo(Set.of()));
+    }
+
+    @DisplayName("SDS triggers without a job id are found by the null job id")
+    @Test
+    public void jobWithoutIdTest() {
+        addTrigger("snapshot-1", CamelNames.SDS_TRIGGER_COMPONENT, null);
+        deploy("deployment-1", "snapshot-1", "chain-1");
+        index.refresh();
+
+        assertThat(jobDeploymentIds(null), equalTo(Set.of("deployment-1")));
+    }
+
+    @DisplayName("Index is refreshed only when it is stale or deployments state has changed")
+    @Test
+    public void refreshIfChangedTest() {
+        deploy("deployment-1", "snapshot-1", "chain-1");
+        index.refreshIfChanged();
+        index.refreshIfChanged();
+        verify(deploymentRepository, times(1)).findDeploymentReferences();
+
+        deploy("deployment-2", "snapshot-2", "chain-2");
+        index.refreshIfChanged();
+        verify(deploymentRepository, times(2)).findDeploymentReferences();
+
+        index.invalidate();
+        index.refreshIfChanged();
+        verify(deploymentRepository, times(3)).findDeploymentReferences();
+    }
+
+    private void addTrigger(String snapshotId, String type, String name) {
+        Snapshot snapshot = mock(Snapshot.class);
+        when(snapshot.getId()).thenReturn(snapshotId);
+        ChainElement trigger = mock(ChainElement.class);
+        when(trigger.getId()).thenReturn(snapshotId + "-" + type + "-" + name);
+        when(trigger.getType()).thenReturn(type);
+        when(trigger.getName()).thenReturn(name);
+        when(trigger.getSnapshot()).thenReturn(snapshot);
+        snapshotTriggers.computeIfAbsent(snapshotId, key -> new ArrayList<>()).add(trigger);
+    }
+
+    private void deploy(String deploymentId, String snapshotId, String chainId) {
+        deployments.add(Map.of("id", deploymentId, "snapshot_id", snapshotId, "chain_id", chainId, "domain", DOMAIN));
+    }
+
+    private void undeploy(String deploymentId) {
+        deployments.removeIf(row -> row.get("id").equals(deploymentId));
+    }
+
+    private static ElementRoute route(String path) {
+        return ElementRoute.builder().path(path).methods(Set.of(HttpMethod.GET)).build();
+    }
+
+    private Set<String> routeDeploymentIds(String path) {
+        return index.findSamePath(route(path), indexed -> true).stream()
+                .map(DeployedTriggerIndex.IndexedRoute::deploymentId)
+                .collect(Collectors.toSet());
+    }
+
+    private Set<String> jobDeploymentIds(String jobId) {
+        return index.findSameJobId(DOMAIN, jobId, indexed -> true).stream()
+                .map(DeployedTriggerIndex.IndexedJob::deploymentId)
+                .collect(Collectors.toSet());
+    }
+}
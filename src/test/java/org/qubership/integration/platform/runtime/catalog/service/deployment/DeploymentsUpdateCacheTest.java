@@ -0,0 +1,140 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.qubership.integration.platform.runtime.catalog.service.deployment;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.qubership.integration.platform.runtime.catalog.model.deployment.update.SerializedDeploymentsUpdate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.hamcrest.core.IsNot.not;
+import static org.hamcrest.core.IsSame.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class DeploymentsUpdateCacheTest {
+
+    @DisplayName("Concurrent requests for a domain wait for a single build")
+    @Test
+    public void concurrentRequestsAreCoalescedTest() throws Exception {
+        DeploymentsUpdateCache cache = new DeploymentsUpdateCache();
+        AtomicInteger builds = new AtomicInteger();
+        CountDownLatch buildStarted = new CountDownLatch(1);
+        CountDownLatch releaseBuild = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<SerializedDeploymentsUpdate> first = executor.submit(() -> cache.get("domain", () -> {
+                builds.incrementAndGet();
+                buildStarted.countDown();
+                await(releaseBuild);
+                return newUpdate();
+            }));
+            buildStarted.await(10, TimeUnit.SECONDS);
+            List<Future<SerializedDeploymentsUpdate>> others = List.of(
+                    executor.submit(() -> cache.get("domain", () -> countedBuild(builds))),
+                    executor.submit(() -> cache.get("domain", () -> countedBuild(builds))));
+            releaseBuild.countDown();
+
+            SerializedDeploymentsUpdate update = first.get(10, TimeUnit.SECONDS);
+            for (Future<SerializedDeploymentsUpdate> other : others) {
+                assertThat(other.get(10, TimeUnit.SECONDS), sameInstance(update));
+            }
+            assertThat(builds.get(), equalTo(1));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @DisplayName("Invalidation rebuilds only the changed domains")
+    @Test
+    public void invalidateChangedDomainsTest() {
+        DeploymentsUpdateCache cache = new DeploymentsUpdateCache();
+        SerializedDeploymentsUpdate first = cache.get("first", DeploymentsUpdateCacheTest::newUpdate);
+        SerializedDeploymentsUpdate second = cache.get("second", DeploymentsUpdateCacheTest::newUpdate);
+
+        cache.invalidate(List.of("first"));
+
+        assertThat(cache.get("first", DeploymentsUpdateCacheTest::newUpdate), not(sameInstance(first)));
+        assertThat(cache.get("second", DeploymentsUpdateCacheTest::newUpdate), sameInstance(second));
+    }
+
+    @DisplayName("Refresh invalidates domains with changed state")
+    @Test
+    public void refreshChangedDomainsTest() {
+        DeploymentsUpdateCache cache = new DeploymentsUpdateCache();
+        cache.refresh(Map.of("first", "a", "second", "b"));
+        SerializedDeploymentsUpdate first = cache.get("first", DeploymentsUpdateCacheTest::newUpdate);
+        SerializedDeploymentsUpdate second = cache.get("second", DeploymentsUpdateCacheTest::newUpdate);
+        SerializedDeploymentsUpdate third = cache.get("third", DeploymentsUpdateCacheTest::newUpdate);
+
+        cache.refresh(Map.of("first", "c", "second", "b", "third", "d"));
+
+        assertThat(cache.get("first", DeploymentsUpdateCacheTest::newUpdate), not(sameInstance(first)));
+        assertThat(cache.get("second", DeploymentsUpdateCacheTest::newUpdate), sameInstance(second));
+        assertThat(cache.get("third", DeploymentsUpdateCacheTest::newUpdate), not(sameInstance(third)));
+    }
+
+    @DisplayName("Refresh without changed states invalidates all domains")
+    @Test
+    public void refreshWithoutChangedStatesTest() {
+        DeploymentsUpdateCache cache = new DeploymentsUpdateCache();
+        cache.refresh(Map.of("first", "a", "second", "b"));
+        SerializedDeploymentsUpdate first = cache.get("first", DeploymentsUpdateCacheTest::newUpdate);
+        SerializedDeploymentsUpdate second = cache.get("second", DeploymentsUpdateCacheTest::newUpdate);
+
+        cache.refresh(Map.of("first", "a", "second", "b"));
+
+        assertThat(cache.get("first", DeploymentsUpdateCacheTest::newUpdate), not(sameInstance(first)));
+        assertThat(cache.get("second", DeploymentsUpdateCacheTest::newUpdate), not(sameInstance(second)));
+    }
+
+    @DisplayName("Failed build is not cached")
+    @Test
+    public void failedBuildIsNotCachedTest() {
+        DeploymentsUpdateCache cache = new DeploymentsUpdateCache();
+
+        assertThrows(IllegalStateException.class, () -> cache.get("domain", () -> {
+            throw new IllegalStateException("Build failed");
+        }));
+
+        SerializedDeploymentsUpdate update = cache.get("domain", DeploymentsUpdateCacheTest::newUpdate);
+        assertThat(cache.get("domain", DeploymentsUpdateCacheTest::newUpdate), sameInstance(update));
+    }
+
+    private static SerializedDeploymentsUpdate newUpdate() {
+        return new SerializedDeploymentsUpdate("\"etag\"", new byte[0]);
+    }
+
+    private static SerializedDeploymentsUpdate countedBuild(AtomicInteger builds) {
+        builds.incrementAndGet();
+        return newUpdate();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.service.deployment;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsEqual.equalTo;
+
+public class HttpRouteTrieTest {
+
+    @DisplayName("Literal segments match exactly, ignoring case, empty segments and query")
+    @Test
+    public void matchLiteralPathTest() {
+        HttpRouteTrie<String> trie = new HttpRouteTrie<>();
+        trie.add("/api/v1/orders", "orders");
+        trie.add("/api/v1/users", "users");
+
+        assertThat(match(trie, "/API/v1//orders/?id=1"), equalTo(Set.of("orders")));
+        assertThat(match(trie, "/api/v1"), equalTo(Set.of()));
+        assertThat(match(trie, "/api/v1/orders/1"), equalTo(Set.of()));
+    }
+
+    @DisplayName("Template segments match any single segment in both directions")
+    @Test
+    public void matchTemplatePathTest() {
+        HttpRouteTrie<String> trie = new HttpRouteTrie<>();
+        trie.add("/api/orders/{id}", "order");
+        trie.add("/api/orders/count", "count");
+        trie.add("/api/users/{id}/orders", "user-orders");
+
+        assertThat(match(trie, "/api/orders/count"), equalTo(Set.of("order", "count")));
+        assertThat(match(trie, "/api/orders/{orderId}"), equalTo(Set.of("order", "count")));
+        assertThat(match(trie, "/api/{entity}/1/orders"), equalTo(Set.of("user-orders")));
+    }
+
+    @DisplayName("Asterisk segments match the rest of the path")
+    @Test
+    public void matchTailPathTest() {
+        HttpRouteTrie<String> trie = new HttpRouteTrie<>();
+        trie.add("/api/files/**", "files");
+        trie.add("/api/orders/{id}", "order");
+
+        assertThat(match(trie, "/api/files/a/b/c"), equalTo(Set.of("files")));
+        assertThat(match(trie, "/api/files"), equalTo(Set.of("files")));
+        assertThat(match(trie, "/api/*"), equalTo(Set.of("files", "order")));
+    }
+
+    @DisplayName("Removed routes are not matched and empty nodes are pruned")
+    @Test
+    public void removeTest() {
+        HttpRouteTrie<String> trie = new HttpRouteTrie<>();
+        trie.add("/api/orders/{id}", "order");
+        trie.add("/api/files/*", "files");
+
+        trie.remove("/api/orders/{orderId}", "order");
+        assertThat(match(trie, "/api/orders/1"), equalTo(Set.of()));
+
+        trie.remove("/api/files/*", "files");
+        assertThat(trie.isEmpty(), equalTo(true));
+    }
+
+    private static Set<String> match(HttpRouteTrie<String> trie, String path) {
+        Set<String> result = new HashSet<>();
+        trie.match(path, result::add);
+        return result;
+    }
+}
@@ -17,6 +17,8 @@
 package org.qubership.integration.platform.runtime.catalog.testutils.configuration;
 
 import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
@@ -29,4 +31,9 @@ public class TestConfig {
     public YAMLMapper defaultYamlMapper() {
         return new YAMLMapper();
     }
+
+    @Bean
+    public MeterRegistry meterRegistry() {
+        return new SimpleMeterRegistry();
+    }
 }
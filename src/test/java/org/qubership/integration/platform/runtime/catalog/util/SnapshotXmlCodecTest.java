@@ -0,0 +1,76 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnapshotXmlCodecTest {
+    private static final String XML = "<routes xmlns=\"http://camel.apache.org/schema/spring\">"
+            + "<route id=\"%%{deployment-id-placeholder}\"><from uri=\"direct:\u00ff-test\"/></route>".repeat(50)
+            + "</routes>";
+
+    @Test
+    public void encodedValueIsDecodedToOriginalXml() {
+        String encoded = SnapshotXmlCodec.encode(XML);
+
+        assertTrue(SnapshotXmlCodec.isEncoded(encoded));
+        assertTrue(encoded.length() < XML.length());
+        assertEquals(XML, SnapshotXmlCodec.decode(encoded));
+    }
+
+    @Test
+    public void encodingIsIdempotent() {
+        String encoded = SnapshotXmlCodec.encode(XML);
+
+        assertEquals(encoded, SnapshotXmlCodec.encode(encoded));
+    }
+
+    @Test
+    public void plainValueIsDecodedAsIs() {
+        assertFalse(SnapshotXmlCodec.isEncoded(XML));
+        assertEquals(XML, SnapshotXmlCodec.decode(XML));
+        assertNull(SnapshotXmlCodec.decode(null));
+    }
+
+    @Test
+    public void placeholdersAreReplacedWhileDecoding() {
+        Map<String, String> placeholders = Map.of(
+                "%%{deployment-id-placeholder}", "deployment-1",
+                "%%{domain-placeholder}", "default");
+        String xml = XML + "<bean id=\"%%{domain-placeholder}\" ref=\"%%{unknown}\"/>%%{" + "x".repeat(10000);
+
+        String expected = xml.replace("%%{deployment-id-placeholder}", "deployment-1")
+                .replace("%%{domain-placeholder}", "default");
+        assertEquals(expected, SnapshotXmlCodec.decode(SnapshotXmlCodec.encode(xml), placeholders));
+        assertEquals(expected, SnapshotXmlCodec.decode(xml, placeholders));
+    }
+
+    @Test
+    public void placeholderSplitBetweenChunksIsReplaced() {
+        String placeholder = "%%{deployment-id-placeholder}";
+        for (int offset = 8192 - placeholder.length(); offset <= 8192; offset++) {
+            String xml = "a".repeat(offset) + placeholder + "b";
+
+            assertEquals("a".repeat(offset) + "id" + "b",
+                    SnapshotXmlCodec.decode(SnapshotXmlCodec.encode(xml), Map.of(placeholder, "id")));
+        }
+    }
+}